@@ -0,0 +1,62 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.api.network;
+
+/**
+ * Statistics of the network traffic.
+ */
+public interface NetworkStatistics {
+
+    /**
+     * @return number of bytes received over the network
+     */
+    long getBytesIn();
+
+    /**
+     * @return number of bytes sent over the network
+     */
+    long getBytesOut();
+
+    /**
+     * @return number of received bytes after decompression
+     */
+    long getUncompressedBytesIn();
+
+    /**
+     * @return number of sent bytes before compression
+     */
+    long getUncompressedBytesOut();
+
+    /**
+     * @return number of received packets
+     */
+    long getPacketsIn();
+
+    /**
+     * @return number of sent packets
+     */
+    long getPacketsOut();
+
+    /**
+     * @return number of received packets that exceeded the rate limit
+     */
+    long getRateLimitedPackets();
+
+    /**
+     * Resets all the statistics.
+     */
+    void reset();
+
+}
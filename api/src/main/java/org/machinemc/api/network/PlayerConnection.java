@@ -82,11 +82,29 @@ public interface PlayerConnection extends ServerProperty {
 
     /**
      * Sends packet to the connection.
+     * <p>
+     * The packet might not be flushed to the client immediately,
+     * but together with the other packets at the end of the tick.
      * @param packet packet to send
      * @return send message future
      */
     ChannelFuture send(Packet packet);
 
+    /**
+     * Sends packet to the connection and flushes it to the client
+     * together with all the previously sent packets.
+     * <p>
+     * Should be used for latency-critical packets.
+     * @param packet packet to send
+     * @return send message future
+     */
+    ChannelFuture sendImmediately(Packet packet);
+
+    /**
+     * Flushes all the sent packets to the client.
+     */
+    void flush();
+
     /**
      * Sends multiple packets to the connection in form
      * of packet bundle.
@@ -105,6 +123,11 @@ public interface PlayerConnection extends ServerProperty {
         return send(packets.toArray(new Packet[0]));
     }
 
+    /**
+     * @return statistics of the network traffic of the connection
+     */
+    NetworkStatistics getStatistics();
+
     /**
      * Whether the connection is open and can receive packets.
      * @return whether the connection is open
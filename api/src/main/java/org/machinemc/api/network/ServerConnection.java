@@ -20,6 +20,7 @@ import org.machinemc.api.server.ServerProperty;
 import org.jetbrains.annotations.*;
 
 import java.net.InetSocketAddress;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -74,6 +75,18 @@ public interface ServerConnection extends ServerProperty {
      */
     void broadcastPacket(Packet packet, Predicate<PlayerConnection> predicate);
 
+    /**
+     * Sends multiple packets in form of packet bundle to all clients matching the predicate.
+     * @param packets packets to send
+     * @param predicate predicate
+     */
+    void broadcastBundle(List<? extends Packet> packets, Predicate<PlayerConnection> predicate);
+
+    /**
+     * @return statistics of the network traffic of the server
+     */
+    ServerNetworkStatistics getStatistics();
+
     /**
      * Disconnects a player connection from the server.
      * @param connection connection to disconnect
@@ -0,0 +1,117 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.api.network;
+
+import org.jetbrains.annotations.Unmodifiable;
+import org.machinemc.api.network.packets.Packet;
+
+import java.util.Map;
+
+/**
+ * Statistics of the network traffic of the whole server connection.
+ */
+public interface ServerNetworkStatistics extends NetworkStatistics {
+
+    /**
+     * @return statistics of each of the packet classes sent or received by the server
+     */
+    @Unmodifiable Map<Class<? extends Packet>, PacketStatistics> getPacketStatistics();
+
+    /**
+     * @return times of decoding the received packets
+     */
+    TimeHistogram getDecodeTimes();
+
+    /**
+     * @return times of encoding the sent packets
+     */
+    TimeHistogram getEncodeTimes();
+
+    /**
+     * @return times of translating the received packets
+     */
+    TimeHistogram getInTranslateTimes();
+
+    /**
+     * @return times of translating the sent packets
+     */
+    TimeHistogram getOutTranslateTimes();
+
+    /**
+     * Statistics of a single packet class.
+     */
+    interface PacketStatistics {
+
+        /**
+         * @return number of received packets
+         */
+        long getPacketsIn();
+
+        /**
+         * @return number of sent packets
+         */
+        long getPacketsOut();
+
+        /**
+         * @return number of received bytes of the packets, before compression
+         */
+        long getBytesIn();
+
+        /**
+         * @return number of sent bytes of the packets, before compression
+         */
+        long getBytesOut();
+
+    }
+
+    /**
+     * Histogram of measured times, the times are grouped into buckets by powers of two.
+     */
+    interface TimeHistogram {
+
+        /**
+         * @return number of measured times
+         */
+        long getCount();
+
+        /**
+         * @return sum of all measured times in nanoseconds
+         */
+        long getTotalNanos();
+
+        /**
+         * @return the longest measured time in nanoseconds
+         */
+        long getMaxNanos();
+
+        /**
+         * @return average measured time in nanoseconds
+         */
+        default double getMeanNanos() {
+            final long count = getCount();
+            return count == 0 ? 0 : (double) getTotalNanos() / count;
+        }
+
+        /**
+         * Returns approximate percentile of the measured times, the value
+         * is the upper bound of the bucket the percentile falls in.
+         * @param percentile percentile (0-100)
+         * @return percentile of the measured times in nanoseconds
+         */
+        long getPercentileNanos(double percentile);
+
+    }
+
+}
@@ -74,6 +74,13 @@ public interface PlayerManager extends ServerProperty {
      */
     @Unmodifiable Set<Player> getPlayers();
 
+    /**
+     * @return number of players in this manager
+     */
+    default int getPlayerCount() {
+        return getPlayers().size();
+    }
+
     /**
      * Returns all players in this manager passing the predicate.
      * @param predicate predicate
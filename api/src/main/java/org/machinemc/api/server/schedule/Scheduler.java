@@ -54,6 +54,16 @@ public class Scheduler {
         threadPoolExecutor = Executors.newScheduledThreadPool(threadPoolSize, Executors.defaultThreadFactory());
     }
 
+    /**
+     * Creates scheduler for the current thread using an existing executor
+     * for the async tasks, the executor can be shared by multiple schedulers.
+     * @param threadPoolExecutor executor for the async tasks
+     */
+    public Scheduler(final ScheduledExecutorService threadPoolExecutor) {
+        syncQueue = new LinkedBlockingQueue<>();
+        this.threadPoolExecutor = Objects.requireNonNull(threadPoolExecutor, "Executor can not be null");
+    }
+
     /**
      * Runs the scheduler on the current thread and blocks it until
      * the scheduler is shutdown, to run tasks on the blocked thread
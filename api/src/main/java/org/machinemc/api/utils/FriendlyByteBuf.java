@@ -15,6 +15,8 @@
 package org.machinemc.api.utils;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.buffer.Unpooled;
 import org.jetbrains.annotations.Nullable;
 import org.machinemc.api.auth.Crypt;
@@ -30,8 +32,6 @@ import org.machinemc.scriptive.serialization.ComponentProperty;
 import org.machinemc.scriptive.serialization.ComponentSerializer;
 import org.machinemc.scriptive.serialization.JSONComponentSerializer;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
@@ -52,6 +52,16 @@ public class FriendlyByteBuf implements ServerBuffer {
     public static final int SEGMENT_BITS = 0x7F;
     public static final int CONTINUE_BIT = 0x80;
 
+    /**
+     * Sizes of VarInts indexed by the number of leading zeros of their value.
+     */
+    private static final int[] VAR_INT_SIZES = new int[Integer.SIZE + 1];
+
+    static {
+        for (int i = 0; i <= Integer.SIZE; i++)
+            VAR_INT_SIZES[i] = Math.max(1, (Integer.SIZE - i + 6) / 7);
+    }
+
     public FriendlyByteBuf() {
         this(Unpooled.buffer());
     }
@@ -127,9 +137,7 @@ public class FriendlyByteBuf implements ServerBuffer {
     @Override
     public FriendlyByteBuf write(final ByteBuf buf, final int length) {
         Objects.requireNonNull(buf);
-        final byte[] read = new byte[length];
-        buf.readBytes(read);
-        writeBytes(read);
+        this.buf.writeBytes(buf, length);
         return this;
     }
 
@@ -347,15 +355,35 @@ public class FriendlyByteBuf implements ServerBuffer {
 
     @Override
     public FriendlyByteBuf writeVarInt(final int value) {
-        int i = value;
-        while (true) {
-            if ((i & ~SEGMENT_BITS) == 0) {
-                writeByte((byte) i);
-                return this;
+        switch (varIntSize(value)) {
+            case 1 -> buf.writeByte(value);
+            case 2 -> buf.writeShort((value & SEGMENT_BITS | CONTINUE_BIT) << 8
+                    | value >>> 7);
+            case 3 -> buf.writeMedium((value & SEGMENT_BITS | CONTINUE_BIT) << 16
+                    | (value >>> 7 & SEGMENT_BITS | CONTINUE_BIT) << 8
+                    | value >>> 14);
+            case 4 -> buf.writeInt((value & SEGMENT_BITS | CONTINUE_BIT) << 24
+                    | (value >>> 7 & SEGMENT_BITS | CONTINUE_BIT) << 16
+                    | (value >>> 14 & SEGMENT_BITS | CONTINUE_BIT) << 8
+                    | value >>> 21);
+            default -> {
+                buf.writeInt((value & SEGMENT_BITS | CONTINUE_BIT) << 24
+                        | (value >>> 7 & SEGMENT_BITS | CONTINUE_BIT) << 16
+                        | (value >>> 14 & SEGMENT_BITS | CONTINUE_BIT) << 8
+                        | (value >>> 21 & SEGMENT_BITS | CONTINUE_BIT));
+                buf.writeByte(value >>> 28);
             }
-            writeByte((byte) ((i & SEGMENT_BITS) | CONTINUE_BIT));
-            i >>>= 7;
         }
+        return this;
+    }
+
+    /**
+     * Returns number of bytes the value takes up when it is written as a VarInt.
+     * @param value value
+     * @return size of the VarInt
+     */
+    public static int varIntSize(final int value) {
+        return VAR_INT_SIZES[Integer.numberOfLeadingZeros(value)];
     }
 
     @Override
@@ -504,42 +532,39 @@ public class FriendlyByteBuf implements ServerBuffer {
 
     @Override
     public NBTCompound readNBT() {
-        final byte[] bytes = buf.array();
-        final ByteArrayInputStream is = new ByteArrayInputStream(bytes, buf.readerIndex(), bytes.length);
-        final NBTCompound compound;
-        try {
-            compound = NBTCompound.readRootCompound(is);
-        } catch (Exception exception) {
+        // reads directly from the buffer, so it works with direct and pooled buffers too
+        try (ByteBufInputStream is = new ByteBufInputStream(buf)) {
+            return NBTCompound.readRootCompound(is);
+        } catch (IOException exception) {
             throw new RuntimeException(exception);
         }
-        buf.readerIndex(bytes.length - is.available());
-        return compound;
     }
 
     @Override
     public FriendlyByteBuf writeNBT(final NBTCompound compound) {
         Objects.requireNonNull(compound);
-        final ByteArrayOutputStream os = new ByteArrayOutputStream();
-        try {
+        try (ByteBufOutputStream os = new ByteBufOutputStream(buf)) {
             compound.writeRoot(os);
         } catch (IOException exception) {
             throw new RuntimeException(exception);
         }
-        buf.writeBytes(os.toByteArray());
         return this;
     }
 
-    private final ComponentSerializer<String> serializer = new JSONComponentSerializer();
+    /**
+     * Component serializer shared by all buffers, it can be used from multiple threads.
+     */
+    private static final ComponentSerializer<String> SERIALIZER = new JSONComponentSerializer();
 
     @Override
     public ComponentProperties readComponent() {
-        return serializer.deserializeAsProperties(readString(StandardCharsets.UTF_8));
+        return SERIALIZER.deserializeAsProperties(readString(StandardCharsets.UTF_8));
     }
 
     @Override
     public ServerBuffer writeComponent(ComponentProperties properties) {
         Objects.requireNonNull(properties);
-        writeString(serializer.serializeFromProperties(properties), StandardCharsets.UTF_8);
+        writeString(SERIALIZER.serializeFromProperties(properties), StandardCharsets.UTF_8);
         return this;
     }
 
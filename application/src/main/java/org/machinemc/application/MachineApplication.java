@@ -32,6 +32,7 @@ import org.machinemc.scriptive.components.Component;
 import org.machinemc.scriptive.components.TextComponent;
 import org.machinemc.scriptive.style.ChatColor;
 import org.machinemc.server.MachinePlatform;
+import org.machinemc.server.SharedResources;
 import org.machinemc.server.logging.DynamicConsole;
 
 import java.io.File;
@@ -87,10 +88,16 @@ public final class MachineApplication implements ServerApplication {
     @Getter
     private final Scheduler scheduler;
 
+    /**
+     * Threads and event loops shared by all servers of the application.
+     */
+    @Getter
+    private final SharedResources sharedResources = new SharedResources(0, Runtime.getRuntime().availableProcessors());
+
     /**
      * Default Machine server platform.
      */
-    private final MachinePlatform machinePlatform = new MachinePlatform();
+    private final MachinePlatform machinePlatform = new MachinePlatform(sharedResources);
 
     private final Map<String, ServerPlatform> platforms = new TreeMap<>();
 
@@ -108,7 +115,7 @@ public final class MachineApplication implements ServerApplication {
         commandDispatcher = new CommandDispatcher<>();
         ApplicationCommands.register(this, commandDispatcher);
 
-        scheduler = new Scheduler(4);
+        scheduler = new Scheduler(sharedResources.getAsyncExecutor());
 
         try {
             serverManager = new ServerManager(this);
@@ -439,6 +446,7 @@ public final class MachineApplication implements ServerApplication {
                 handleException(exception);
             }
         }
+        sharedResources.close();
         info("Machine has been shut down");
         running = false;
         System.exit(0);
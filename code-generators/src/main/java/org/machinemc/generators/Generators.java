@@ -19,6 +19,7 @@ import lombok.RequiredArgsConstructor;
 import org.apache.tools.ant.filters.StringInputStream;
 import org.machinemc.generators.blockdata.BlockDataLibGenerator;
 import org.machinemc.generators.materials.MaterialsLibGenerator;
+import org.machinemc.generators.packets.PacketsLibGenerator;
 
 import java.io.*;
 import java.nio.file.Files;
@@ -84,6 +85,7 @@ public final class Generators {
 
         handle(new MaterialsLibGenerator(outputDir), regenerate);
         handle(new BlockDataLibGenerator(outputDir), regenerate);
+        handle(new PacketsLibGenerator(outputDir), regenerate);
 
         Files.copy(new StringInputStream(gson.toJson(userVersions)),
                 versionsFile.toPath(),
@@ -0,0 +1,261 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.generators.packets;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import lombok.Getter;
+import org.machinemc.generators.CodeGenerator;
+import org.objectweb.asm.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Generates the packet registry, a class holding packet classes, ids and
+ * creators of all packets in the server, grouped by their packet state.
+ * <p>
+ * The registry also holds the id of each packet as a compile-time constant,
+ * the packet classes read their ids from it, so packets.json is the only
+ * source of the packet ids.
+ */
+public class PacketsLibGenerator extends CodeGenerator {
+
+    public static final String REGISTRY_CLASS = "org.machinemc.server.network.packets.PacketRegistry";
+    public static final String PACKET_CLASS = "org.machinemc.api.network.packets.Packet";
+    public static final String CREATOR_CLASS = "org.machinemc.server.network.packets.PacketCreator";
+    public static final String BUFFER_CLASS = "org.machinemc.api.utils.ServerBuffer";
+
+    /**
+     * Packet states in order of their declaration in Packet.PacketState.
+     */
+    private static final String[] STATES = {
+            "HANDSHAKING_IN",
+            "HANDSHAKING_OUT",
+            "STATUS_IN",
+            "STATUS_OUT",
+            "LOGIN_IN",
+            "LOGIN_OUT",
+            "PLAY_IN",
+            "PLAY_OUT"
+    };
+
+    private static final Handle LAMBDA_METAFACTORY = new Handle(Opcodes.H_INVOKESTATIC,
+            "java/lang/invoke/LambdaMetafactory",
+            "metafactory",
+            "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/invoke/MethodType;"
+                    + "Ljava/lang/invoke/MethodType;Ljava/lang/invoke/MethodHandle;Ljava/lang/invoke/MethodType;)"
+                    + "Ljava/lang/invoke/CallSite;",
+            false);
+
+    @Getter
+    private final String path = REGISTRY_CLASS;
+
+    public PacketsLibGenerator(final File outputDir) {
+        super(outputDir, "packets", "packets.json");
+    }
+
+    @Override
+    public void generate() throws IOException {
+        System.out.println("Generating the " + super.getLibraryName() + " library");
+
+        final List<List<Map.Entry<String, Integer>>> packets = new ArrayList<>();
+        int count = 0;
+        for (final String state : STATES) {
+            final List<Map.Entry<String, Integer>> statePackets = new ArrayList<>();
+            final JsonObject stateJson = getJson().getAsJsonObject(state);
+            if (stateJson != null) {
+                for (final Map.Entry<String, JsonElement> entry : stateJson.entrySet())
+                    statePackets.add(Map.entry(entry.getKey(), entry.getValue().getAsInt()));
+            }
+            count += statePackets.size();
+            packets.add(statePackets);
+        }
+
+        System.out.println("Loaded " + count + " packets");
+        System.out.println("Generating the class...");
+
+        final ClassWriter cw = createWriter();
+        cw.visit(Opcodes.V17,
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+                type(path).getInternalName(),
+                null,
+                Type.getInternalName(Object.class),
+                new String[0]);
+
+        CodeGenerator.visitGeneratedAnnotation(cw, PacketsLibGenerator.class);
+
+        cw.visitInnerClass("java/lang/invoke/MethodHandles$Lookup",
+                "java/lang/invoke/MethodHandles",
+                "Lookup",
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_STATIC);
+
+        final Type classArray = array(Type.getType(Class.class));
+        final Type intArray = array(Type.INT_TYPE);
+        final Type creatorArray = array(type(CREATOR_CLASS));
+
+        // Fields
+        visitArrayField(cw, "CLASSES", array(classArray));
+        visitArrayField(cw, "IDS", array(intArray));
+        visitArrayField(cw, "CREATORS", array(creatorArray));
+        for (final List<Map.Entry<String, Integer>> statePackets : packets) {
+            for (final Map.Entry<String, Integer> packet : statePackets)
+                visitIDField(cw, packet.getKey(), packet.getValue());
+        }
+
+        // Constructor
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PRIVATE,
+                CONSTRUCTOR_NAME,
+                "()V",
+                null,
+                new String[0]);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL,
+                Type.getInternalName(Object.class),
+                CONSTRUCTOR_NAME,
+                "()V",
+                false);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        // Static block
+        mv = cw.visitMethod(Opcodes.ACC_STATIC,
+                STATIC_NAME,
+                "()V",
+                null,
+                new String[0]);
+        mv.visitCode();
+
+        // CLASSES
+        pushValue(mv, STATES.length);
+        mv.visitTypeInsn(Opcodes.ANEWARRAY, classArray.getInternalName());
+        for (int state = 0; state < STATES.length; state++) {
+            final List<Map.Entry<String, Integer>> statePackets = packets.get(state);
+            mv.visitInsn(Opcodes.DUP);
+            pushValue(mv, state);
+            pushValue(mv, statePackets.size());
+            mv.visitTypeInsn(Opcodes.ANEWARRAY, Type.getInternalName(Class.class));
+            for (int i = 0; i < statePackets.size(); i++) {
+                mv.visitInsn(Opcodes.DUP);
+                pushValue(mv, i);
+                mv.visitLdcInsn(type(statePackets.get(i).getKey()));
+                mv.visitInsn(Opcodes.AASTORE);
+            }
+            mv.visitInsn(Opcodes.AASTORE);
+        }
+        mv.visitFieldInsn(Opcodes.PUTSTATIC,
+                type(path).getInternalName(),
+                "CLASSES",
+                array(classArray).getDescriptor());
+
+        // IDS
+        pushValue(mv, STATES.length);
+        mv.visitTypeInsn(Opcodes.ANEWARRAY, intArray.getInternalName());
+        for (int state = 0; state < STATES.length; state++) {
+            final List<Map.Entry<String, Integer>> statePackets = packets.get(state);
+            mv.visitInsn(Opcodes.DUP);
+            pushValue(mv, state);
+            pushValue(mv, statePackets.size());
+            mv.visitIntInsn(Opcodes.NEWARRAY, Opcodes.T_INT);
+            for (int i = 0; i < statePackets.size(); i++) {
+                mv.visitInsn(Opcodes.DUP);
+                pushValue(mv, i);
+                pushValue(mv, statePackets.get(i).getValue());
+                mv.visitInsn(Opcodes.IASTORE);
+            }
+            mv.visitInsn(Opcodes.AASTORE);
+        }
+        mv.visitFieldInsn(Opcodes.PUTSTATIC,
+                type(path).getInternalName(),
+                "IDS",
+                array(intArray).getDescriptor());
+
+        // CREATORS, each creator is a constructor reference of the packet
+        final String creatorDescriptor = "(" + type(BUFFER_CLASS).getDescriptor() + ")";
+        pushValue(mv, STATES.length);
+        mv.visitTypeInsn(Opcodes.ANEWARRAY, creatorArray.getInternalName());
+        for (int state = 0; state < STATES.length; state++) {
+            final List<Map.Entry<String, Integer>> statePackets = packets.get(state);
+            mv.visitInsn(Opcodes.DUP);
+            pushValue(mv, state);
+            pushValue(mv, statePackets.size());
+            mv.visitTypeInsn(Opcodes.ANEWARRAY, type(CREATOR_CLASS).getInternalName());
+            for (int i = 0; i < statePackets.size(); i++) {
+                final Type packet = type(statePackets.get(i).getKey());
+                mv.visitInsn(Opcodes.DUP);
+                pushValue(mv, i);
+                mv.visitInvokeDynamicInsn("create",
+                        "()" + type(CREATOR_CLASS).getDescriptor(),
+                        LAMBDA_METAFACTORY,
+                        Type.getMethodType(creatorDescriptor + type(PACKET_CLASS).getDescriptor()),
+                        new Handle(Opcodes.H_NEWINVOKESPECIAL,
+                                packet.getInternalName(),
+                                CONSTRUCTOR_NAME,
+                                creatorDescriptor + "V",
+                                false),
+                        Type.getMethodType(creatorDescriptor + packet.getDescriptor()));
+                mv.visitInsn(Opcodes.AASTORE);
+            }
+            mv.visitInsn(Opcodes.AASTORE);
+        }
+        mv.visitFieldInsn(Opcodes.PUTSTATIC,
+                type(path).getInternalName(),
+                "CREATORS",
+                array(creatorArray).getDescriptor());
+
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        addClass(path, cw.toByteArray());
+        super.generate();
+    }
+
+    /**
+     * Visits the constant with id of a packet, it is named after the packet class
+     * without the 'Packet' prefix, e.g. {@code PLAY_OUT_BUNDLE_DELIMITER}.
+     * @param cw class writer
+     * @param className name of the packet class
+     * @param id id of the packet
+     */
+    private static void visitIDField(final ClassWriter cw, final String className, final int id) {
+        final String name = className.substring(className.lastIndexOf('.') + 1 + "Packet".length())
+                .replaceAll("([a-z0-9])([A-Z])", "$1_$2")
+                .toUpperCase(Locale.ROOT);
+        final FieldVisitor fv = cw.visitField(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
+                name,
+                Type.INT_TYPE.getDescriptor(),
+                null,
+                id);
+        fv.visitEnd();
+    }
+
+    private static void visitArrayField(final ClassWriter cw, final String name, final Type type) {
+        final FieldVisitor fv = cw.visitField(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
+                name,
+                type.getDescriptor(),
+                null,
+                null);
+        fv.visitEnd();
+    }
+
+}
@@ -11,6 +11,7 @@ dependencies {
     sequenceOf(
             "machine-materials",
             "machine-blockdata",
+            "machine-packets",
     ).forEach {
         implementation(files("libs/$it.jar"))
     }
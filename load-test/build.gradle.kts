@@ -0,0 +1,36 @@
+@Suppress("DSL_SCOPE_VIOLATION")
+plugins {
+    application
+    alias(libs.plugins.jetbrains.kotlin.jvm)
+    id("machine.java-conventions-library")
+    id("machine.generator-library")
+}
+
+group = "org.machinemc"
+version = "1.0-SNAPSHOT"
+
+repositories {
+    maven {
+        url = uri("https://jitpack.io")
+        url = uri("https://libraries.minecraft.net")
+    }
+}
+
+dependencies {
+
+    implementation(project(":api"))
+    implementation(project(":server"))
+
+    implementation(libs.netty.all)
+    implementation(libs.netty.io.uring)
+
+}
+
+application {
+    mainClass.set("org.machinemc.loadtest.LoadTest")
+}
+
+tasks.named<JavaExec>("run") {
+    standardOutput = System.out
+    errorOutput = System.err
+}
@@ -0,0 +1,426 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.loadtest;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.DecoderException;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+import org.machinemc.api.chat.ChatMode;
+import org.machinemc.api.chat.PlayerMessage;
+import org.machinemc.api.entities.player.Hand;
+import org.machinemc.api.entities.player.SkinPart;
+import org.machinemc.api.network.packets.Packet;
+import org.machinemc.api.utils.FriendlyByteBuf;
+import org.machinemc.api.world.EntityPosition;
+import org.machinemc.loadtest.MovementScript.Movement;
+import org.machinemc.server.Machine;
+import org.machinemc.server.network.CompressionDecoder;
+import org.machinemc.server.network.CompressionEncoder;
+import org.machinemc.server.network.NettyServer;
+import org.machinemc.server.network.packets.PacketFactory;
+import org.machinemc.server.network.packets.ServerPacket;
+import org.machinemc.server.network.packets.in.handshaking.PacketHandshakingInHandshake;
+import org.machinemc.server.network.packets.in.login.PacketLoginInStart;
+import org.machinemc.server.network.packets.in.play.PacketPlayInChatMessage;
+import org.machinemc.server.network.packets.in.play.PacketPlayInClientInformation;
+import org.machinemc.server.network.packets.in.play.PacketPlayInConfirmTeleportation;
+import org.machinemc.server.network.packets.in.play.PacketPlayInKeepAlive;
+import org.machinemc.server.network.packets.in.play.PacketPlayInPlayerPosition;
+import org.machinemc.server.network.packets.out.login.PacketLoginOutDisconnect;
+import org.machinemc.server.network.packets.out.login.PacketLoginOutEncryptionRequest;
+import org.machinemc.server.network.packets.out.login.PacketLoginOutSetCompression;
+import org.machinemc.server.network.packets.out.login.PacketLoginOutSuccess;
+import org.machinemc.server.network.packets.out.play.PacketPlayOutChatMessage;
+import org.machinemc.server.network.packets.out.play.PacketPlayOutChunkData;
+import org.machinemc.server.network.packets.out.play.PacketPlayOutDisconnect;
+import org.machinemc.server.network.packets.out.play.PacketPlayOutKeepAlive;
+import org.machinemc.server.network.packets.out.play.PacketPlayOutSynchronizePlayerPosition;
+import org.machinemc.server.network.packets.out.play.PacketPlayOutSynchronizePlayerPosition.TeleportFlags;
+import org.machinemc.server.utils.ZLib;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Headless client connected to the tested server, it logs in in offline
+ * mode, follows the movement and chat scripts and records its statistics.
+ * <p>
+ * Packets are encoded and decoded using the packet classes of the server,
+ * all state of the bot is confined to the event loop of its channel.
+ */
+public class Bot extends SimpleChannelInboundHandler<ByteBuf> {
+
+    /**
+     * Duration of a single tick of the bot in milliseconds.
+     */
+    public static final long TICK_DURATION = 50;
+
+    private static final long KEEP_ALIVE_FREQ = TimeUnit.MILLISECONDS.toNanos(NettyServer.KEEP_ALIVE_FREQ);
+    private static final int MAX_PENDING_MESSAGES = 64;
+
+    private static final int LOGIN_DISCONNECT = rawID(PacketLoginOutDisconnect.class, Packet.PacketState.LOGIN_OUT);
+    private static final int LOGIN_ENCRYPTION_REQUEST = rawID(PacketLoginOutEncryptionRequest.class,
+            Packet.PacketState.LOGIN_OUT);
+    private static final int LOGIN_SUCCESS = rawID(PacketLoginOutSuccess.class, Packet.PacketState.LOGIN_OUT);
+    private static final int LOGIN_SET_COMPRESSION = rawID(PacketLoginOutSetCompression.class,
+            Packet.PacketState.LOGIN_OUT);
+    private static final int PLAY_CHAT_MESSAGE = rawID(PacketPlayOutChatMessage.class, Packet.PacketState.PLAY_OUT);
+    private static final int PLAY_CHUNK_DATA = rawID(PacketPlayOutChunkData.class, Packet.PacketState.PLAY_OUT);
+    private static final int PLAY_DISCONNECT = rawID(PacketPlayOutDisconnect.class, Packet.PacketState.PLAY_OUT);
+    private static final int PLAY_KEEP_ALIVE = rawID(PacketPlayOutKeepAlive.class, Packet.PacketState.PLAY_OUT);
+    private static final int PLAY_SYNCHRONIZE_POSITION = rawID(PacketPlayOutSynchronizePlayerPosition.class,
+            Packet.PacketState.PLAY_OUT);
+
+    @Getter
+    private final String name;
+    private final LoadTestOptions options;
+    private final BotStatistics statistics;
+    private final Random random;
+    private final long connectionStart;
+
+    private final Inflater inflater = new Inflater();
+    private final Deflater deflater = new Deflater();
+
+    private @Nullable ChannelHandlerContext ctx;
+    private int compressionThreshold = -1;
+    private boolean joined;
+    private volatile boolean stopping;
+
+    private @Nullable UUID uuid;
+    private long loginTime;
+    private long lastKeepAlive;
+    private boolean receivedChunk;
+    private long chunkBorderCrossed;
+
+    private @Nullable EntityPosition position;
+    private @Nullable Movement movement;
+    private int chunkX;
+    private int chunkZ;
+    private @Nullable ScheduledFuture<?> tickTask;
+    private long ticks;
+
+    private int chatSequence;
+    private final Map<String, Long> pendingMessages = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Long> eldest) {
+            return size() > MAX_PENDING_MESSAGES;
+        }
+    };
+
+    /**
+     * @param name name of the bot
+     * @param options options of the load test
+     * @param statistics statistics shared by the bots
+     * @param random random generator of the bot
+     * @param connectionStart time the connection of the bot has started at, in nanoseconds
+     */
+    public Bot(final String name,
+               final LoadTestOptions options,
+               final BotStatistics statistics,
+               final Random random,
+               final long connectionStart) {
+        this.name = name;
+        this.options = options;
+        this.statistics = statistics;
+        this.random = random;
+        this.connectionStart = connectionStart;
+    }
+
+    @Override
+    public void channelActive(final ChannelHandlerContext ctx) throws Exception {
+        this.ctx = ctx;
+        send(new PacketHandshakingInHandshake(Machine.SERVER_IMPLEMENTATION_PROTOCOL,
+                options.host(),
+                options.port(),
+                PacketHandshakingInHandshake.HandshakeType.LOGIN));
+        send(new PacketLoginInStart(name, null));
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        if (tickTask != null) tickTask.cancel(false);
+        if (joined) {
+            statistics.getOnline().decrementAndGet();
+            if (!stopping) statistics.getDisconnected().increment();
+        } else {
+            statistics.getConnecting().decrementAndGet();
+            if (!stopping) statistics.getFailed().increment();
+        }
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(final ChannelHandlerContext ctx) {
+        inflater.end();
+        deflater.end();
+    }
+
+    @Override
+    public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+        if (!stopping) System.err.println("[" + name + "] " + cause);
+        ctx.close();
+    }
+
+    /**
+     * Called in case the bot failed to connect to the server.
+     * @param cause cause of the failure
+     */
+    public void connectionFailed(final Throwable cause) {
+        statistics.getConnecting().decrementAndGet();
+        statistics.getFailed().increment();
+        System.err.println("[" + name + "] Failed to connect: " + cause);
+    }
+
+    /**
+     * Marks the end of the test for the bot, closing of its connection
+     * afterwards isn't counted as a disconnect.
+     */
+    public void stop() {
+        stopping = true;
+    }
+
+    @Override
+    protected void channelRead0(final ChannelHandlerContext ctx, final ByteBuf frame) throws Exception {
+        if (compressionThreshold < 0) {
+            handle(frame);
+            return;
+        }
+        final int length = new FriendlyByteBuf(frame).readVarInt();
+        if (length == 0) {
+            handle(frame);
+            return;
+        }
+        if (length > CompressionDecoder.MAX_DECOMPRESSED_SIZE)
+            throw new DecoderException("Badly compressed packet, size of " + length
+                    + " is larger than the maximum of " + CompressionDecoder.MAX_DECOMPRESSED_SIZE);
+        final ByteBuf data = ctx.alloc().ioBuffer(length);
+        try {
+            ZLib.decompress(inflater, frame, data, length);
+            handle(data);
+        } finally {
+            data.release();
+        }
+    }
+
+    /**
+     * Handles a single decompressed packet.
+     * @param data packet ID and data
+     */
+    private void handle(final ByteBuf data) {
+        final FriendlyByteBuf buf = new FriendlyByteBuf(data);
+        final int id = buf.readVarInt();
+        if (joined)
+            handlePlay(id, buf);
+        else
+            handleLogin(id, buf);
+    }
+
+    /**
+     * Handles a packet received in the login state.
+     * @param id ID of the packet
+     * @param buf packet data
+     */
+    private void handleLogin(final int id, final FriendlyByteBuf buf) {
+        assert ctx != null;
+        if (id == LOGIN_SET_COMPRESSION) {
+            compressionThreshold = read(PacketLoginOutSetCompression.class, buf).getThreshold();
+        } else if (id == LOGIN_SUCCESS) {
+            uuid = read(PacketLoginOutSuccess.class, buf).getUUID();
+            joined = true;
+            loginTime = System.nanoTime();
+            statistics.getConnectionTimes().record(loginTime - connectionStart);
+            statistics.getConnecting().decrementAndGet();
+            statistics.getOnline().incrementAndGet();
+            statistics.getJoined().increment();
+        } else if (id == LOGIN_DISCONNECT) {
+            System.err.println("[" + name + "] Disconnected during login: " + buf.readString(StandardCharsets.UTF_8));
+            ctx.close();
+        } else if (id == LOGIN_ENCRYPTION_REQUEST) {
+            System.err.println("[" + name + "] Server is in online mode, bots can only join offline mode servers");
+            ctx.close();
+        }
+    }
+
+    /**
+     * Handles a packet received in the play state.
+     * @param id ID of the packet
+     * @param buf packet data
+     */
+    private void handlePlay(final int id, final FriendlyByteBuf buf) {
+        assert ctx != null;
+        if (id == PLAY_CHUNK_DATA) {
+            // only the position of the chunk is read, decoding of the chunk data would skew the measurements
+            statistics.getChunks().increment();
+            final long now = System.nanoTime();
+            if (!receivedChunk) {
+                receivedChunk = true;
+                statistics.getFirstChunkTimes().record(now - loginTime);
+            }
+            if (chunkBorderCrossed != 0) {
+                statistics.getChunkLatencies().record(now - chunkBorderCrossed);
+                chunkBorderCrossed = 0;
+            }
+        } else if (id == PLAY_KEEP_ALIVE) {
+            send(new PacketPlayInKeepAlive(read(PacketPlayOutKeepAlive.class, buf).getKeepAliveID()));
+            final long now = System.nanoTime();
+            if (lastKeepAlive != 0) statistics.getKeepAliveDelays().record(now - lastKeepAlive - KEEP_ALIVE_FREQ);
+            lastKeepAlive = now;
+        } else if (id == PLAY_SYNCHRONIZE_POSITION) {
+            synchronizePosition(read(PacketPlayOutSynchronizePlayerPosition.class, buf));
+        } else if (id == PLAY_CHAT_MESSAGE && !pendingMessages.isEmpty()) {
+            final PlayerMessage message = read(PacketPlayOutChatMessage.class, buf).getMessage();
+            if (!message.getSender().equals(uuid)) return;
+            final Long sent = pendingMessages.remove(message.getMessage());
+            if (sent != null) statistics.getChatRoundTrips().record(System.nanoTime() - sent);
+        } else if (id == PLAY_DISCONNECT) {
+            if (!stopping) System.err.println("[" + name + "] Disconnected: " + buf.readString(StandardCharsets.UTF_8));
+            ctx.close();
+        }
+    }
+
+    /**
+     * Moves the bot to the position sent by the server and confirms the teleport,
+     * the first synchronization spawns the bot and starts its scripts.
+     * @param packet synchronize position packet
+     */
+    private void synchronizePosition(final PacketPlayOutSynchronizePlayerPosition packet) {
+        assert ctx != null;
+        final EntityPosition current = position != null ? position : EntityPosition.of(0, 0, 0);
+        final boolean relative = position != null;
+        final Set<TeleportFlags> flags = packet.getFlags();
+        position = EntityPosition.of(
+                packet.getX() + (relative && flags.contains(TeleportFlags.X) ? current.getX() : 0),
+                packet.getY() + (relative && flags.contains(TeleportFlags.Y) ? current.getY() : 0),
+                packet.getZ() + (relative && flags.contains(TeleportFlags.Z) ? current.getZ() : 0),
+                packet.getYaw() + (relative && flags.contains(TeleportFlags.YAW) ? current.getYaw() : 0),
+                packet.getPitch() + (relative && flags.contains(TeleportFlags.PITCH) ? current.getPitch() : 0));
+        send(new PacketPlayInConfirmTeleportation(packet.getTeleportID()));
+        send(new PacketPlayInPlayerPosition(position, true));
+        chunkX = chunk(position.getX());
+        chunkZ = chunk(position.getZ());
+        if (movement != null) return;
+
+        send(new PacketPlayInClientInformation("en_us",
+                (byte) options.viewDistance(),
+                ChatMode.ENABLED,
+                true,
+                EnumSet.allOf(SkinPart.class),
+                Hand.RIGHT,
+                false,
+                true));
+        movement = options.movement().start(position, random);
+        tickTask = ctx.executor().scheduleAtFixedRate(this::tick, TICK_DURATION, TICK_DURATION, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs a single tick of the bot scripts.
+     */
+    private void tick() {
+        assert position != null && movement != null;
+        ticks++;
+        final EntityPosition next = movement.next(position);
+        if (!next.equals(position)) {
+            position = next;
+            send(new PacketPlayInPlayerPosition(position, true));
+            final int nextChunkX = chunk(position.getX());
+            final int nextChunkZ = chunk(position.getZ());
+            if (nextChunkX != chunkX || nextChunkZ != chunkZ) {
+                chunkX = nextChunkX;
+                chunkZ = nextChunkZ;
+                if (chunkBorderCrossed == 0) chunkBorderCrossed = System.nanoTime();
+            }
+        }
+
+        final ChatScript chat = options.chat();
+        if (!chat.isEnabled() || ticks % Math.max(chat.interval() / TICK_DURATION, 1) != 0) return;
+        final String message = chat.message(name, chatSequence++);
+        if (message == null) return;
+        pendingMessages.put(message, System.nanoTime());
+        send(new PacketPlayInChatMessage(message, Instant.now(), random.nextLong(), null, 0, new BitSet()));
+    }
+
+    /**
+     * Sends a packet to the server, compressing it in case
+     * the compression has been enabled.
+     * @param packet packet to send
+     */
+    private void send(final ServerPacket packet) {
+        assert ctx != null;
+        final ByteBuf frame = ctx.alloc().ioBuffer();
+        packet.rawWrite(frame);
+        if (compressionThreshold < 0) {
+            ctx.writeAndFlush(frame);
+            return;
+        }
+        final ByteBuf compressed = ctx.alloc().ioBuffer();
+        try {
+            CompressionEncoder.compress(deflater, frame, compressionThreshold, compressed);
+        } catch (RuntimeException exception) {
+            compressed.release();
+            throw exception;
+        } finally {
+            frame.release();
+        }
+        ctx.writeAndFlush(compressed);
+    }
+
+    /**
+     * Decodes a packet using its packet class.
+     * @param packetClass class of the packet
+     * @param buf packet data
+     * @return decoded packet
+     * @param <T> packet type
+     */
+    private static <T extends Packet> T read(final Class<T> packetClass, final FriendlyByteBuf buf) {
+        return PacketFactory.produce(packetClass, buf)
+                .map(packetClass::cast)
+                .orElseThrow(() -> new DecoderException("Failed to decode " + packetClass.getSimpleName()));
+    }
+
+    /**
+     * @param packetClass class of the packet
+     * @param state state of the packet
+     * @return Mojang mapped ID of the packet
+     */
+    private static int rawID(final Class<? extends Packet> packetClass, final Packet.PacketState state) {
+        final int id = PacketFactory.getRawIDByPacket(packetClass, state);
+        if (id == -1) throw new IllegalStateException("Packet " + packetClass.getSimpleName() + " is not registered");
+        return id;
+    }
+
+    /**
+     * @param coordinate block coordinate
+     * @return chunk coordinate
+     */
+    private static int chunk(final double coordinate) {
+        return (int) Math.floor(coordinate) >> 4;
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.loadtest;
+
+import lombok.Getter;
+import org.machinemc.api.network.ServerNetworkStatistics;
+import org.machinemc.server.network.statistics.NetworkStatisticsImpl;
+import org.machinemc.server.network.statistics.TimeHistogramImpl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics collected by all bots of the load test.
+ * <p>
+ * Percentiles of the measured times are rounded up to the next power of two
+ * nanoseconds, see {@link TimeHistogramImpl}.
+ */
+@Getter
+public class BotStatistics {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double BYTES_PER_KIB = 1024;
+
+    /**
+     * Bytes sent and received by the bots, as seen on the wire.
+     */
+    private final NetworkStatisticsImpl network = new NetworkStatisticsImpl(null);
+
+    /**
+     * Time from the start of the connection until the login has finished.
+     */
+    private final TimeHistogramImpl connectionTimes = new TimeHistogramImpl();
+
+    /**
+     * Time from the finished login until the first chunk has been received.
+     */
+    private final TimeHistogramImpl firstChunkTimes = new TimeHistogramImpl();
+
+    /**
+     * Time from crossing a chunk border until the next chunk has been received.
+     */
+    private final TimeHistogramImpl chunkLatencies = new TimeHistogramImpl();
+
+    /**
+     * Time from sending a chat message until the server has broadcast it back.
+     */
+    private final TimeHistogramImpl chatRoundTrips = new TimeHistogramImpl();
+
+    /**
+     * Delay of the keep alive packets behind the interval they are sent in by the server.
+     */
+    private final TimeHistogramImpl keepAliveDelays = new TimeHistogramImpl();
+
+    private final AtomicInteger connecting = new AtomicInteger();
+    private final AtomicInteger online = new AtomicInteger();
+    private final LongAdder joined = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder disconnected = new LongAdder();
+    private final LongAdder chunks = new LongAdder();
+
+    /**
+     * Creates report of the statistics.
+     * @param elapsed time elapsed since the start of the test in nanoseconds
+     * @return report
+     */
+    public String report(final long elapsed) {
+        final double seconds = Math.max(elapsed, 1) / (NANOS_PER_MILLI * 1000);
+        return String.format("Bots: %d online, %d connecting, %d joined, %d failed, %d disconnected%n",
+                online.get(), connecting.get(), joined.sum(), failed.sum(), disconnected.sum())
+                + histogram("Connection time", connectionTimes)
+                + histogram("First chunk", firstChunkTimes)
+                + histogram("Chunk latency", chunkLatencies)
+                + histogram("Chat round trip", chatRoundTrips)
+                + histogram("Keep alive delay", keepAliveDelays)
+                + String.format("Chunks: %d (%.1f/s)%n", chunks.sum(), chunks.sum() / seconds)
+                + String.format("Bandwidth: in %.1f KiB/s (%.1f KiB total), out %.1f KiB/s (%.1f KiB total)%n",
+                network.getBytesIn() / BYTES_PER_KIB / seconds, network.getBytesIn() / BYTES_PER_KIB,
+                network.getBytesOut() / BYTES_PER_KIB / seconds, network.getBytesOut() / BYTES_PER_KIB);
+    }
+
+    /**
+     * Formats a single line of the report with the summary of a histogram.
+     * @param name name of the histogram
+     * @param histogram histogram
+     * @return formatted line
+     */
+    private static String histogram(final String name, final ServerNetworkStatistics.TimeHistogram histogram) {
+        final long count = histogram.getCount();
+        if (count == 0) return String.format("%s: -%n", name);
+        return String.format("%s: avg %.2f ms, p50 %.2f ms, p99 %.2f ms, max %.2f ms (%d samples)%n",
+                name,
+                histogram.getTotalNanos() / NANOS_PER_MILLI / count,
+                histogram.getPercentileNanos(50) / NANOS_PER_MILLI,
+                histogram.getPercentileNanos(99) / NANOS_PER_MILLI,
+                histogram.getMaxNanos() / NANOS_PER_MILLI,
+                count);
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.loadtest;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Script deciding which chat messages the bots send.
+ * <p>
+ * Each bot sends a message once per interval, going through the messages
+ * in order. {@code %bot%} in the message is replaced with the name of the bot.
+ * @param interval interval between the messages in milliseconds, 0 if the bots don't chat
+ * @param messages messages to send
+ */
+public record ChatScript(long interval, List<String> messages) {
+
+    /**
+     * Messages used in case the script doesn't specify its own.
+     */
+    public static final List<String> DEFAULT_MESSAGES = List.of(
+            "Hello from %bot%",
+            "Is anyone else lagging?",
+            "%bot% reporting in"
+    );
+
+    public ChatScript {
+        if (interval < 0) throw new IllegalArgumentException("Interval of the chat script can not be negative");
+        if (interval > 0 && messages.isEmpty())
+            throw new IllegalArgumentException("Chat script has to contain at least one message");
+        messages = List.copyOf(messages);
+    }
+
+    /**
+     * Parses the chat script from its definition in the
+     * {@code none} or {@code <interval>[:<messages file>]} format.
+     * @param definition definition of the script
+     * @return chat script
+     * @throws IOException if the messages file can not be read
+     */
+    public static ChatScript parse(final String definition) throws IOException {
+        if (definition.equals("none")) return new ChatScript(0, List.of());
+        final String[] parts = definition.split(":", 2);
+        final List<String> messages = parts.length > 1
+                ? Files.readAllLines(Path.of(parts[1]), StandardCharsets.UTF_8).stream()
+                        .filter(line -> !line.isBlank())
+                        .toList()
+                : DEFAULT_MESSAGES;
+        return new ChatScript(Long.parseLong(parts[0]), messages);
+    }
+
+    /**
+     * @return whether the bots send any messages
+     */
+    public boolean isEnabled() {
+        return interval > 0;
+    }
+
+    /**
+     * Returns message with given sequence number for a bot.
+     * <p>
+     * The sequence number is appended to the message, so the bot
+     * can recognize its own message once the server broadcasts it.
+     * @param bot name of the bot
+     * @param sequence sequence number of the message
+     * @return message to send, or null if the bots don't chat
+     */
+    public @Nullable String message(final String bot, final int sequence) {
+        if (!isEnabled()) return null;
+        return messages.get(sequence % messages.size()).replace("%bot%", bot) + " #" + sequence;
+    }
+
+}
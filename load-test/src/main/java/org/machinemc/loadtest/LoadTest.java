@@ -0,0 +1,155 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.loadtest;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import org.machinemc.server.network.LengthDecoder;
+import org.machinemc.server.network.NettyTransport;
+import org.machinemc.server.network.StatisticsHandler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load test of the server, connects number of headless bots to a running
+ * server and periodically reports how the server keeps up with them.
+ * <p>
+ * The bots join in offline mode, so the tested server has to run with
+ * the online mode disabled. All bots connect from the same address, the join
+ * interval should respect the connection rate limit of the server.
+ */
+public final class LoadTest {
+
+    private static final String BOT_NAME_PREFIX = "Bot";
+    private static final int CONNECT_TIMEOUT = 10000;
+
+    private final LoadTestOptions options;
+    private final BotStatistics statistics = new BotStatistics();
+    private final List<Bot> bots = new ArrayList<>();
+
+    private LoadTest(final LoadTestOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Runs the load test.
+     * @param args options of the test, see {@link LoadTestOptions#USAGE}
+     */
+    public static void main(final String[] args) {
+        final LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException | IOException exception) {
+            System.err.println(exception.getMessage());
+            System.err.print(LoadTestOptions.USAGE);
+            System.exit(1);
+            return;
+        }
+        new LoadTest(options).run();
+    }
+
+    /**
+     * Connects the bots, waits for the duration of the test and disconnects them.
+     */
+    private void run() {
+        final NettyTransport transport = NettyTransport.AUTO;
+        final EventLoopGroup group = transport.createEventLoopGroup(options.threads(),
+                new DefaultThreadFactory("load-test"));
+        final ChannelGroup channels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+        final Bootstrap bootstrap = new Bootstrap()
+                .group(group)
+                .channel(transport.getSocketChannelClass())
+                .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECT_TIMEOUT);
+
+        System.out.println("Connecting " + options.bots() + " bots to " + options.host() + ":" + options.port()
+                + " using " + transport.resolve() + " transport");
+        final long start = System.nanoTime();
+        final long end = start + TimeUnit.SECONDS.toNanos(options.duration());
+        final long reportInterval = TimeUnit.SECONDS.toNanos(options.reportInterval());
+        final long joinInterval = TimeUnit.MILLISECONDS.toNanos(options.joinInterval());
+        long nextReport = start + reportInterval;
+        int connected = 0;
+
+        try {
+            long now;
+            while ((now = System.nanoTime()) < end) {
+                if (now >= nextReport) {
+                    System.out.println("--- " + TimeUnit.NANOSECONDS.toSeconds(now - start) + " s ---");
+                    System.out.print(statistics.report(now - start));
+                    nextReport += reportInterval;
+                }
+                final long nextJoin = start + connected * joinInterval;
+                if (connected < options.bots() && now >= nextJoin) {
+                    connect(bootstrap, channels, connected++);
+                    continue;
+                }
+                final long wakeUp = connected < options.bots() ? Math.min(nextJoin, nextReport) : nextReport;
+                LockSupport.parkNanos(Math.min(wakeUp, end) - now);
+            }
+        } finally {
+            bots.forEach(Bot::stop);
+            channels.close().awaitUninterruptibly();
+            System.out.println("--- Final report (" + options.duration() + " s) ---");
+            System.out.print(statistics.report(System.nanoTime() - start));
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+
+    /**
+     * Connects new bot to the server.
+     * @param bootstrap bootstrap of the bot connections
+     * @param channels group of the bot channels
+     * @param index index of the bot
+     */
+    private void connect(final Bootstrap bootstrap, final ChannelGroup channels, final int index) {
+        final Bot bot = new Bot(BOT_NAME_PREFIX + index,
+                options,
+                statistics,
+                new Random(options.seed() + index),
+                System.nanoTime());
+        bots.add(bot);
+        statistics.getConnecting().incrementAndGet();
+        bootstrap.clone()
+                .handler(new ChannelInitializer<>() {
+                    @Override
+                    protected void initChannel(final Channel channel) {
+                        channels.add(channel);
+                        channel.pipeline()
+                                .addLast("statistics-handler", new StatisticsHandler(statistics.getNetwork()))
+                                .addLast("length-decoder", new LengthDecoder())
+                                .addLast("bot", bot);
+                    }
+                })
+                .connect(options.host(), options.port())
+                .addListener((ChannelFutureListener) future -> {
+                    if (!future.isSuccess()) bot.connectionFailed(future.cause());
+                });
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.loadtest;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Options of the load test, parsed from the program arguments
+ * in the {@code --name=value} format.
+ * @param host address of the tested server
+ * @param port port of the tested server
+ * @param bots number of bots to connect
+ * @param joinInterval interval between the connections of the bots in milliseconds
+ * @param duration duration of the test in seconds, measured since the first bot has connected
+ * @param reportInterval interval between the progress reports in seconds
+ * @param viewDistance view distance the bots request from the server
+ * @param threads number of network threads used by the bots
+ * @param seed seed of the random generators used by the scripts
+ * @param movement movement script of the bots
+ * @param chat chat script of the bots
+ */
+public record LoadTestOptions(String host,
+                              int port,
+                              int bots,
+                              long joinInterval,
+                              long duration,
+                              long reportInterval,
+                              int viewDistance,
+                              int threads,
+                              long seed,
+                              MovementScript movement,
+                              ChatScript chat) {
+
+    public static final String USAGE = """
+            Usage: load-test [--name=value]...
+              --host=<address>        address of the server (default 127.0.0.1)
+              --port=<port>           port of the server (default 25565)
+              --bots=<count>          number of bots to connect (default 10)
+              --join-interval=<ms>    delay between connections of the bots (default 100)
+              --duration=<s>          duration of the test (default 60)
+              --report-interval=<s>   interval between progress reports (default 10)
+              --view-distance=<n>     view distance requested by the bots (default 8)
+              --threads=<n>           number of network threads (default number of cores)
+              --seed=<n>              seed of the scripts, same seed repeats the same test (default 0)
+              --movement=<script>     idle, circle:<radius>, line:<speed> or random:<radius> (default circle:16)
+              --chat=<script>         none or <interval ms>[:<messages file>] (default none)
+            """;
+
+    private static final Set<String> OPTIONS = Set.of("host", "port", "bots", "join-interval", "duration",
+            "report-interval", "view-distance", "threads", "seed", "movement", "chat");
+
+    /**
+     * Parses the options from the program arguments.
+     * @param args program arguments
+     * @return parsed options
+     * @throws IllegalArgumentException if the arguments are not valid
+     * @throws IOException if the messages file of the chat script can not be read
+     */
+    public static LoadTestOptions parse(final String[] args) throws IOException {
+        final Map<String, String> values = new HashMap<>();
+        for (final String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("="))
+                throw new IllegalArgumentException("Invalid argument '" + arg + "'");
+            final int separator = arg.indexOf('=');
+            final String name = arg.substring(2, separator);
+            if (!OPTIONS.contains(name))
+                throw new IllegalArgumentException("Unknown option '" + name + "'");
+            values.put(name, arg.substring(separator + 1));
+        }
+        final LoadTestOptions options = new LoadTestOptions(
+                values.getOrDefault("host", "127.0.0.1"),
+                Integer.parseInt(values.getOrDefault("port", "25565")),
+                Integer.parseInt(values.getOrDefault("bots", "10")),
+                Long.parseLong(values.getOrDefault("join-interval", "100")),
+                Long.parseLong(values.getOrDefault("duration", "60")),
+                Long.parseLong(values.getOrDefault("report-interval", "10")),
+                Integer.parseInt(values.getOrDefault("view-distance", "8")),
+                Integer.parseInt(values.getOrDefault("threads",
+                        String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                Long.parseLong(values.getOrDefault("seed", "0")),
+                MovementScript.parse(values.getOrDefault("movement", "circle:16")),
+                ChatScript.parse(values.getOrDefault("chat", "none"))
+        );
+        if (options.bots() <= 0 || options.threads() <= 0 || options.viewDistance() <= 0)
+            throw new IllegalArgumentException("Number of bots, threads and the view distance have to be positive");
+        return options;
+    }
+
+}
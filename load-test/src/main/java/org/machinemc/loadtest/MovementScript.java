@@ -0,0 +1,166 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.loadtest;
+
+import org.machinemc.api.world.EntityPosition;
+
+import java.util.Random;
+
+/**
+ * Script deciding how the bots move around the world.
+ * <p>
+ * The script is shared between all bots, each bot starts its own
+ * {@link Movement} once it has spawned.
+ */
+@FunctionalInterface
+public interface MovementScript {
+
+    /**
+     * Distance in blocks walked by a bot per tick.
+     */
+    double WALK_SPEED = 0.2;
+
+    /**
+     * Number of ticks after which a randomly walking bot changes its direction.
+     */
+    int RANDOM_WALK_PERIOD = 40;
+
+    /**
+     * Starts new movement of a bot.
+     * @param origin position the bot has spawned at
+     * @param random random generator of the bot
+     * @return movement of the bot
+     */
+    Movement start(EntityPosition origin, Random random);
+
+    /**
+     * Parses the movement script from its definition in the
+     * {@code <name>[:<argument>]} format.
+     * @param definition definition of the script
+     * @return movement script
+     * @throws IllegalArgumentException if the definition is not valid
+     */
+    static MovementScript parse(final String definition) {
+        final String[] parts = definition.split(":", 2);
+        final double argument = parts.length > 1 ? Double.parseDouble(parts[1]) : 0;
+        return switch (parts[0]) {
+            case "idle" -> idle();
+            case "circle" -> circle(argument);
+            case "line" -> line(parts.length > 1 ? argument : WALK_SPEED);
+            case "random" -> random(argument);
+            default -> throw new IllegalArgumentException("Unknown movement script '" + definition + "'");
+        };
+    }
+
+    /**
+     * @return script of bots that don't move at all
+     */
+    static MovementScript idle() {
+        return (origin, random) -> current -> current;
+    }
+
+    /**
+     * Bots walk in a circle around the position they have spawned at,
+     * starting at random angle.
+     * @param radius radius of the circle
+     * @return circle movement script
+     */
+    static MovementScript circle(final double radius) {
+        if (radius <= 0) throw new IllegalArgumentException("Radius of the circle has to be positive");
+        return (origin, random) -> new Movement() {
+            private double angle = random.nextDouble() * 2 * Math.PI;
+
+            @Override
+            public EntityPosition next(final EntityPosition current) {
+                angle += WALK_SPEED / radius;
+                return Movement.moveTo(current,
+                        origin.getX() + Math.cos(angle) * radius,
+                        origin.getZ() + Math.sin(angle) * radius);
+            }
+        };
+    }
+
+    /**
+     * Bots walk in a straight line in a random direction, so they
+     * keep requesting new chunks from the server.
+     * @param speed distance walked per tick
+     * @return line movement script
+     */
+    static MovementScript line(final double speed) {
+        if (speed <= 0) throw new IllegalArgumentException("Speed has to be positive");
+        return (origin, random) -> {
+            final double angle = random.nextDouble() * 2 * Math.PI;
+            final double dx = Math.cos(angle) * speed;
+            final double dz = Math.sin(angle) * speed;
+            return current -> Movement.moveTo(current, current.getX() + dx, current.getZ() + dz);
+        };
+    }
+
+    /**
+     * Bots walk in random directions, changing the direction periodically,
+     * and turn back once they get too far from their spawn position.
+     * @param radius maximum distance from the spawn position
+     * @return random walk movement script
+     */
+    static MovementScript random(final double radius) {
+        if (radius <= 0) throw new IllegalArgumentException("Radius of the random walk has to be positive");
+        return (origin, random) -> new Movement() {
+            private long ticks;
+            private double angle;
+
+            @Override
+            public EntityPosition next(final EntityPosition current) {
+                final double offsetX = current.getX() - origin.getX();
+                final double offsetZ = current.getZ() - origin.getZ();
+                if (offsetX * offsetX + offsetZ * offsetZ > radius * radius)
+                    angle = Math.atan2(-offsetZ, -offsetX);
+                else if (ticks % RANDOM_WALK_PERIOD == 0)
+                    angle = random.nextDouble() * 2 * Math.PI;
+                ticks++;
+                return Movement.moveTo(current,
+                        current.getX() + Math.cos(angle) * WALK_SPEED,
+                        current.getZ() + Math.sin(angle) * WALK_SPEED);
+            }
+        };
+    }
+
+    /**
+     * Movement of a single bot.
+     */
+    @FunctionalInterface
+    interface Movement {
+
+        /**
+         * Computes the position of the bot for the next tick.
+         * @param current current position of the bot
+         * @return next position of the bot
+         */
+        EntityPosition next(EntityPosition current);
+
+        /**
+         * Moves the position horizontally, facing the direction of the move.
+         * @param current current position
+         * @param x new x-coordinate
+         * @param z new z-coordinate
+         * @return new position
+         */
+        static EntityPosition moveTo(final EntityPosition current, final double x, final double z) {
+            final float yaw = (float) Math.toDegrees(Math.atan2(current.getX() - x, z - current.getZ()));
+            return EntityPosition.of(x, current.getY(), z, yaw, current.getPitch());
+        }
+
+    }
+
+}
@@ -22,6 +22,10 @@ dependencies {
     implementation(libs.google.guava)
     implementation(libs.google.gson)
     implementation(libs.netty.all)
+    implementation(libs.netty.io.uring)
+    sequenceOf("linux-x86_64", "linux-aarch_64").forEach {
+        runtimeOnly(variantOf(libs.netty.io.uring) { classifier(it) })
+    }
     implementation(libs.jna)
     implementation(libs.jline)
     implementation(libs.mojang.brigadier)
@@ -159,7 +159,22 @@ public final class Machine implements Server, RunnableServer {
     @Getter
     private World defaultWorld;
 
+    /**
+     * Resources shared with other servers of the application, null if the server uses its own.
+     */
+    private final @Nullable SharedResources sharedResources;
+
     public Machine(final ServerContext context) throws Exception {
+        this(context, null);
+    }
+
+    /**
+     * Creates new server using resources shared with other servers of the application.
+     * @param context context of the server
+     * @param sharedResources shared resources, null if the server should use its own
+     */
+    public Machine(final ServerContext context, final @Nullable SharedResources sharedResources) throws Exception {
+        this.sharedResources = sharedResources;
         this.application = Objects.requireNonNull(context.application(), "Application of context can not be null");
 
         if (!context.directory().exists() && !context.directory().mkdirs())
@@ -172,7 +187,9 @@ public final class Machine implements Server, RunnableServer {
 
         this.platform = Objects.requireNonNull(context.platform(), "Platform of the server can not be null");
 
-        scheduler = new Scheduler(4);
+        scheduler = sharedResources != null
+                ? new Scheduler(sharedResources.getAsyncExecutor())
+                : new Scheduler(4);
         exceptionHandler = new ServerExceptionHandler(this);
     }
 
@@ -399,6 +416,13 @@ public final class Machine implements Server, RunnableServer {
         return onlineServer != null;
     }
 
+    /**
+     * @return resources shared with other servers of the application
+     */
+    public Optional<SharedResources> getSharedResources() {
+        return Optional.ofNullable(sharedResources);
+    }
+
     @Override
     public Optional<OnlineServer> getOnlineServer() {
         return Optional.ofNullable(onlineServer);
@@ -457,7 +481,7 @@ public final class Machine implements Server, RunnableServer {
         json.add("version", versionJson);
         final JsonObject playersJson = new JsonObject();
         playersJson.addProperty("max", properties.getMaxPlayers());
-        playersJson.addProperty("online", 0);
+        playersJson.addProperty("online", playerManager.getPlayerCount());
         json.add("players", playersJson);
         json.addProperty("description", "%MOTD%");
         properties.getEncodedIcon().ifPresent(icon ->
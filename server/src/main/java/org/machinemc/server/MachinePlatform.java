@@ -14,6 +14,7 @@
  */
 package org.machinemc.server;
 
+import org.jetbrains.annotations.Nullable;
 import org.machinemc.api.world.BlockData;
 import org.machinemc.api.world.Material;
 import org.machinemc.application.RunnableServer;
@@ -32,6 +33,23 @@ import java.util.Objects;
  */
 public class MachinePlatform implements ServerPlatform {
 
+    private final @Nullable SharedResources sharedResources;
+
+    /**
+     * Creates the platform, its servers use their own threads.
+     */
+    public MachinePlatform() {
+        this(null);
+    }
+
+    /**
+     * Creates the platform, its servers use the shared resources of the application.
+     * @param sharedResources shared resources
+     */
+    public MachinePlatform(final @Nullable SharedResources sharedResources) {
+        this.sharedResources = sharedResources;
+    }
+
     @Override
     public String getCodeName() {
         return "machine";
@@ -54,7 +72,7 @@ public class MachinePlatform implements ServerPlatform {
 
     @Override
     public RunnableServer create(final ServerContext context) throws Exception {
-        return new Machine(context);
+        return new Machine(context, sharedResources);
     }
 
     @Override
@@ -0,0 +1,124 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server;
+
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutor;
+import lombok.Getter;
+import org.machinemc.server.network.ConnectionTimer;
+import org.machinemc.server.network.EventLoopGroupView;
+import org.machinemc.server.network.NettyTransport;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resources shared by multiple servers running in the same application,
+ * so each of the servers doesn't create its own threads.
+ * <p>
+ * Event loop groups are created lazily for each of the used network transports,
+ * servers get a view of the shared worker group limited to their number of network threads.
+ */
+public class SharedResources implements AutoCloseable {
+
+    private final int networkThreads;
+
+    private final Map<NettyTransport, EventLoopGroup> bossGroups = new EnumMap<>(NettyTransport.class);
+    private final Map<NettyTransport, EventLoopGroup> workerGroups = new EnumMap<>(NettyTransport.class);
+    private int nextWorker;
+
+    /**
+     * Executor running the async tasks of the servers.
+     */
+    @Getter
+    private final ScheduledExecutorService asyncExecutor;
+
+    /**
+     * Executor running the cryptography of the logins.
+     */
+    @Getter
+    private final ExecutorService cryptoExecutor;
+
+    /**
+     * Timer for the keep alive packets and timeouts of the connections.
+     */
+    @Getter
+    private final HashedWheelTimer timer = new HashedWheelTimer(new DefaultThreadFactory("Connection Timer", true),
+            ConnectionTimer.TICK_DURATION, TimeUnit.MILLISECONDS, ConnectionTimer.WHEEL_SIZE);
+
+    /**
+     * @param networkThreads number of threads of the shared worker groups, 0 for the default
+     * @param asyncThreads number of threads running the async tasks
+     */
+    public SharedResources(final int networkThreads, final int asyncThreads) {
+        this.networkThreads = networkThreads;
+        asyncExecutor = Executors.newScheduledThreadPool(asyncThreads, new DefaultThreadFactory("Machine Async", true));
+        cryptoExecutor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+                new DefaultThreadFactory("Login Crypto", true));
+    }
+
+    /**
+     * Returns the shared boss group for the transport.
+     * @param transport network transport
+     * @return boss group
+     */
+    public synchronized EventLoopGroup getBossGroup(final NettyTransport transport) {
+        return bossGroups.computeIfAbsent(transport.resolve(), resolved ->
+                resolved.createEventLoopGroup(1, new DefaultThreadFactory("Netty Boss")));
+    }
+
+    /**
+     * Returns view of the shared worker group for the transport, using at most given number
+     * of its event loops. Views of different servers are spread over all event loops of the group.
+     * @param transport network transport
+     * @param quota maximum number of event loops used by the server, 0 for all of them
+     * @return worker group of the server
+     */
+    public synchronized EventLoopGroup getWorkerGroup(final NettyTransport transport, final int quota) {
+        final EventLoopGroup group = workerGroups.computeIfAbsent(transport.resolve(), resolved ->
+                resolved.createEventLoopGroup(networkThreads, new DefaultThreadFactory("Netty Worker")));
+        final List<EventLoop> all = new ArrayList<>();
+        for (final EventExecutor executor : group)
+            all.add((EventLoop) executor);
+        if (quota <= 0 || quota >= all.size()) return new EventLoopGroupView(group, all);
+        final List<EventLoop> loops = new ArrayList<>(quota);
+        for (int i = 0; i < quota; i++)
+            loops.add(all.get((nextWorker + i) % all.size()));
+        nextWorker = (nextWorker + quota) % all.size();
+        return new EventLoopGroupView(group, loops);
+    }
+
+    /**
+     * Shuts down all shared resources.
+     */
+    @Override
+    public synchronized void close() {
+        bossGroups.values().forEach(EventLoopGroup::shutdownGracefully);
+        workerGroups.values().forEach(EventLoopGroup::shutdownGracefully);
+        asyncExecutor.shutdown();
+        cryptoExecutor.shutdown();
+        timer.stop();
+    }
+
+}
@@ -14,6 +14,8 @@
  */
 package org.machinemc.server.auth;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import org.machinemc.api.entities.player.PlayerTextures;
@@ -30,19 +32,46 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Utility class for interacting with Mojang auth.
+ * <p>
+ * All requests are sent asynchronously by a single shared http client. Results
+ * of the uuid and skin lookups are cached for {@link #CACHE_DURATION} minutes and
+ * concurrent lookups of the same key share a single request.
+ * <p>
+ * Base urls of the Mojang services can be changed using the {@value #SESSION_SERVER_PROPERTY}
+ * and {@value #API_SERVER_PROPERTY} system properties, e.g. to use a local server instead.
  */
 public final class MojangAuth {
 
-    // TODO Ability to change these in java arguments on start
+    public static final String SESSION_SERVER_PROPERTY = "machine.auth.sessionServer";
+    public static final String API_SERVER_PROPERTY = "machine.auth.apiServer";
+
+    public static final String SESSION_SERVER = System.getProperty(SESSION_SERVER_PROPERTY, "https://sessionserver.mojang.com");
+    public static final String API_SERVER = System.getProperty(API_SERVER_PROPERTY, "https://api.mojang.com");
+
     public static final String AUTH_URL
-            = "https://sessionserver.mojang.com/session/minecraft/hasJoined?username=%s&serverId=%s";
+            = SESSION_SERVER + "/session/minecraft/hasJoined?username=%s&serverId=%s";
     public static final String USER_PROFILE_URL
-            = "https://api.mojang.com/users/profiles/minecraft/%s";
+            = API_SERVER + "/users/profiles/minecraft/%s";
     public static final String MINECRAFT_PROFILE_URL
-            = "https://sessionserver.mojang.com/session/minecraft/profile/%s?unsigned=false";
+            = SESSION_SERVER + "/session/minecraft/profile/%s?unsigned=false";
+
+    public static final Duration TIMEOUT = Duration.ofSeconds(5);
+    public static final long CACHE_DURATION = 10;
+    public static final long CACHE_SIZE = 1024;
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(TIMEOUT)
+            .build();
+
+    private static final Cache<String, CompletableFuture<Optional<UUID>>> UUID_CACHE = createCache();
+    private static final Cache<UUID, CompletableFuture<Optional<PlayerTextures>>> SKIN_CACHE = createCache();
 
     private MojangAuth() {
         throw new UnsupportedOperationException();
@@ -59,19 +88,7 @@ public final class MojangAuth {
         Objects.requireNonNull(serverID);
         Objects.requireNonNull(username);
         final String url = String.format(MojangAuth.AUTH_URL, username, serverID);
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                try (HttpClient client = HttpClient.newHttpClient()) {
-                    final HttpRequest request = HttpRequest.newBuilder(new URI(url))
-                            .timeout(Duration.ofSeconds(5))
-                            .GET().build();
-                    final HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-                    if (response.statusCode() == HttpURLConnection.HTTP_OK)
-                        return (JsonObject) JsonParser.parseString(response.body());
-                }
-            } catch (Exception ignored) { }
-            return null;
-        });
+        return request(url, json -> json).thenApply(json -> json.orElse(null));
     }
 
     /**
@@ -92,21 +109,8 @@ public final class MojangAuth {
     public static CompletableFuture<Optional<UUID>> getUUID(final String username) {
         Objects.requireNonNull(username);
         final String url = String.format(USER_PROFILE_URL, username);
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                final HttpRequest request = HttpRequest.newBuilder(new URI(url))
-                        .timeout(Duration.ofSeconds(5))
-                        .GET().build();
-                try (HttpClient client = HttpClient.newHttpClient()) {
-                    final HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-                    if (!(response.statusCode() == HttpURLConnection.HTTP_OK))
-                        return Optional.empty();
-                    final JsonObject json = (JsonObject) JsonParser.parseString(response.body());
-                    return UUIDUtils.parseUUID(json.get("id").getAsString());
-                }
-            } catch (Exception ignored) { }
-            return Optional.empty();
-        });
+        return cached(UUID_CACHE, username.toLowerCase(), () -> request(url,
+                json -> UUIDUtils.parseUUID(json.get("id").getAsString()).orElse(null)));
     }
 
     /**
@@ -117,22 +121,10 @@ public final class MojangAuth {
     public static CompletableFuture<Optional<PlayerTextures>> getSkin(final UUID uuid) {
         Objects.requireNonNull(uuid);
         final String url = String.format(MINECRAFT_PROFILE_URL, uuid);
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                final HttpRequest request = HttpRequest.newBuilder(new URI(url))
-                        .timeout(Duration.ofSeconds(5))
-                        .GET().build();
-                try (HttpClient client = HttpClient.newHttpClient()) {
-                    final HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-                    if (!(response.statusCode() == HttpURLConnection.HTTP_OK))
-                        return Optional.empty();
-                    final JsonObject json = (JsonObject) JsonParser.parseString(response.body());
-                    final JsonObject properties = json.getAsJsonArray("properties").get(0).getAsJsonObject();
-                    return PlayerTextures.buildSkin(properties);
-                }
-            } catch (Exception ignored) { }
-            return Optional.empty();
-        });
+        return cached(SKIN_CACHE, uuid, () -> request(url, json -> {
+            final JsonObject properties = json.getAsJsonArray("properties").get(0).getAsJsonObject();
+            return PlayerTextures.buildSkin(properties).orElse(null);
+        }));
     }
 
     /**
@@ -142,7 +134,79 @@ public final class MojangAuth {
      */
     public static CompletableFuture<Optional<PlayerTextures>> getSkin(final String username) {
         Objects.requireNonNull(username);
-        return CompletableFuture.supplyAsync(() -> getSkin(getUUID(username).join().orElse(null)).join());
+        return getUUID(username).thenCompose(uuid -> uuid
+                .map(MojangAuth::getSkin)
+                .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty())));
+    }
+
+    /**
+     * Invalidates all cached uuid and skin lookups.
+     */
+    public static void invalidateCache() {
+        UUID_CACHE.invalidateAll();
+        SKIN_CACHE.invalidateAll();
+    }
+
+    /**
+     * Sends a GET request to the url and parses its json response.
+     * <p>
+     * The returned future never completes exceptionally, failed requests
+     * and unsuccessful responses are completed with an empty optional.
+     * @param url url
+     * @param parser parser of the json response
+     * @return parsed response
+     * @param <T> type of the parsed response
+     */
+    private static <T> CompletableFuture<Optional<T>> request(final String url, final Function<JsonObject, T> parser) {
+        final HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(new URI(url))
+                    .timeout(TIMEOUT)
+                    .GET().build();
+        } catch (Exception exception) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() != HttpURLConnection.HTTP_OK) return Optional.<T>empty();
+                    return Optional.ofNullable(parser.apply((JsonObject) JsonParser.parseString(response.body())));
+                })
+                .exceptionally(exception -> Optional.empty());
+    }
+
+    /**
+     * Returns the cached lookup for the key, or starts a new one in case
+     * there is none; concurrent lookups for the same key share the same future.
+     * <p>
+     * Lookups that don't find anything are removed from the cache right away,
+     * so failed requests are retried.
+     * @param cache cache
+     * @param key key of the lookup
+     * @param loader starts the lookup
+     * @return result of the lookup
+     * @param <K> key
+     * @param <V> result of the lookup
+     */
+    private static <K, V> CompletableFuture<Optional<V>> cached(final Cache<K, CompletableFuture<Optional<V>>> cache,
+                                                               final K key,
+                                                               final Supplier<CompletableFuture<Optional<V>>> loader) {
+        final CompletableFuture<Optional<V>> future;
+        try {
+            future = cache.get(key, loader::get);
+        } catch (ExecutionException exception) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        future.thenAccept(result -> {
+            if (result.isEmpty()) cache.asMap().remove(key, future);
+        });
+        return future;
+    }
+
+    private static <K, V> Cache<K, V> createCache() {
+        return CacheBuilder.newBuilder()
+                .expireAfterWrite(CACHE_DURATION, TimeUnit.MINUTES)
+                .maximumSize(CACHE_SIZE)
+                .build();
     }
 
 }
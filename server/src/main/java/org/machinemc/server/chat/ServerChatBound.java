@@ -16,14 +16,15 @@ package org.machinemc.server.chat;
 
 import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.Setter;
 import org.jetbrains.annotations.Nullable;
 import org.machinemc.api.chat.ChatBound;
 import org.machinemc.api.chat.ChatType;
 import org.machinemc.api.chat.Messenger;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.scriptive.serialization.ComponentProperties;
+import org.machinemc.scriptive.serialization.ComponentSerializer;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -33,9 +34,14 @@ public class ServerChatBound implements ChatBound {
     private int chatTypeID;
     private ComponentProperties source;
     @Getter(AccessLevel.NONE)
-    @Setter
     private @Nullable ComponentProperties target;
 
+    /**
+     * Components of the chat bound serialized for a broadcast, see {@link #serialize(ComponentSerializer)}.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile @Nullable Serialized serialized;
+
     public ServerChatBound(final int chatTypeID, final ComponentProperties source, final @Nullable ComponentProperties target) {
         this.chatTypeID = chatTypeID;
         this.source = Objects.requireNonNull(source, "Source can not be null");
@@ -65,6 +71,13 @@ public class ServerChatBound implements ChatBound {
     @Override
     public void setSource(final ComponentProperties component) {
         source = Objects.requireNonNull(component, "Source can not be null");
+        serialized = null;
+    }
+
+    @Override
+    public void setTarget(final @Nullable ComponentProperties target) {
+        this.target = target;
+        serialized = null;
     }
 
     @Override
@@ -72,11 +85,37 @@ public class ServerChatBound implements ChatBound {
         return Optional.ofNullable(target);
     }
 
+    /**
+     * Serializes the components of the chat bound once before the message is broadcast,
+     * so they are not serialized again for each of the recipients.
+     * <p>
+     * The serialized components are used until the source or target of the chat bound changes.
+     * @param serializer serializer used to serialize the components
+     */
+    public void serialize(final ComponentSerializer<String> serializer) {
+        serialized = new Serialized(serializer.serializeFromProperties(source),
+                target != null ? serializer.serializeFromProperties(target) : null);
+    }
+
     @Override
     public void write(final ServerBuffer buf) {
         buf.writeVarInt(chatTypeID);
+        final Serialized serialized = this.serialized;
+        if (serialized != null) {
+            buf.writeString(serialized.source(), StandardCharsets.UTF_8);
+            buf.writeOptional(serialized.target(), (buffer, json) -> buffer.writeString(json, StandardCharsets.UTF_8));
+            return;
+        }
         buf.writeComponent(source);
         buf.writeOptional(target, ServerBuffer::writeComponent);
     }
 
+    /**
+     * Serialized components of the chat bound.
+     * @param source serialized source
+     * @param target serialized target
+     */
+    private record Serialized(String source, @Nullable String target) {
+    }
+
 }
@@ -19,9 +19,13 @@ import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import com.mojang.brigadier.tree.RootCommandNode;
 import org.machinemc.api.logging.Console;
+import org.machinemc.api.network.ServerNetworkStatistics;
+import org.machinemc.api.network.packets.Packet;
 import org.machinemc.server.Machine;
 import org.machinemc.api.commands.CommandExecutor;
 
+import java.util.Comparator;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -43,6 +47,7 @@ public final class MachineCommands {
         final RootCommandNode<CommandExecutor> root = dispatcher.getRoot();
         root.addChild(stopCommand(server));
         root.addChild(exitCommand(server));
+        root.addChild(netStatsCommand(server));
     }
 
     /**
@@ -76,4 +81,74 @@ public final class MachineCommands {
                 .build();
     }
 
+    /**
+     * Creates the network statistics command.
+     * @param server server to register commands for
+     * @return network statistics command
+     */
+    private static LiteralCommandNode<CommandExecutor> netStatsCommand(final Machine server) {
+        return LiteralArgumentBuilder
+                .<CommandExecutor>literal("netstats")
+                .executes(c -> {
+                    printNetworkStatistics(c.getSource(), server.getConnection().getStatistics());
+                    return 0;
+                })
+                .then(LiteralArgumentBuilder.<CommandExecutor>literal("reset")
+                        .executes(c -> {
+                            server.getConnection().getStatistics().reset();
+                            c.getSource().sendMessage("Network statistics have been reset");
+                            return 0;
+                        }))
+                .build();
+    }
+
+    /**
+     * Prints the network statistics.
+     * @param executor executor to print the statistics to
+     * @param statistics statistics to print
+     */
+    private static void printNetworkStatistics(final CommandExecutor executor, final ServerNetworkStatistics statistics) {
+        executor.sendMessage(String.format("In: %d packets, %d KiB (%d KiB uncompressed)",
+                statistics.getPacketsIn(),
+                statistics.getBytesIn() / 1024,
+                statistics.getUncompressedBytesIn() / 1024));
+        executor.sendMessage(String.format("Out: %d packets, %d KiB (%d KiB uncompressed)",
+                statistics.getPacketsOut(),
+                statistics.getBytesOut() / 1024,
+                statistics.getUncompressedBytesOut() / 1024));
+        executor.sendMessage(String.format("Rate limited: %d packets", statistics.getRateLimitedPackets()));
+        printTimes(executor, "Decode", statistics.getDecodeTimes());
+        printTimes(executor, "Encode", statistics.getEncodeTimes());
+        printTimes(executor, "Translate in", statistics.getInTranslateTimes());
+        printTimes(executor, "Translate out", statistics.getOutTranslateTimes());
+        executor.sendMessage("Top packets by bytes:");
+        statistics.getPacketStatistics().entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Class<? extends Packet>, ServerNetworkStatistics.PacketStatistics> entry)
+                        -> entry.getValue().getBytesIn() + entry.getValue().getBytesOut()).reversed())
+                .limit(10)
+                .forEach(entry -> executor.sendMessage(String.format("  %s: in %d (%d B), out %d (%d B)",
+                        entry.getKey().getSimpleName(),
+                        entry.getValue().getPacketsIn(),
+                        entry.getValue().getBytesIn(),
+                        entry.getValue().getPacketsOut(),
+                        entry.getValue().getBytesOut())));
+    }
+
+    /**
+     * Prints the measured times of a histogram in microseconds.
+     * @param executor executor to print the times to
+     * @param name name of the measured times
+     * @param histogram histogram of the times
+     */
+    private static void printTimes(final CommandExecutor executor,
+                                   final String name,
+                                   final ServerNetworkStatistics.TimeHistogram histogram) {
+        executor.sendMessage(String.format("%s: %d samples, mean %.1f us, p99 %.1f us, max %.1f us",
+                name,
+                histogram.getCount(),
+                histogram.getMeanNanos() / 1000,
+                histogram.getPercentileNanos(99) / 1000d,
+                histogram.getMaxNanos() / 1000d));
+    }
+
 }
@@ -154,7 +154,7 @@ public final class ServerPlayer extends ServerLivingEntity implements Player {
             final TranslationComponent joinMessage = TranslationComponent.of(
                     "multiplayer.player.joined", TextComponent.of(player.getName())
             ).modify().color(ChatColor.YELLOW).finish();
-            manager.getPlayers().forEach(serverPlayer -> serverPlayer.sendMessage(joinMessage));
+            broadcastSystemMessage(server, joinMessage);
             server.getConsole().info(ChatColor.YELLOW + player.getDisplayName().toLegacyString() + " joined the game");
             player.init();
             return player;
@@ -164,6 +164,20 @@ public final class ServerPlayer extends ServerLivingEntity implements Player {
 
     }
 
+    /**
+     * Sends a system message to all players that can receive it.
+     * <p>
+     * The message packet is encoded only once for all the players.
+     * @param server server
+     * @param message message to send
+     */
+    private static void broadcastSystemMessage(final Server server, final Component message) {
+        server.getConnection().broadcastPacket(
+                new PacketPlayOutSystemChatMessage(message.getProperties(), false),
+                connection -> connection.getOwner().map(Messenger::canReceiveCommand).orElse(false)
+        );
+    }
+
     @Override
     public void init() {
 
@@ -281,7 +295,7 @@ public final class ServerPlayer extends ServerLivingEntity implements Player {
         final TranslationComponent leaveMessage = TranslationComponent.of(
                 "multiplayer.player.left", TranslationComponent.of(getName())
         ).modify().color(ChatColor.YELLOW).finish();
-        getServer().getPlayerManager().getPlayers().forEach(serverPlayer -> serverPlayer.sendMessage(leaveMessage));
+        broadcastSystemMessage(getServer(), leaveMessage);
         getServer().getConsole().info(ChatColor.YELLOW + getDisplayName().toLegacyString() + " left the game");
         save();
     }
@@ -370,7 +384,10 @@ public final class ServerPlayer extends ServerLivingEntity implements Player {
     @Override
     public void sendMessage(final PlayerMessage message) {
         if (!Messenger.canReceiveMessage(this)) return;
-        final PlayerChatMessage playerChatMessage = new PlayerChatMessage(new FriendlyByteBuf().write(message));
+        // messages of players are shared between the recipients, so the components serialized for the broadcast are reused
+        final PlayerChatMessage playerChatMessage = message instanceof PlayerChatMessage chatMessage
+                ? chatMessage
+                : new PlayerChatMessage(new FriendlyByteBuf().write(message));
         playerChatMessage.pack(messageChain.getCache());
         sendPacket(new PacketPlayOutChatMessage(playerChatMessage));
         if (playerChatMessage.getSignature().isPresent())
@@ -32,6 +32,8 @@ import org.machinemc.cogwheel.properties.PropertiesConfigSerializer;
 import org.machinemc.scriptive.components.Component;
 import org.machinemc.scriptive.components.TextComponent;
 import org.machinemc.server.Machine;
+import org.machinemc.server.network.NettyTransport;
+import org.machinemc.server.network.PacketRateLimiter;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
@@ -94,6 +96,46 @@ public class ServerPropertiesImpl implements ServerProperties, Configuration {
     @Comment("How many ticks per second the server is run on")
     private int tps = 20;
     private String serverBrand = "Machine server";
+    @Comment({
+            "Network transport used for client connections (AUTO, IO_URING, EPOLL, NIO)",
+            "Native transports fall back to NIO if they are not supported by the system"
+    })
+    private NettyTransport networkTransport = NettyTransport.AUTO;
+    @Comment("Number of threads handling client connections, 0 for the default")
+    private int networkThreads = 0;
+    @Getter(AccessLevel.NONE)
+    @Comment("Whether packets should be sent immediately without being buffered by the system (TCP_NODELAY)")
+    private boolean tcpNoDelay = true;
+    @Comment("Size of pending outgoing data in bytes after which the connection stops being writable")
+    private int writeBufferHighWaterMark = 2 * 1024 * 1024;
+    @Comment("Size of pending outgoing data in bytes after which the connection becomes writable again")
+    private int writeBufferLowWaterMark = 1024 * 1024;
+    @Comment("Level of the packet compression (0-9), -1 for the default level")
+    private @Range(from = -1, to = 9) int compressionLevel = -1;
+    @Comment("Size of packets in bytes from which they are compressed, -1 to disable the compression")
+    private int compressionThreshold = 256;
+    @Comment({
+            "Whether packets sent to players should be flushed together once per tick",
+            "instead of separately for each packet"
+    })
+    private boolean coalesceWrites = true;
+    @Comment("Size of buffered outgoing data in bytes after which it is flushed before the end of the tick")
+    private int flushThreshold = 64 * 1024;
+    @Comment("Maximum number of movement packets a player can send per second, 0 for no limit")
+    private int movementPacketRateLimit = 100;
+    @Comment("Maximum number of chat packets a player can send per second, 0 for no limit")
+    private int chatPacketRateLimit = 10;
+    @Comment("Maximum number of other packets a player can send per second, 0 for no limit")
+    private int packetRateLimit = 500;
+    @Comment("What happens with players exceeding the packet rate limits, DROP ignores the excess packets, KICK disconnects the player")
+    private PacketRateLimiter.Policy packetRateLimitPolicy = PacketRateLimiter.Policy.DROP;
+    @Comment("Maximum number of new connections per second from a single IP address, 0 for no limit")
+    private int connectionRateLimit = 20;
+    @Comment({
+            "Maximum number of connections that haven't finished their handshake",
+            "or status request yet, 0 for no limit"
+    })
+    private int maxPendingHandshakes = 1024;
 
     @Getter(AccessLevel.NONE)
     private final @Nullable BufferedImage icon;
@@ -150,6 +192,13 @@ public class ServerPropertiesImpl implements ServerProperties, Configuration {
         return tps;
     }
 
+    /**
+     * @return whether the TCP_NODELAY option should be enabled for client connections
+     */
+    public boolean isTCPNoDelay() {
+        return tcpNoDelay;
+    }
+
     @Override
     public Optional<BufferedImage> getIcon() {
         return Optional.ofNullable(icon);
@@ -16,34 +16,47 @@ package org.machinemc.server.network;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.ByteToMessageDecoder;
-import lombok.AllArgsConstructor;
+import io.netty.handler.codec.MessageToMessageDecoder;
 import org.machinemc.server.exception.ClientException;
 
 import javax.crypto.Cipher;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 /**
  * Channel handler that decrypts incoming packets.
+ * <p>
+ * The data are decrypted in place, the handler is added to the pipeline
+ * only once the encryption of the connection is enabled.
  */
-@AllArgsConstructor
-public class CipherDecoder extends ByteToMessageDecoder {
+public class CipherDecoder extends MessageToMessageDecoder<ByteBuf> {
 
     private final ClientConnection connection;
+    private final Cipher cipher;
+
+    public CipherDecoder(final ClientConnection connection, final Cipher cipher) {
+        this.connection = connection;
+        this.cipher = cipher;
+    }
 
     @Override
-    protected void decode(final ChannelHandlerContext ctx, final ByteBuf msg, final List<Object> out) {
-        if (connection.encryptionContext == null) {
-            out.add(msg.readBytes(msg.readableBytes()));
+    protected void decode(final ChannelHandlerContext ctx, final ByteBuf msg, final List<Object> out) throws Exception {
+        final int length = msg.readableBytes();
+        if (msg.nioBufferCount() != 1) {
+            final ByteBuf output = ctx.alloc().ioBuffer(length);
+            try {
+                output.writerIndex(cipher.update(msg.nioBuffer(msg.readerIndex(), length), output.nioBuffer(0, length)));
+            } catch (Exception exception) {
+                output.release();
+                throw exception;
+            }
+            msg.skipBytes(length);
+            out.add(output);
             return;
         }
-
-        final Cipher cipher = connection.encryptionContext.decrypt();
-        final byte[] data = new byte[msg.readableBytes()];
-        msg.readBytes(data);
-        final ByteBuf output = ctx.alloc().buffer(cipher.getOutputSize(msg.readableBytes()));
-        output.writeBytes(cipher.update(data));
-        out.add(output);
+        final ByteBuffer data = msg.nioBuffer(msg.readerIndex(), length);
+        cipher.update(data, data.duplicate());
+        out.add(msg.retain());
     }
 
     @Override
@@ -17,27 +17,40 @@ package org.machinemc.server.network;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
-import lombok.AllArgsConstructor;
+
+import javax.crypto.Cipher;
 
 /**
  * Channel handler that encrypts outgoing packets.
+ * <p>
+ * The data are encrypted directly into the output buffer, the handler is added
+ * to the pipeline only once the encryption of the connection is enabled.
  */
-@AllArgsConstructor
 public class CipherEncoder extends MessageToByteEncoder<ByteBuf> {
 
-    private final ClientConnection connection;
+    private final Cipher cipher;
+
+    public CipherEncoder(final Cipher cipher) {
+        this.cipher = cipher;
+    }
+
+    @Override
+    protected void encode(final ChannelHandlerContext ctx, final ByteBuf msg, final ByteBuf out) throws Exception {
+        final int length = msg.readableBytes();
+        out.ensureWritable(length);
+        final int written = cipher.update(
+                msg.nioBuffer(msg.readerIndex(), length),
+                out.nioBuffer(out.writerIndex(), length)
+        );
+        msg.skipBytes(length);
+        out.writerIndex(out.writerIndex() + written);
+    }
 
     @Override
-    protected void encode(final ChannelHandlerContext ctx, final ByteBuf msg, final ByteBuf out) {
-        if (connection.encryptionContext == null) {
-            out.writeBytes(msg);
-            return;
-        }
-
-        final byte[] data = new byte[msg.readableBytes()];
-        msg.readBytes(data);
-        final byte[] encrypted = connection.encryptionContext.encrypt().update(data);
-        out.writeBytes(encrypted);
+    protected ByteBuf allocateBuffer(final ChannelHandlerContext ctx, final ByteBuf msg, final boolean preferDirect) {
+        return preferDirect
+                ? ctx.alloc().ioBuffer(msg.readableBytes())
+                : ctx.alloc().heapBuffer(msg.readableBytes());
     }
 
 }
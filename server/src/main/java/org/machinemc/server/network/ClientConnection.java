@@ -14,32 +14,46 @@
  */
 package org.machinemc.server.network;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoop;
+import io.netty.util.ReferenceCountUtil;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.Synchronized;
 import org.jetbrains.annotations.Nullable;
 import org.machinemc.api.auth.Crypt;
+import org.machinemc.api.entities.player.PlayerProfile;
 import org.machinemc.api.network.PlayerConnection;
 import org.machinemc.api.network.ServerConnection;
 import org.machinemc.api.network.packets.Packet;
-import org.machinemc.api.server.schedule.Scheduler;
 import org.machinemc.scriptive.components.Component;
 import org.machinemc.server.Machine;
 import org.machinemc.server.entities.ServerPlayer;
+import org.machinemc.server.exception.ClientException;
+import org.machinemc.server.network.packets.ServerPacket;
 import org.machinemc.server.network.packets.out.login.PacketLoginOutDisconnect;
 import org.machinemc.server.network.packets.out.login.PacketLoginOutSetCompression;
+import org.machinemc.server.network.packets.out.login.PacketLoginOutSuccess;
 import org.machinemc.server.network.packets.out.play.PacketPlayOutBundleDelimiter;
 import org.machinemc.server.network.packets.out.play.PacketPlayOutDisconnect;
 import org.machinemc.server.network.packets.out.play.PacketPlayOutKeepAlive;
+import org.machinemc.server.network.statistics.NetworkStatisticsImpl;
+import org.machinemc.server.utils.SerialExecutor;
 
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
 import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.Random;
+import java.util.Queue;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Player connection implementation using netty.
@@ -62,23 +76,38 @@ public class ClientConnection implements PlayerConnection {
     private @Nullable ServerPlayer owner;
 
     @Getter
-    private int compressionThreshold = -1;
+    private volatile int compressionThreshold = -1;
 
     private @Nullable SecretKey secretKey;
-    protected EncryptionContext encryptionContext;
 
     @Getter
     private long keepAliveKey = -1;
-    private long keepAliveRequest;
-    private long keepAliveResponse;
+    private volatile long keepAliveRequest;
+    private volatile long keepAliveResponse;
 
-    private boolean waitingForBundle = false;
+    /**
+     * Chunk packets waiting for the connection to become writable again.
+     */
+    private final Queue<PausedPacket> pausedPackets = new ArrayDeque<>();
+
+    /**
+     * Executor running the game logic of packets received from this connection,
+     * the packets are handled in the order they were received in.
+     */
+    @Getter
+    private final SerialExecutor executor;
+
+    @Getter
+    private final NetworkStatisticsImpl statistics;
 
     public ClientConnection(final NettyServer nettyServer, final Channel channel) {
         this.nettyServer = nettyServer;
         this.channel = channel;
         this.address = (InetSocketAddress) channel.remoteAddress();
         server = nettyServer.getServer();
+        statistics = new NetworkStatisticsImpl(nettyServer.getStatistics());
+        executor = new SerialExecutor(nettyServer.getPacketExecutor(),
+                throwable -> server.getExceptionHandler().handle(new ClientException(this, throwable)));
         setState(ClientState.HANDSHAKE);
         channel.closeFuture().addListener(future -> {
             try {
@@ -92,6 +121,88 @@ public class ClientConnection implements PlayerConnection {
     @Override
     @Synchronized
     public ChannelFuture send(final Packet packet) {
+        checkPacket(packet);
+        final ServerPacket.Priority priority = packet instanceof ServerPacket serverPacket
+                ? serverPacket.getPriority()
+                : ServerPacket.Priority.CRITICAL;
+        if (priority == ServerPacket.Priority.COSMETIC && !channel.isWritable())
+            return dropped();
+        // chunk packets wait until the connection catches up, the paused
+        // packets are sent in order, see #resumePaused
+        if (priority == ServerPacket.Priority.CHUNK && (!channel.isWritable() || !pausedPackets.isEmpty())) {
+            final ChannelPromise promise = channel.newPromise();
+            pausedPackets.add(new PausedPacket(packet, promise));
+            return handleFailure(promise);
+        }
+        return handleFailure(write(packet));
+    }
+
+    /**
+     * Sends multiple packets to the connection in form of packet bundle.
+     * <p>
+     * The whole bundle is encoded into a single buffer and written at once,
+     * so packets sent concurrently from other threads can not end up inside the bundle.
+     * In case there are outgoing translators registered for any of the packets,
+     * the packets are written separately while holding the lock of the connection.
+     * @param packets packets to send
+     * @return future of the bundle if client is in play state
+     */
+    @Override
+    @Synchronized
+    public Optional<ChannelFuture> send(final Packet... packets) {
+        if (!channel.isOpen())
+            throw new IllegalStateException("The channel is closed");
+
+        if (getState().orElse(null) != ClientState.PLAY) {
+            for (final Packet packet : packets) send(packet);
+            return Optional.empty();
+        }
+
+        final List<ServerPacket> serverPackets = new ArrayList<>(packets.length);
+        boolean encodable = true;
+        for (final Packet packet : packets) {
+            checkPacket(packet);
+            if (packet instanceof ServerPacket serverPacket
+                    && !server.getTranslatorDispatcher().hasOutTranslators(packet.getClass())) {
+                serverPackets.add(serverPacket);
+                continue;
+            }
+            encodable = false;
+        }
+
+        if (!encodable) {
+            write(new PacketPlayOutBundleDelimiter());
+            for (final Packet packet : packets) handleFailure(write(packet));
+            return Optional.of(handleFailure(write(new PacketPlayOutBundleDelimiter())));
+        }
+
+        final ByteBuf bundle = channel.alloc().ioBuffer();
+        try {
+            EncodedPacket.writeBundle(serverPackets, bundle, statistics);
+        } catch (Throwable throwable) {
+            bundle.release();
+            throw throwable;
+        }
+        return Optional.of(handleFailure(write(bundle)));
+    }
+
+    @Override
+    @Synchronized
+    public ChannelFuture sendImmediately(final Packet packet) {
+        checkPacket(packet);
+        return handleFailure(channel.writeAndFlush(packet));
+    }
+
+    @Override
+    public void flush() {
+        channel.flush();
+    }
+
+    /**
+     * Checks whether the packet can be sent to the client.
+     * @param packet packet to check
+     */
+    private void checkPacket(final Packet packet) {
         if (!channel.isOpen())
             throw new IllegalStateException("The channel is closed");
 
@@ -100,40 +211,136 @@ public class ClientConnection implements PlayerConnection {
                     + packet.getPacketState()
                     + " can not be sent to the client");
 
-        if (!waitingForBundle
-                && getState().orElse(null) == ClientState.PLAY
+        if (getState().orElse(null) == ClientState.PLAY
                 && packet.getID() == PacketPlayOutBundleDelimiter.ID)
             throw new UnsupportedOperationException("Bundle Delimiter packets can not be sent individually");
+    }
 
-        final ChannelFuture channelfuture = channel.writeAndFlush(packet);
-        channelfuture.addListener((ChannelFutureListener) future -> {
-            if (future.cause() == null) return;
-            if (!future.channel().isOpen()) return;
-            server.getExceptionHandler().handle(future.cause());
-        });
-        return channelfuture;
+    /**
+     * Writes the message to the channel, the message is flushed right away
+     * unless the writes of the connection are coalesced.
+     * <p>
+     * Writes are coalesced only in the play state, packets sent before
+     * are flushed immediately.
+     * @param message message to write
+     * @return write future
+     */
+    private ChannelFuture write(final Object message) {
+        return write(message, channel.newPromise());
     }
 
-    @Override
-    public Optional<ChannelFuture> send(final Packet... packets) {
-        if (!channel.isOpen())
-            throw new IllegalStateException("The channel is closed");
+    /**
+     * Writes the message to the channel, the message is flushed right away
+     * unless the writes of the connection are coalesced.
+     * @param message message to write
+     * @param promise promise of the write
+     * @return write future
+     * @see #write(Object)
+     */
+    private ChannelFuture write(final Object message, final ChannelPromise promise) {
+        if (nettyServer.isCoalescingWrites() && state == ClientState.PLAY)
+            return channel.write(message, promise);
+        return channel.writeAndFlush(message, promise);
+    }
 
-        if (getState().orElse(null) != ClientState.PLAY) {
-            for (final Packet packet : packets) send(packet);
-            return Optional.empty();
+    /**
+     * Returns cancelled future for a packet that has been dropped
+     * because the connection is saturated.
+     * @return cancelled future
+     */
+    private ChannelFuture dropped() {
+        final ChannelPromise promise = channel.newPromise();
+        promise.cancel(false);
+        return promise;
+    }
+
+    /**
+     * Sends the packets paused while the connection wasn't writable,
+     * until the connection is saturated again.
+     */
+    @Synchronized
+    void resumePaused() {
+        PausedPacket paused;
+        while (channel.isWritable() && (paused = pausedPackets.poll()) != null) {
+            if (paused.message() instanceof EncodedPacket encoded)
+                writeEncoded(encoded, paused.promise());
+            else
+                write(paused.message(), paused.promise());
         }
+    }
 
-        sendDelimiter();
-        for (final Packet packet : packets) send(packet);
-        return Optional.of(sendDelimiter());
+    /**
+     * Cancels all packets paused while the connection wasn't writable.
+     */
+    @Synchronized
+    private void cancelPaused() {
+        PausedPacket paused;
+        while ((paused = pausedPackets.poll()) != null) {
+            ReferenceCountUtil.release(paused.message());
+            paused.promise().cancel(false);
+        }
     }
 
-    private ChannelFuture sendDelimiter() {
-        waitingForBundle = true;
-        final ChannelFuture future = send(new PacketPlayOutBundleDelimiter());
-        waitingForBundle = false;
-        return future;
+    /**
+     * Sends an already encoded packet to the client.
+     * <p>
+     * Cosmetic packets are dropped if the connection is not writable, chunk packets
+     * are paused in the same queue as the chunk packets sent by {@link #send(Packet)}.
+     * <p>
+     * Only compression and encryption of the connection are applied to the packet,
+     * if the connection is compressed, the compressed frame shared by all connections
+     * with the same compression threshold is used. The frame is chosen by the compression
+     * encoder on the event loop, so it matches the compression even if it's changed concurrently.
+     * <p>
+     * Encoded packets can be sent only in the play state, unlike {@link #send(Packet)} this
+     * doesn't throw if the channel is closed, so a broadcast is not interrupted by a connection
+     * that has been closed in the meantime.
+     * @param encoded encoded packet
+     * @return send message future, failed if the channel is closed or the client is not in the play state
+     */
+    @Synchronized
+    public ChannelFuture sendEncoded(final EncodedPacket encoded) {
+        if (!channel.isOpen())
+            return channel.newFailedFuture(new ClosedChannelException());
+        if (state != ClientState.PLAY)
+            return channel.newFailedFuture(new IllegalStateException("Encoded packets can be sent only in the play state"));
+        if (encoded.getPriority() == ServerPacket.Priority.COSMETIC && !channel.isWritable())
+            return dropped();
+        if (encoded.getPriority() == ServerPacket.Priority.CHUNK && (!channel.isWritable() || !pausedPackets.isEmpty())) {
+            final ChannelPromise promise = channel.newPromise();
+            pausedPackets.add(new PausedPacket(encoded.retain(), promise));
+            return handleFailure(promise);
+        }
+        encoded.retain();
+        return handleFailure(writeEncoded(encoded, channel.newPromise()));
+    }
+
+    /**
+     * Writes an encoded packet to the channel, the ownership of the
+     * reference is transferred to the channel.
+     * @param encoded encoded packet
+     * @param promise promise of the write
+     * @return write future
+     */
+    private ChannelFuture writeEncoded(final EncodedPacket encoded, final ChannelPromise promise) {
+        if (encoded.getPacketClass() != null)
+            statistics.recordPacketOut(encoded.getPacketClass(), encoded.getFrameSize());
+        // the compression encoder picks the frame matching the compression of the connection
+        return write(encoded, promise);
+    }
+
+    /**
+     * Reports failure of writing to the channel to the exception handler of the server.
+     * @param channelFuture write future
+     * @return the same future
+     */
+    private ChannelFuture handleFailure(final ChannelFuture channelFuture) {
+        channelFuture.addListener((ChannelFutureListener) future -> {
+            if (future.cause() == null) return;
+            if (!future.channel().isOpen()) return;
+            server.getExceptionHandler().handle(future.cause());
+        });
+        return channelFuture;
     }
 
     @Override
@@ -173,26 +380,29 @@ public class ClientConnection implements PlayerConnection {
 
     /**
      * Sets the compression of this client connection.
+     * <p>
+     * The compression is enabled on the event loop of the connection right after the
+     * set compression packet is written, so all packets sent after it are compressed,
+     * the caller doesn't wait for the packet to be sent.
      * @param threshold compression threshold
-     * @return whether the operation was successful
+     * @return future of the set compression packet
      */
-    public boolean setCompression(final int threshold) {
+    public ChannelFuture setCompression(final int threshold) {
         if (state != ClientState.LOGIN) throw new UnsupportedOperationException();
-        try {
-            if (!send(new PacketLoginOutSetCompression(threshold)).sync().isSuccess())
-                return false;
+        final ChannelFuture future = sendImmediately(new PacketLoginOutSetCompression(threshold));
+        // writes from other threads are queued as event loop tasks, this task runs after the write
+        if (channel.eventLoop().inEventLoop())
             compressionThreshold = threshold;
-            return true;
-        } catch (InterruptedException exception) {
-            throw new RuntimeException(exception);
-        }
+        else
+            channel.eventLoop().execute(() -> compressionThreshold = threshold);
+        return future;
     }
 
     /**
      * Disables the compression of this client connection.
-     * @return whether the operation was successful
+     * @return future of the set compression packet
      */
-    public boolean disableCompression() {
+    public ChannelFuture disableCompression() {
         return setCompression(-1);
     }
 
@@ -212,24 +422,27 @@ public class ClientConnection implements PlayerConnection {
         if (keepAliveKey != -1)
             throw new IllegalStateException("Connection is already being kept alive");
 
-        keepAliveKey = new Random().nextLong();
+        keepAliveKey = ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
         keepAliveRequest = System.currentTimeMillis();
-        keepAliveResponse = System.currentTimeMillis();
+        keepAliveResponse = keepAliveRequest;
+        nettyServer.getTimer().keepAlive(this);
+    }
 
-        Scheduler.task((input, session) -> {
-            if (state != ClientState.PLAY) {
-                session.stop();
-                return null;
-            }
-            send(new PacketPlayOutKeepAlive(keepAliveKey));
-            keepAliveRequest = System.currentTimeMillis();
-            if (keepAliveRequest - keepAliveResponse > NettyServer.READ_IDLE_TIMEOUT)
-                disconnect();
-            return null;
-        }).async()
-                .repeat(true)
-                .period(NettyServer.KEEP_ALIVE_FREQ)
-                .run(nettyServer.getServer().getScheduler());
+    /**
+     * Sends the keep alive packet to the client.
+     */
+    void sendKeepAlive() {
+        keepAliveRequest = System.currentTimeMillis();
+        sendImmediately(new PacketPlayOutKeepAlive(keepAliveKey));
+    }
+
+    /**
+     * Returns time left until the connection times out, in case the client
+     * keeps not responding to the keep alive packets.
+     * @return time until the timeout in milliseconds, zero or negative if the connection timed out
+     */
+    long getReadIdleRemaining() {
+        return NettyServer.READ_IDLE_TIMEOUT - (System.currentTimeMillis() - keepAliveResponse);
     }
 
     /**
@@ -254,9 +467,9 @@ public class ClientConnection implements PlayerConnection {
     public ChannelFuture disconnect(final Component reason) {
         try {
             if (state == ClientState.LOGIN)
-                this.send(new PacketLoginOutDisconnect(reason.getProperties()));
+                this.sendImmediately(new PacketLoginOutDisconnect(reason.getProperties()));
             if (state == ClientState.PLAY)
-                this.send(new PacketPlayOutDisconnect(reason.getProperties()));
+                this.sendImmediately(new PacketPlayOutDisconnect(reason.getProperties()));
         } catch (Exception ignored) { }
         return close();
     }
@@ -265,6 +478,7 @@ public class ClientConnection implements PlayerConnection {
     @Synchronized
     public ChannelFuture close() {
         handleClose();
+        channel.flush();
         return channel.close();
     }
 
@@ -275,6 +489,7 @@ public class ClientConnection implements PlayerConnection {
      * except for closing the channel that is already expected to be closed.
      */
     private void handleClose() {
+        cancelPaused();
         state = ClientState.DISCONNECTED;
         nettyServer.connections.remove(this);
         if (owner != null && owner.isActive()) owner.remove();
@@ -305,6 +520,9 @@ public class ClientConnection implements PlayerConnection {
 
     /**
      * Sets new secret key for encryption if there isn't one already.
+     * <p>
+     * This enables the encryption of the connection by adding
+     * the cipher handlers to the channel pipeline.
      * @param key new secret key
      */
     @Synchronized
@@ -313,18 +531,47 @@ public class ClientConnection implements PlayerConnection {
         if (secretKey != null)
             throw new IllegalStateException("Encryption for the connection is already enabled");
         secretKey = key;
-        encryptionContext = new EncryptionContext(
-                Crypt.getCipher(Cipher.ENCRYPT_MODE, secretKey),
-                Crypt.getCipher(Cipher.DECRYPT_MODE, secretKey)
-        );
+        channel.pipeline()
+                .addFirst(NettyServer.CIPHER_DECODER, new CipherDecoder(this, Crypt.getCipher(Cipher.DECRYPT_MODE, key)))
+                .addFirst(NettyServer.CIPHER_ENCODER, new CipherEncoder(Crypt.getCipher(Cipher.ENCRYPT_MODE, key)));
     }
 
     /**
-     * Context containing ciphers for both encrypting and decrypting.
-     * @param encrypt cipher for encryption
-     * @param decrypt cipher for decryption
+     * Pauses or resumes reading of the incoming data of the connection, used
+     * while the login waits for a result it needs to decode further packets.
+     * @param autoRead whether the incoming data should be read
      */
-    protected record EncryptionContext(Cipher encrypt, Cipher decrypt) {
+    public void setAutoRead(final boolean autoRead) {
+        channel.config().setAutoRead(autoRead);
+    }
+
+    /**
+     * @return event loop of the connection
+     */
+    public EventLoop eventLoop() {
+        return channel.eventLoop();
+    }
+
+    /**
+     * Finishes the login of the client, enables the compression, sends the login success
+     * and switches the connection to the play state.
+     * <p>
+     * The player is spawned using the executor of the connection, before
+     * any of the play packets received from the client are handled.
+     * @param profile profile of the logged-in player
+     */
+    public void completeLogin(final PlayerProfile profile) {
+        if (state != ClientState.LOGIN)
+            throw new IllegalStateException("Login can not be completed in the " + state + " state");
+        final int threshold = nettyServer.getCompressionThreshold();
+        if (threshold >= 0) setCompression(threshold);
+        send(new PacketLoginOutSuccess(profile.getUUID(), profile.getUsername(), profile.getTextures().orElse(null)));
+        if (state == ClientState.DISCONNECTED) return;
+        setState(ClientState.PLAY);
+        executor.execute(() -> {
+            if (!isOpen()) return;
+            ServerPlayer.spawn(server, profile, this);
+        });
     }
 
     @Override
@@ -334,4 +581,13 @@ public class ClientConnection implements PlayerConnection {
                 + ", owner=" + owner
                 + ')';
     }
+
+    /**
+     * Packet paused until the connection becomes writable.
+     * @param message packet or retained encoded packet
+     * @param promise promise of the packet write
+     */
+    private record PausedPacket(Object message, ChannelPromise promise) {
+    }
+
 }
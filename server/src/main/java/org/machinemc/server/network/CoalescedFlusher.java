@@ -0,0 +1,91 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network;
+
+import io.netty.util.concurrent.EventExecutor;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Flushes the connections with coalesced writes once per server tick.
+ * <p>
+ * Instead of each connection scheduling its own flush task, connections with
+ * unflushed data are collected per event loop and a single {@link #tick()}
+ * walks them, running one flush task on each event loop that has any.
+ */
+public class CoalescedFlusher {
+
+    private final Map<EventExecutor, LoopFlusher> loops = new ConcurrentHashMap<>();
+
+    /**
+     * Flushes all connections with unflushed data, called once per server tick.
+     */
+    public void tick() {
+        for (final LoopFlusher loop : loops.values()) {
+            if (loop.pending) loop.executor.execute(loop::flush);
+        }
+    }
+
+    /**
+     * Marks the coalescer as having unflushed data, has to be called from its event loop.
+     * @param executor event loop of the coalescer
+     * @param coalescer coalescer with unflushed data
+     */
+    void markDirty(final EventExecutor executor, final WriteCoalescer coalescer) {
+        final LoopFlusher loop = loops.computeIfAbsent(executor, LoopFlusher::new);
+        loop.dirty.add(coalescer);
+        loop.pending = true;
+    }
+
+    /**
+     * Removes the coalescer from the flushed ones, has to be called from its event loop.
+     * @param executor event loop of the coalescer
+     * @param coalescer removed coalescer
+     */
+    void remove(final EventExecutor executor, final WriteCoalescer coalescer) {
+        final LoopFlusher loop = loops.get(executor);
+        if (loop != null) loop.dirty.remove(coalescer);
+    }
+
+    /**
+     * Coalescers with unflushed data of a single event loop, the set
+     * is accessed only from the event loop itself.
+     */
+    private static final class LoopFlusher {
+
+        private final EventExecutor executor;
+        private Set<WriteCoalescer> dirty = new LinkedHashSet<>();
+        private volatile boolean pending;
+
+        private LoopFlusher(final EventExecutor executor) {
+            this.executor = executor;
+        }
+
+        private void flush() {
+            pending = false;
+            // flushing can write to the coalescers again and mark them dirty, e.g. once the channel
+            // becomes writable and paused packets are resumed, those are flushed with the next tick
+            final Set<WriteCoalescer> flushed = dirty;
+            dirty = new LinkedHashSet<>();
+            for (final WriteCoalescer coalescer : flushed)
+                coalescer.flushPending();
+        }
+
+    }
+
+}
@@ -16,26 +16,39 @@ package org.machinemc.server.network;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.ByteToMessageDecoder;
-import lombok.AllArgsConstructor;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.MessageToMessageDecoder;
 import org.machinemc.api.utils.FriendlyByteBuf;
 import org.machinemc.server.utils.ZLib;
 
-import java.io.IOException;
 import java.util.List;
+import java.util.zip.Inflater;
 
 /**
  * Channel handler that decompresses incoming packets.
+ * <p>
+ * Packets that are not compressed are passed further without being copied,
+ * new buffer is allocated only for the decompressed data.
  */
-@AllArgsConstructor
-public class CompressionDecoder extends ByteToMessageDecoder {
+public class CompressionDecoder extends MessageToMessageDecoder<ByteBuf> {
+
+    /**
+     * Maximum size of a decompressed packet, larger packets are rejected
+     * before any memory for them is allocated.
+     */
+    public static final int MAX_DECOMPRESSED_SIZE = 8 * 1024 * 1024;
 
     private final ClientConnection connection;
+    private final Inflater inflater = new Inflater();
+
+    public CompressionDecoder(final ClientConnection connection) {
+        this.connection = connection;
+    }
 
     @Override
-    protected void decode(final ChannelHandlerContext ctx, final ByteBuf in, final List<Object> out) {
+    protected void decode(final ChannelHandlerContext ctx, final ByteBuf in, final List<Object> out) throws Exception {
         if (!connection.isCompressed()) {
-            out.add(in.readBytes(in.readableBytes()));
+            out.add(in.retain());
             return;
         }
 
@@ -44,18 +57,31 @@ public class CompressionDecoder extends ByteToMessageDecoder {
 
         // Is not compressed
         if (length == 0) {
-            out.add(in.readBytes(in.readableBytes()));
+            out.add(in.retain());
             return;
         }
 
+        if (length < connection.getCompressionThreshold())
+            throw new DecoderException("Badly compressed packet, size of " + length
+                    + " is below the compression threshold of " + connection.getCompressionThreshold());
+        if (length > MAX_DECOMPRESSED_SIZE)
+            throw new DecoderException("Badly compressed packet, size of " + length
+                    + " is larger than the maximum of " + MAX_DECOMPRESSED_SIZE);
+
+        final ByteBuf output = ctx.alloc().ioBuffer(length);
         try {
-            final byte[] uncompressed = ZLib.decompress(buf.readBytes(buf.readableBytes()));
-            final ByteBuf output = ctx.alloc().buffer(length);
-            output.writeBytes(uncompressed);
-            out.add(output);
-        } catch (IOException exception) {
-            throw new RuntimeException(exception);
+            ZLib.decompress(inflater, in, output, length);
+        } catch (Exception exception) {
+            output.release();
+            throw exception;
         }
+        out.add(output);
+    }
+
+    @Override
+    public void handlerRemoved(final ChannelHandlerContext ctx) throws Exception {
+        inflater.end();
+        super.handlerRemoved(ctx);
     }
 
 }
@@ -15,49 +15,153 @@
 package org.machinemc.server.network;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToByteEncoder;
-import lombok.AllArgsConstructor;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.EncoderException;
 import org.machinemc.api.utils.FriendlyByteBuf;
 import org.machinemc.server.utils.ZLib;
 
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
 
 /**
  * Channel handler that compresses outgoing packets.
+ * <p>
+ * Frames are passed through without being copied whenever possible. Frames
+ * of uncompressed connections are written as they are, frames below the
+ * compression threshold have their length prefix rewritten in place, see
+ * {@link PacketFrame#markUncompressed(ByteBuf, int, int, int)}, and only frames
+ * that are deflated are written into newly allocated buffers.
+ * <p>
+ * Buffers written to the connection are owned by the pipeline, so their
+ * frames can be modified in place. Shared frames of {@link EncodedPacket encoded packets}
+ * are never modified, the encoded packet is resolved to the frame matching
+ * the compression of the connection once it reaches this handler, the shared
+ * compressed frame is created with the deflater of this handler if it doesn't exist yet.
  */
-@AllArgsConstructor
-public class CompressionEncoder extends MessageToByteEncoder<ByteBuf> {
+public class CompressionEncoder extends ChannelOutboundHandlerAdapter {
 
     private final ClientConnection connection;
+    private final Deflater deflater;
+
+    public CompressionEncoder(final ClientConnection connection, final int compressionLevel) {
+        this.connection = connection;
+        deflater = new Deflater(compressionLevel);
+    }
 
     @Override
-    protected void encode(final ChannelHandlerContext ctx, final ByteBuf msg, final ByteBuf out) {
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) throws Exception {
+        if (msg instanceof EncodedPacket encoded) {
+            try {
+                connection.getStatistics().recordUncompressedBytesOut(encoded.getFrameSize());
+                ctx.write(connection.isCompressed()
+                        ? encoded.compressedFrame(deflater, connection.getCompressionThreshold())
+                        : encoded.frame(), promise);
+            } finally {
+                encoded.release();
+            }
+            return;
+        }
+        if (!(msg instanceof ByteBuf buf)) {
+            ctx.write(msg, promise);
+            return;
+        }
+        connection.getStatistics().recordUncompressedBytesOut(buf.readableBytes());
         if (!connection.isCompressed()) {
-            out.writeBytes(msg);
+            ctx.write(buf, promise);
             return;
         }
-
-        final FriendlyByteBuf buf = new FriendlyByteBuf(msg);
-        final int length = buf.readVarInt();
-
-        final FriendlyByteBuf data = new FriendlyByteBuf();
-        final FriendlyByteBuf output = new FriendlyByteBuf(out);
-
-        if (length < connection.getCompressionThreshold()) {
-            data.writeVarInt(0).writeBytes(buf.readBytes(buf.readableBytes()));
-            output.writeVarInt(data.readableBytes()).writeBytes(data.readBytes(data.readableBytes()));
+        final ByteBuf out;
+        try {
+            out = compressFrames(ctx.alloc(), buf, connection.getCompressionThreshold());
+        } catch (Throwable throwable) {
+            buf.release();
+            promise.setFailure(new EncoderException(throwable));
             return;
         }
+        ctx.write(out, promise);
+    }
 
+    /**
+     * Compresses the outgoing frames, the message can contain multiple
+     * frames, e.g. in case of packet bundles, each of them is compressed separately.
+     * <p>
+     * The ownership of the message is transferred to the returned buffer.
+     * @param allocator allocator for the deflated frames
+     * @param msg frames to compress
+     * @param threshold compression threshold
+     * @return compressed frames
+     */
+    private ByteBuf compressFrames(final ByteBufAllocator allocator, final ByteBuf msg, final int threshold) {
+        final FriendlyByteBuf buf = new FriendlyByteBuf(msg);
+        final int start = msg.readerIndex();
+        final List<ByteBuf> parts = new ArrayList<>(1);
+        int passed = start; // start of the frames that are passed through
         try {
-            final byte[] compressed = ZLib.compress(buf.readBytes(buf.readableBytes()));
-            data.writeVarInt(length).writeBytes(compressed);
-            output.writeVarInt(data.writerIndex()).writeBytes(data.readBytes(data.readableBytes()));
-        } catch (IOException exception) {
-            throw new RuntimeException(exception);
+            while (msg.isReadable()) {
+                final int frameStart = msg.readerIndex();
+                final int length = buf.readVarInt();
+                if (length < threshold
+                        && PacketFrame.markUncompressed(msg, frameStart, msg.readerIndex() - frameStart, length)) {
+                    msg.skipBytes(length);
+                    continue;
+                }
+                if (frameStart > passed) parts.add(msg.retainedSlice(passed, frameStart - passed));
+                final ByteBuf compressed = allocator.ioBuffer();
+                parts.add(compressed);
+                msg.readerIndex(frameStart);
+                compress(deflater, msg, threshold, compressed);
+                passed = msg.readerIndex();
+            }
+        } catch (Throwable throwable) {
+            parts.forEach(ByteBuf::release);
+            msg.readerIndex(start);
+            throw throwable;
+        }
+
+        if (parts.isEmpty()) {
+            msg.readerIndex(start);
+            return msg;
         }
+        if (msg.writerIndex() > passed) parts.add(msg.retainedSlice(passed, msg.writerIndex() - passed));
+        msg.release();
+        if (parts.size() == 1) return parts.get(0);
+        return allocator.compositeBuffer(parts.size()).addComponents(true, parts);
+    }
 
+    @Override
+    public void handlerRemoved(final ChannelHandlerContext ctx) throws Exception {
+        deflater.end();
+        super.handlerRemoved(ctx);
+    }
+
+    /**
+     * Compresses a packet frame containing the packet size, ID and data, only
+     * the first frame of the buffer is read.
+     * <p>
+     * The compressed frame is written directly into the output buffer
+     * with its length prefix reserved in advance, see {@link PacketFrame}.
+     * @param deflater deflater used for the compression
+     * @param msg frame to compress
+     * @param threshold compression threshold
+     * @param out buffer to write the compressed frame into
+     */
+    public static void compress(final Deflater deflater, final ByteBuf msg, final int threshold, final ByteBuf out) {
+        final int length = new FriendlyByteBuf(msg).readVarInt();
+        final ByteBuf body = msg.readSlice(length);
+        final int start = PacketFrame.reserveLength(out);
+        final FriendlyByteBuf buf = new FriendlyByteBuf(out);
+        if (length < threshold) {
+            buf.writeVarInt(0);
+            out.writeBytes(body);
+        } else {
+            buf.writeVarInt(length);
+            ZLib.compress(deflater, body, out);
+        }
+        PacketFrame.writeLength(out, start);
     }
 
 }
@@ -0,0 +1,153 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network;
+
+import java.net.InetAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the accepted connections before any of their pipeline is created,
+ * it limits the rate of new connections from a single address and
+ * the number of connections that haven't finished their handshake yet.
+ * <p>
+ * The throttle is shared by all event loops of the server and is thread-safe.
+ */
+public class ConnectionThrottle {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final int connectionRate;
+    private final int maxPendingHandshakes;
+
+    private final Map<InetAddress, AddressBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingHandshakes = new AtomicInteger();
+
+    /**
+     * @param connectionRate maximum number of new connections per second from a single address, 0 for no limit
+     * @param maxPendingHandshakes maximum number of connections that haven't finished
+     *                             their handshake yet, 0 for no limit
+     */
+    public ConnectionThrottle(final int connectionRate, final int maxPendingHandshakes) {
+        this.connectionRate = connectionRate;
+        this.maxPendingHandshakes = maxPendingHandshakes;
+    }
+
+    /**
+     * Checks whether a new connection from given address can be accepted, if it
+     * can, it takes one of the pending handshake slots that has to be later released
+     * using {@link #releaseHandshake()}.
+     * @param address address of the connection
+     * @return whether the connection can be accepted
+     */
+    public boolean tryAccept(final InetAddress address) {
+        return tryAccept(address, System.nanoTime());
+    }
+
+    /**
+     * Checks whether a new connection from given address can be accepted.
+     * @param address address of the connection
+     * @param now current time in nanoseconds, see {@link System#nanoTime()}
+     * @return whether the connection can be accepted
+     * @see #tryAccept(InetAddress)
+     */
+    boolean tryAccept(final InetAddress address, final long now) {
+        if (connectionRate > 0) {
+            final AddressBucket bucket = buckets.computeIfAbsent(address, key -> new AddressBucket(connectionRate, now));
+            if (!bucket.tryAcquire(now)) return false;
+        }
+        if (maxPendingHandshakes <= 0) {
+            pendingHandshakes.incrementAndGet();
+            return true;
+        }
+        int pending;
+        do {
+            pending = pendingHandshakes.get();
+            if (pending >= maxPendingHandshakes) return false;
+        } while (!pendingHandshakes.compareAndSet(pending, pending + 1));
+        return true;
+    }
+
+    /**
+     * Releases the pending handshake slot taken by {@link #tryAccept(InetAddress)}.
+     */
+    public void releaseHandshake() {
+        pendingHandshakes.decrementAndGet();
+    }
+
+    /**
+     * @return number of connections that haven't finished their handshake yet
+     */
+    public int getPendingHandshakes() {
+        return pendingHandshakes.get();
+    }
+
+    /**
+     * Removes buckets of addresses that didn't connect for at least a second,
+     * such buckets are full again and don't need to be tracked.
+     */
+    public void cleanUp() {
+        cleanUp(System.nanoTime());
+    }
+
+    /**
+     * Removes buckets of addresses that didn't connect for at least a second.
+     * @param now current time in nanoseconds, see {@link System#nanoTime()}
+     */
+    void cleanUp(final long now) {
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    /**
+     * @return number of addresses whose connection rate is tracked
+     */
+    int getTrackedAddresses() {
+        return buckets.size();
+    }
+
+    /**
+     * Token bucket of a single address, holding at most tokens for a single second.
+     */
+    private static final class AddressBucket {
+
+        private final int rate;
+        private double tokens;
+        private long lastRefill;
+
+        AddressBucket(final int rate, final long now) {
+            this.rate = rate;
+            tokens = rate;
+            lastRefill = now;
+        }
+
+        synchronized boolean tryAcquire(final long now) {
+            final long elapsed = now - lastRefill;
+            if (elapsed > 0) {
+                tokens = Math.min(rate, tokens + (double) elapsed * rate / SECOND);
+                lastRefill = now;
+            }
+            if (tokens < 1) return false;
+            tokens--;
+            return true;
+        }
+
+        synchronized boolean isIdle(final long now) {
+            return now - lastRefill >= SECOND;
+        }
+
+    }
+
+}
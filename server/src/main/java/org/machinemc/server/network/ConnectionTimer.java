@@ -0,0 +1,170 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.machinemc.api.network.PlayerConnection;
+import org.machinemc.scriptive.components.TranslationComponent;
+import org.machinemc.server.Machine;
+import org.machinemc.server.exception.ClientException;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timer shared by all connections of the server, it sends the keep alive packets
+ * to the players and closes the connections that time out.
+ * <p>
+ * The timeouts are kept in a hashed timing wheel, so scheduling and expiring
+ * a timeout takes constant time regardless of the number of connections, and
+ * all of them are handled by a single thread.
+ */
+public class ConnectionTimer {
+
+    /**
+     * Duration of a single tick of the timing wheel in milliseconds.
+     */
+    public static final long TICK_DURATION = 100;
+    /**
+     * Number of buckets of the timing wheel, one round of the wheel is
+     * longer than the keep alive frequency so the keep alive tasks expire in the first round.
+     */
+    public static final int WHEEL_SIZE = 256;
+
+    private final Machine server;
+    private final HashedWheelTimer timer;
+    private final boolean shared;
+
+    /**
+     * Creates connection timer with its own timing wheel.
+     * @param server server
+     */
+    public ConnectionTimer(final Machine server) {
+        this.server = Objects.requireNonNull(server, "Server can not be null");
+        timer = new HashedWheelTimer(new DefaultThreadFactory("Connection Timer", true),
+                TICK_DURATION, TimeUnit.MILLISECONDS, WHEEL_SIZE);
+        shared = false;
+    }
+
+    /**
+     * Creates connection timer using a timing wheel shared with other servers,
+     * the shared timing wheel is not stopped together with this timer.
+     * @param server server
+     * @param timer shared timing wheel
+     */
+    public ConnectionTimer(final Machine server, final HashedWheelTimer timer) {
+        this.server = Objects.requireNonNull(server, "Server can not be null");
+        this.timer = Objects.requireNonNull(timer, "Timer can not be null");
+        shared = true;
+    }
+
+    /**
+     * Schedules a task that runs once after the delay.
+     * @param task task to run
+     * @param delay delay in milliseconds
+     * @return timeout of the task, can be used to cancel it
+     */
+    public Timeout schedule(final Runnable task, final long delay) {
+        Objects.requireNonNull(task, "Task can not be null");
+        return timer.newTimeout(timeout -> run(task), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts sending the keep alive packets to the connection in the play state
+     * every {@link NettyServer#KEEP_ALIVE_FREQ} milliseconds, the connection is disconnected
+     * in case it doesn't respond for {@link NettyServer#READ_IDLE_TIMEOUT} milliseconds.
+     * <p>
+     * The timeout is a separate entry of the timing wheel, so the connection
+     * is disconnected as soon as it times out rather than with the next keep alive packet.
+     * Keeping the connection alive stops once it leaves the play state.
+     * @param connection connection to keep alive
+     */
+    public void keepAlive(final ClientConnection connection) {
+        Objects.requireNonNull(connection, "Connection can not be null");
+        timer.newTimeout(new KeepAliveTask(connection), NettyServer.KEEP_ALIVE_FREQ, TimeUnit.MILLISECONDS);
+        timer.newTimeout(new ReadTimeoutTask(connection), NettyServer.READ_IDLE_TIMEOUT, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the timer, pending tasks are cancelled.
+     * <p>
+     * Shared timing wheel keeps running, tasks of closed connections stop on their own.
+     */
+    public void stop() {
+        if (!shared) timer.stop();
+    }
+
+    /**
+     * Runs the task, exceptions are reported to the exception handler of the server.
+     * @param task task to run
+     */
+    private void run(final Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable throwable) {
+            server.getExceptionHandler().handle(throwable);
+        }
+    }
+
+    /**
+     * Task sending a single keep alive packet, it schedules itself again
+     * for as long as the connection stays in the play state.
+     * @param connection connection to keep alive
+     */
+    private record KeepAliveTask(ClientConnection connection) implements TimerTask {
+
+        @Override
+        public void run(final Timeout timeout) {
+            if (connection.getState().orElse(null) != PlayerConnection.ClientState.PLAY) return;
+            try {
+                connection.sendKeepAlive();
+            } catch (Throwable throwable) {
+                connection.getServer().getExceptionHandler().handle(new ClientException(connection, throwable));
+                return;
+            }
+            timeout.timer().newTimeout(this, NettyServer.KEEP_ALIVE_FREQ, TimeUnit.MILLISECONDS);
+        }
+
+    }
+
+    /**
+     * Task disconnecting the connection once it doesn't respond to the keep alive
+     * packets for too long, in case the client responded since the task was scheduled,
+     * it schedules itself again for the remaining time.
+     * @param connection connection to time out
+     */
+    private record ReadTimeoutTask(ClientConnection connection) implements TimerTask {
+
+        @Override
+        public void run(final Timeout timeout) {
+            if (connection.getState().orElse(null) != PlayerConnection.ClientState.PLAY) return;
+            final long remaining = connection.getReadIdleRemaining();
+            if (remaining > 0) {
+                timeout.timer().newTimeout(this, remaining, TimeUnit.MILLISECONDS);
+                return;
+            }
+            try {
+                connection.disconnect(TranslationComponent.of("disconnect.timeout"));
+            } catch (Throwable throwable) {
+                connection.getServer().getExceptionHandler().handle(new ClientException(connection, throwable));
+            }
+        }
+
+    }
+
+}
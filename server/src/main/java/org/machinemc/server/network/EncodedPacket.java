@@ -0,0 +1,188 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.ReferenceCounted;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+import org.machinemc.api.network.packets.Packet;
+import org.machinemc.server.network.packets.ServerPacket;
+import org.machinemc.server.network.packets.out.play.PacketPlayOutBundleDelimiter;
+import org.machinemc.server.network.statistics.NetworkStatisticsImpl;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.Deflater;
+
+/**
+ * Packet that has been already encoded and can be sent to multiple
+ * connections without being serialized again.
+ * <p>
+ * Encoded packet can also hold a whole bundle of packets, in that case
+ * the frames of the packets are encoded one after another, including the delimiters.
+ * <p>
+ * Compressed frames of the packet are created lazily and are shared by all
+ * connections using the same compression threshold, only encryption
+ * is applied separately for each of the connections. The frames are compressed
+ * on the event loop of the first connection using the threshold, with the deflater
+ * of its compression encoder, so no deflater is shared between the event loops.
+ */
+public final class EncodedPacket extends AbstractReferenceCounted {
+
+    private final ByteBufAllocator allocator;
+    private final ByteBuf frame;
+    @Getter
+    private final ServerPacket.Priority priority;
+    /**
+     * Class of the encoded packet, null in case of a packet bundle.
+     */
+    @Getter
+    private final @Nullable Class<? extends Packet> packetClass;
+    private final Int2ObjectMap<ByteBuf> compressed = new Int2ObjectOpenHashMap<>();
+
+    private EncodedPacket(final ByteBufAllocator allocator,
+                          final ByteBuf frame,
+                          final ServerPacket.Priority priority,
+                          final @Nullable Class<? extends Packet> packetClass) {
+        this.allocator = allocator;
+        this.frame = frame;
+        this.priority = priority;
+        this.packetClass = packetClass;
+    }
+
+    /**
+     * Encodes the packet.
+     * @param packet packet to encode
+     * @param allocator allocator used for the encoded frames
+     * @return encoded packet
+     */
+    public static EncodedPacket encode(final ServerPacket packet, final ByteBufAllocator allocator) {
+        Objects.requireNonNull(packet, "Packet can not be null");
+        Objects.requireNonNull(allocator, "Allocator can not be null");
+        final ByteBuf frame = allocator.ioBuffer();
+        try {
+            packet.rawWrite(frame);
+        } catch (Throwable throwable) {
+            frame.release();
+            throw throwable;
+        }
+        return new EncodedPacket(allocator, frame, packet.getPriority(), packet.getClass());
+    }
+
+    /**
+     * Encodes the packets as a single packet bundle.
+     * @param packets packets of the bundle
+     * @param allocator allocator used for the encoded frames
+     * @return encoded packet bundle
+     */
+    public static EncodedPacket encodeBundle(final List<? extends ServerPacket> packets, final ByteBufAllocator allocator) {
+        Objects.requireNonNull(packets, "Packets can not be null");
+        Objects.requireNonNull(allocator, "Allocator can not be null");
+        final ByteBuf frame = allocator.ioBuffer();
+        try {
+            writeBundle(packets, frame, null);
+        } catch (Throwable throwable) {
+            frame.release();
+            throw throwable;
+        }
+        return new EncodedPacket(allocator, frame, ServerPacket.Priority.CRITICAL, null);
+    }
+
+    /**
+     * Writes frames of the packets enclosed by bundle delimiters to the buffer.
+     * @param packets packets of the bundle
+     * @param out buffer to write into
+     * @param statistics statistics to record the written packets to
+     */
+    static void writeBundle(final List<? extends ServerPacket> packets,
+                            final ByteBuf out,
+                            final @Nullable NetworkStatisticsImpl statistics) {
+        final PacketPlayOutBundleDelimiter delimiter = new PacketPlayOutBundleDelimiter();
+        delimiter.rawWrite(out);
+        for (final ServerPacket packet : packets) {
+            final int start = out.writerIndex();
+            packet.rawWrite(out);
+            if (statistics != null) statistics.recordPacketOut(packet.getClass(), out.writerIndex() - start);
+        }
+        delimiter.rawWrite(out);
+    }
+
+    /**
+     * Returns the uncompressed frame of the packet, including its size and ID.
+     * <p>
+     * The returned buffer is a retained duplicate and has to be released by the caller.
+     * @return uncompressed frame
+     */
+    public ByteBuf frame() {
+        return frame.retainedDuplicate();
+    }
+
+    /**
+     * @return size of the uncompressed frame
+     */
+    public int getFrameSize() {
+        return frame.readableBytes();
+    }
+
+    /**
+     * Returns the frame of the packet compressed with given threshold, it is compressed
+     * only once for each of the thresholds.
+     * <p>
+     * The deflater is used only if the frame has not been compressed with the threshold yet,
+     * it has to be owned by the calling thread, e.g. the deflater of the connection's compression encoder.
+     * <p>
+     * The returned buffer is a retained duplicate and has to be released by the caller.
+     * @param deflater deflater used for the compression
+     * @param threshold compression threshold
+     * @return compressed frame
+     */
+    public synchronized ByteBuf compressedFrame(final Deflater deflater, final int threshold) {
+        if (refCnt() == 0)
+            throw new IllegalStateException("Encoded packet has been already released");
+        ByteBuf cached = compressed.get(threshold);
+        if (cached == null) {
+            cached = allocator.ioBuffer();
+            try {
+                final ByteBuf frames = frame.duplicate();
+                while (frames.isReadable())
+                    CompressionEncoder.compress(deflater, frames, threshold, cached);
+            } catch (Throwable throwable) {
+                cached.release();
+                throw throwable;
+            }
+            compressed.put(threshold, cached);
+        }
+        return cached.retainedDuplicate();
+    }
+
+    @Override
+    public ReferenceCounted touch(final Object hint) {
+        frame.touch(hint);
+        return this;
+    }
+
+    @Override
+    protected synchronized void deallocate() {
+        frame.release();
+        compressed.values().forEach(ByteBuf::release);
+        compressed.clear();
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.AbstractEventExecutorGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Event loop group using only some of the event loops of another group.
+ * <p>
+ * The view doesn't own the event loops, shutting it down has no effect,
+ * the event loops are shut down together with the group they belong to.
+ */
+public class EventLoopGroupView extends AbstractEventExecutorGroup implements EventLoopGroup {
+
+    private final EventLoopGroup parent;
+    private final List<EventLoop> loops;
+    private final AtomicInteger index = new AtomicInteger();
+
+    /**
+     * @param parent group owning the event loops
+     * @param loops event loops of the view
+     */
+    public EventLoopGroupView(final EventLoopGroup parent, final List<EventLoop> loops) {
+        this.parent = Objects.requireNonNull(parent, "Parent group can not be null");
+        if (loops.isEmpty()) throw new IllegalArgumentException("Event loop group view needs at least one event loop");
+        this.loops = List.copyOf(loops);
+    }
+
+    @Override
+    public EventLoop next() {
+        return loops.get(Math.floorMod(index.getAndIncrement(), loops.size()));
+    }
+
+    @Override
+    public @NotNull Iterator<EventExecutor> iterator() {
+        return List.<EventExecutor>copyOf(loops).iterator();
+    }
+
+    @Override
+    public ChannelFuture register(final Channel channel) {
+        return next().register(channel);
+    }
+
+    @Override
+    public ChannelFuture register(final ChannelPromise promise) {
+        return next().register(promise);
+    }
+
+    @Override
+    @Deprecated
+    public ChannelFuture register(final Channel channel, final ChannelPromise promise) {
+        return next().register(channel, promise);
+    }
+
+    @Override
+    public boolean isShuttingDown() {
+        return parent.isShuttingDown();
+    }
+
+    @Override
+    public Future<?> shutdownGracefully(final long quietPeriod, final long timeout, final @NotNull TimeUnit unit) {
+        return terminationFuture();
+    }
+
+    @Override
+    public Future<?> terminationFuture() {
+        return parent.terminationFuture();
+    }
+
+    @Override
+    @Deprecated
+    public void shutdown() {
+        // event loops are owned by the parent group
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return parent.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return parent.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final @NotNull TimeUnit unit) throws InterruptedException {
+        return parent.awaitTermination(timeout, unit);
+    }
+
+}
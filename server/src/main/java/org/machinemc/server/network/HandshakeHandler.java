@@ -0,0 +1,174 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.Timeout;
+import org.jetbrains.annotations.Nullable;
+import org.machinemc.api.utils.FriendlyByteBuf;
+import org.machinemc.server.network.packets.ServerPacket;
+import org.machinemc.server.network.packets.in.handshaking.PacketHandshakingInHandshake;
+import org.machinemc.server.network.packets.in.status.PacketStatusInPing;
+import org.machinemc.server.network.packets.out.status.PacketStatusOutPong;
+
+/**
+ * Lightweight channel handler of connections that haven't finished their handshake yet.
+ * <p>
+ * Status requests are answered directly by this handler without creating a client
+ * connection for them, using the cached status response of the server, the full pipeline
+ * of the connection is installed only once the client requests to log in. Connections that
+ * don't finish the handshake or the status exchange in time are closed.
+ * <p>
+ * In case other than the default translators listen to the status packets, the status
+ * exchange goes through the full pipeline as well, so the packets reach the translators,
+ * see {@link org.machinemc.server.translation.TranslatorDispatcher#isDefaultStatus()}.
+ */
+public class HandshakeHandler extends ChannelInboundHandlerAdapter {
+
+    private static final int HANDSHAKE_ID = 0x00;
+    private static final int STATUS_REQUEST_ID = 0x00;
+    private static final int STATUS_PING_ID = 0x01;
+
+    private final NettyServer nettyServer;
+    private final long timeout;
+
+    private boolean status;
+    private boolean released;
+    private @Nullable Timeout timeoutTask;
+
+    /**
+     * @param nettyServer server of the connection
+     * @param timeout time in milliseconds after which the connection is closed
+     *                in case it doesn't finish the handshake
+     */
+    public HandshakeHandler(final NettyServer nettyServer, final long timeout) {
+        this.nettyServer = nettyServer;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void handlerAdded(final ChannelHandlerContext ctx) {
+        timeoutTask = nettyServer.getTimer().schedule(() -> ctx.channel().close(), timeout);
+    }
+
+    @Override
+    public void handlerRemoved(final ChannelHandlerContext ctx) {
+        if (timeoutTask != null) timeoutTask.cancel();
+        release();
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+        if (!(msg instanceof ByteBuf frame)) {
+            ReferenceCountUtil.release(msg);
+            return;
+        }
+        if (status) {
+            try {
+                handleStatus(ctx, frame);
+            } finally {
+                frame.release();
+            }
+            return;
+        }
+
+        final FriendlyByteBuf buf = new FriendlyByteBuf(frame);
+        final PacketHandshakingInHandshake handshake;
+        try {
+            if (buf.readVarInt() != HANDSHAKE_ID) {
+                frame.release();
+                ctx.close();
+                return;
+            }
+            handshake = new PacketHandshakingInHandshake(buf);
+        } catch (Throwable throwable) {
+            frame.release();
+            ctx.close();
+            return;
+        }
+
+        if (handshake.getHandshakeType() == PacketHandshakingInHandshake.HandshakeType.STATUS
+                && nettyServer.getServer().getTranslatorDispatcher().isDefaultStatus()) {
+            status = true;
+            frame.release();
+            return;
+        }
+
+        // the handshake frame is decoded again by the full pipeline, so it goes through the translators
+        release();
+        nettyServer.initConnection(ctx.channel());
+        frame.readerIndex(0);
+        ctx.fireChannelRead(frame);
+        ctx.pipeline().remove(this);
+    }
+
+    /**
+     * Answers the packets of the status exchange.
+     * @param ctx channel handler context
+     * @param frame frame of the received packet
+     */
+    private void handleStatus(final ChannelHandlerContext ctx, final ByteBuf frame) {
+        final FriendlyByteBuf buf = new FriendlyByteBuf(frame);
+        final int id = buf.readVarInt();
+        if (id == STATUS_REQUEST_ID) {
+            ctx.writeAndFlush(nettyServer.getStatusResponse().frame())
+                    .addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+        } else if (id == STATUS_PING_ID) {
+            write(ctx, new PacketStatusOutPong(new PacketStatusInPing(buf).getPayload()))
+                    .addListener(ChannelFutureListener.CLOSE);
+        } else {
+            ctx.close();
+        }
+    }
+
+    /**
+     * Writes the frame of the packet, the compression and encryption
+     * are never enabled during the status exchange.
+     * @param ctx channel handler context
+     * @param packet packet to write
+     * @return write future
+     */
+    private static ChannelFuture write(final ChannelHandlerContext ctx, final ServerPacket packet) {
+        final ByteBuf out = ctx.alloc().ioBuffer();
+        try {
+            packet.rawWrite(out);
+        } catch (Throwable throwable) {
+            out.release();
+            throw throwable;
+        }
+        return ctx.writeAndFlush(out);
+    }
+
+    @Override
+    public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+        // connections that haven't logged in yet are not reported, malformed data is expected from scanners
+        ctx.close();
+    }
+
+    /**
+     * Releases the pending handshake slot of the connection.
+     */
+    private void release() {
+        if (released) return;
+        released = true;
+        nettyServer.getThrottle().releaseHandshake();
+    }
+
+}
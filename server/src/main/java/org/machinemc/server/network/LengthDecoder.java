@@ -17,6 +17,7 @@ package org.machinemc.server.network;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.CorruptedFrameException;
 
 import java.util.List;
 
@@ -24,34 +25,41 @@ import static org.machinemc.api.utils.FriendlyByteBuf.*;
 
 /**
  * Channel handler that decodes the length of incoming packets.
+ * <p>
+ * Frames are emitted as retained slices of the received data, they are not copied.
+ * The length prefix is only peeked at until the whole frame is received, so incomplete
+ * frames don't require marking and resetting of the reader index.
  */
 public class LengthDecoder extends ByteToMessageDecoder {
 
     @Override
     protected void decode(final ChannelHandlerContext ctx, final ByteBuf in, final List<Object> out) {
-        in.markReaderIndex();
-        if (!in.isReadable()) return;
-
-        int length = 0;
-        int position = 0;
-        byte currentByte;
-
-        while (in.isReadable()) {
-            currentByte = in.readByte();
-            length |= (currentByte & SEGMENT_BITS) << position;
-            if (!((currentByte & CONTINUE_BIT) == 0)) {
-                position += 7;
-                if (position >= 32) throw new RuntimeException("Length VarInt for packet is too big");
-                continue;
-            }
-            if (!in.isReadable(length)) {
-                in.resetReaderIndex();
-                return;
-            }
-            out.add(in.readBytes(length));
-            return;
+        final int start = in.readerIndex();
+        final int readable = in.readableBytes();
+        if (readable == 0) return;
+
+        // most of the frames are short enough for a single byte length prefix
+        int length = in.getByte(start);
+        int prefixSize = 1;
+        if ((length & CONTINUE_BIT) != 0) {
+            length &= SEGMENT_BITS;
+            byte currentByte;
+            do {
+                if (prefixSize == PacketFrame.LENGTH_PREFIX_SIZE) {
+                    // the stream can not be recovered, the data are discarded so they are
+                    // not decoded again once the channel is closed because of the exception
+                    in.skipBytes(readable);
+                    throw new CorruptedFrameException("Length VarInt for packet is too big");
+                }
+                if (prefixSize == readable) return;
+                currentByte = in.getByte(start + prefixSize);
+                length |= (currentByte & SEGMENT_BITS) << 7 * prefixSize++;
+            } while ((currentByte & CONTINUE_BIT) != 0);
         }
-        in.resetReaderIndex();
+
+        if (readable - prefixSize < length) return;
+        in.skipBytes(prefixSize);
+        out.add(in.readRetainedSlice(length));
     }
 
 }
@@ -15,10 +15,14 @@
 package org.machinemc.server.network;
 
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -28,13 +32,24 @@ import org.machinemc.api.network.ServerConnection;
 import org.machinemc.api.network.packets.Packet;
 import org.machinemc.scriptive.components.TranslationComponent;
 import org.machinemc.server.Machine;
+import org.machinemc.server.SharedResources;
+import org.machinemc.server.file.ServerPropertiesImpl;
+import org.machinemc.server.network.packets.ServerPacket;
+import org.machinemc.server.network.packets.out.play.PacketPlayOutBundleDelimiter;
+import org.machinemc.server.network.statistics.ServerNetworkStatisticsImpl;
+import org.machinemc.server.translation.TranslatorDispatcher;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 /**
@@ -44,16 +59,89 @@ public class NettyServer implements ServerConnection {
 
     public static final int READ_IDLE_TIMEOUT = 30000;
     public static final int KEEP_ALIVE_FREQ = 20000;
+    public static final int HANDSHAKE_TIMEOUT = 10000;
+    public static final int THROTTLE_CLEAN_UP_FREQ = 10000;
 
-    private final EventLoopGroup bossGroup = new NioEventLoopGroup();
-    private final EventLoopGroup workerGroup = new NioEventLoopGroup();
+    public static final String CIPHER_DECODER = "cipher-decoder";
+    public static final String STATISTICS_HANDLER = "statistics-handler";
+    public static final String LENGTH_DECODER = "length-decoder";
+    public static final String HANDSHAKE_HANDLER = "handshake-handler";
+    public static final String COMPRESSION_DECODER = "compression-decoder";
+    public static final String PACKET_DECODER = "packet-decoder";
+    public static final String WRITE_COALESCER = "write-coalescer";
+    public static final String CIPHER_ENCODER = "cipher-encoder";
+    public static final String COMPRESSION_ENCODER = "compression-encoder";
+    public static final String PACKET_ENCODER = "packet-encoder";
+    public static final String WRITABILITY_HANDLER = "writability-handler";
+
+    @Getter
+    private final NettyTransport transport;
+    private final EventLoopGroup bossGroup;
+    private final EventLoopGroup workerGroup;
+    private final boolean tcpNoDelay;
+    private final WriteBufferWaterMark writeBufferWaterMark;
+    private final int compressionLevel;
+    @Getter
+    private final int compressionThreshold;
+    @Getter
+    private final boolean coalescingWrites;
+    private final int flushThreshold;
+    private final int movementPacketRateLimit;
+    private final int chatPacketRateLimit;
+    private final int packetRateLimit;
+    private final PacketRateLimiter.Policy packetRateLimitPolicy;
+    @Getter
+    private final ConnectionThrottle throttle;
+    @Getter
+    private final StatusResponse statusResponse;
+    @Getter
+    private final ConnectionTimer timer;
     private @Nullable ChannelFuture bindFuture;
+    private @Nullable ScheduledFuture<?> throttleCleanUp;
+    private final CoalescedFlusher coalescedFlusher = new CoalescedFlusher();
+    private @Nullable ScheduledFuture<?> flushTick;
+
+    /**
+     * Executor running the translation of packets received in the play state,
+     * each connection runs its packets in order, so a slow packet doesn't block
+     * the event loop shared with other connections.
+     * <p>
+     * The pool uses a fixed number of platform threads rather than virtual threads,
+     * the translators enter synchronized code of the server, e.g. {@code ServerWorld#getChunk},
+     * and virtual threads blocked inside of it would pin their carrier threads.
+     */
+    @Getter
+    private final ExecutorService packetExecutor = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            new DefaultThreadFactory("Packet Handler", true)
+    );
+
+    /**
+     * Executor running the cryptography of the logins, decrypting of the shared secrets and
+     * digests of the server ids, so they don't block the event loops during login storms.
+     */
+    @Getter
+    private final ExecutorService cryptoExecutor;
+
+    /**
+     * Whether the event loops, crypto executor and timer are shared with other servers
+     * of the application and shouldn't be shut down together with this server.
+     */
+    private final boolean sharedResources;
 
     @Getter
     private final Machine server;
 
+    @Getter
+    private final ServerNetworkStatisticsImpl statistics = new ServerNetworkStatisticsImpl();
+
     protected final Set<ClientConnection> connections = ConcurrentHashMap.newKeySet();
 
+    /**
+     * All open client channels, including the ones that haven't logged in yet.
+     */
+    private final ChannelGroup channels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+
     private final String ip;
     @Getter
     private final int port;
@@ -64,6 +152,40 @@ public class NettyServer implements ServerConnection {
         this.server = Objects.requireNonNull(server, "Server can not be null");
         this.ip = server.getIP();
         this.port = server.getServerPort();
+        final ServerPropertiesImpl properties = (ServerPropertiesImpl) server.getProperties();
+        transport = properties.getNetworkTransport().resolve();
+        if (transport != properties.getNetworkTransport() && properties.getNetworkTransport() != NettyTransport.AUTO)
+            server.getConsole().warning("Network transport " + properties.getNetworkTransport()
+                    + " is not available on this system, using " + transport + " instead");
+        final SharedResources shared = server.getSharedResources().orElse(null);
+        sharedResources = shared != null;
+        if (shared != null) {
+            bossGroup = shared.getBossGroup(transport);
+            workerGroup = shared.getWorkerGroup(transport, properties.getNetworkThreads());
+            cryptoExecutor = shared.getCryptoExecutor();
+            timer = new ConnectionTimer(server, shared.getTimer());
+        } else {
+            bossGroup = transport.createEventLoopGroup(1, new DefaultThreadFactory("Netty Boss"));
+            workerGroup = transport.createEventLoopGroup(properties.getNetworkThreads(), new DefaultThreadFactory("Netty Worker"));
+            cryptoExecutor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+                    new DefaultThreadFactory("Login Crypto", true));
+            timer = new ConnectionTimer(server);
+        }
+        tcpNoDelay = properties.isTCPNoDelay();
+        writeBufferWaterMark = new WriteBufferWaterMark(
+                properties.getWriteBufferLowWaterMark(),
+                properties.getWriteBufferHighWaterMark()
+        );
+        compressionLevel = properties.getCompressionLevel();
+        compressionThreshold = properties.getCompressionThreshold();
+        coalescingWrites = properties.isCoalesceWrites();
+        flushThreshold = properties.getFlushThreshold();
+        movementPacketRateLimit = properties.getMovementPacketRateLimit();
+        chatPacketRateLimit = properties.getChatPacketRateLimit();
+        packetRateLimit = properties.getPacketRateLimit();
+        packetRateLimitPolicy = properties.getPacketRateLimitPolicy();
+        statusResponse = new StatusResponse(server);
+        throttle = new ConnectionThrottle(properties.getConnectionRateLimit(), properties.getMaxPendingHandshakes());
     }
 
     @Override
@@ -86,12 +208,21 @@ public class NettyServer implements ServerConnection {
     public ChannelFuture start() {
         final ServerBootstrap bootstrap = new ServerBootstrap();
         bootstrap.group(bossGroup, workerGroup)
-                .channel(NioServerSocketChannel.class)
+                .channel(transport.getServerChannelClass())
                 .childHandler(new Initializer())
                 .option(ChannelOption.SO_BACKLOG, 128)
-                .childOption(ChannelOption.SO_KEEPALIVE, true);
+                .childOption(ChannelOption.SO_KEEPALIVE, true)
+                .childOption(ChannelOption.TCP_NODELAY, tcpNoDelay)
+                .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, writeBufferWaterMark);
         bindFuture = bootstrap.bind(getIP(), getPort()).addListener(future -> {
-            if (future.isSuccess()) running = true;
+            if (!future.isSuccess()) return;
+            running = true;
+            throttleCleanUp = bossGroup.scheduleAtFixedRate(throttle::cleanUp,
+                    THROTTLE_CLEAN_UP_FREQ, THROTTLE_CLEAN_UP_FREQ, TimeUnit.MILLISECONDS);
+            if (coalescingWrites) {
+                final long tick = 1000L / server.getTPS();
+                flushTick = bossGroup.scheduleAtFixedRate(coalescedFlusher::tick, tick, tick, TimeUnit.MILLISECONDS);
+            }
         });
         return bindFuture;
     }
@@ -100,25 +231,108 @@ public class NettyServer implements ServerConnection {
     public ChannelFuture close() {
         if (bindFuture == null) throw new UnsupportedOperationException("Server hasn't been started yet");
         final ChannelFuture future = bindFuture.channel().close();
-        workerGroup.shutdownGracefully();
-        bossGroup.shutdownGracefully();
+        channels.close();
+        if (throttleCleanUp != null) throttleCleanUp.cancel(false);
+        if (flushTick != null) flushTick.cancel(false);
+        packetExecutor.shutdown();
+        timer.stop();
+        if (!sharedResources) {
+            workerGroup.shutdownGracefully();
+            bossGroup.shutdownGracefully();
+            cryptoExecutor.shutdown();
+        }
+        future.addListener(closed -> statusResponse.invalidate());
         return future;
     }
 
     @Override
     public void broadcastPacket(final Packet packet) {
-        Objects.requireNonNull(packet, "Packet can not be null");
-        getClients().forEach(connection -> connection.send(packet));
+        broadcastPacket(packet, connection -> true);
     }
 
+    /**
+     * Sends a packet to all clients matching the predicate.
+     * <p>
+     * The packet is serialized only once into a shared buffer and each of the
+     * connections receives a retained duplicate of it, compressed frames are shared
+     * between connections with the same compression threshold. Only play packets are encoded
+     * for the connections in the play state, other packets, connections in other states and packets
+     * with outgoing translators registered are sent separately to each of the connections instead.
+     * @param packet packet to send
+     * @param predicate predicate
+     */
     @Override
     public void broadcastPacket(final Packet packet, final Predicate<PlayerConnection> predicate) {
         Objects.requireNonNull(packet, "Packet can not be null");
         Objects.requireNonNull(predicate);
-        getClients().forEach(connection -> {
-            if (predicate.test(connection))
-                connection.send(packet);
-        });
+        final TranslatorDispatcher dispatcher = server.getTranslatorDispatcher();
+        if (!(packet instanceof ServerPacket serverPacket)
+                || packet.getPacketState() != Packet.PacketState.PLAY_OUT
+                || packet.getID() == PacketPlayOutBundleDelimiter.ID
+                || dispatcher.hasOutTranslators(packet.getClass())) {
+            getClients().forEach(connection -> {
+                if (predicate.test(connection))
+                    connection.send(packet);
+            });
+            return;
+        }
+        EncodedPacket encoded = null;
+        try {
+            for (final ClientConnection connection : connections) {
+                if (!connection.isOpen() || !predicate.test(connection)) continue;
+                if (connection.getState().orElse(null) != PlayerConnection.ClientState.PLAY) {
+                    connection.send(packet);
+                    continue;
+                }
+                if (encoded == null) {
+                    final long start = System.nanoTime();
+                    encoded = EncodedPacket.encode(serverPacket, ByteBufAllocator.DEFAULT);
+                    statistics.getEncodeTimes().record(System.nanoTime() - start);
+                }
+                connection.sendEncoded(encoded);
+            }
+        } finally {
+            if (encoded != null) encoded.release();
+        }
+    }
+
+    /**
+     * Sends multiple packets in form of packet bundle to all clients matching the predicate.
+     * <p>
+     * The bundle is encoded only once for all connections in the play state,
+     * same as {@link #broadcastPacket(Packet, Predicate)}. In case there are outgoing
+     * translators registered for any of the packets, the bundle is sent separately
+     * to each of the connections instead.
+     * @param packets packets to send
+     * @param predicate predicate
+     */
+    @Override
+    public void broadcastBundle(final List<? extends Packet> packets, final Predicate<PlayerConnection> predicate) {
+        Objects.requireNonNull(packets, "Packets can not be null");
+        Objects.requireNonNull(predicate);
+        final TranslatorDispatcher dispatcher = server.getTranslatorDispatcher();
+        final List<ServerPacket> serverPackets = new ArrayList<>(packets.size());
+        for (final Packet packet : packets) {
+            if (!(packet instanceof ServerPacket serverPacket) || dispatcher.hasOutTranslators(packet.getClass()))
+                break;
+            serverPackets.add(serverPacket);
+        }
+        final boolean encodable = serverPackets.size() == packets.size();
+        EncodedPacket encoded = null;
+        try {
+            for (final ClientConnection connection : connections) {
+                if (!connection.isOpen() || !predicate.test(connection)) continue;
+                if (!encodable || connection.getState().orElse(null) != PlayerConnection.ClientState.PLAY) {
+                    connection.send(packets.toArray(new Packet[0]));
+                    continue;
+                }
+                if (encoded == null)
+                    encoded = EncodedPacket.encodeBundle(serverPackets, ByteBufAllocator.DEFAULT);
+                connection.sendEncoded(encoded);
+            }
+        } finally {
+            if (encoded != null) encoded.release();
+        }
     }
 
     @Override
@@ -129,28 +343,58 @@ public class NettyServer implements ServerConnection {
         return connection.disconnect(TranslationComponent.of("disconnect.disconnected"));
     }
 
+    /**
+     * Creates the client connection for the channel and installs its full pipeline
+     * after the handlers of the handshake.
+     * <p>
+     * This is called once the client finishes the handshake and requests to log in.
+     * @param channel channel of the connection
+     * @return created connection
+     */
+    ClientConnection initConnection(final Channel channel) {
+        final ClientConnection connection = new ClientConnection(this, channel);
+        // Decoding
+        // (Cipher) -> Length -> Compression -> Packet -> SERVER
+        // Encoding
+        // CLIENT <- (Cipher) <- (Write Coalescer) <- Compression <- Packet
+        // Cipher handlers are added once the encryption is enabled, see ClientConnection#setSecretKey
+        final ChannelPipeline pipeline = channel.pipeline();
+        pipeline.replace(STATISTICS_HANDLER, STATISTICS_HANDLER, new StatisticsHandler(connection.getStatistics()));
+        pipeline.addLast(COMPRESSION_DECODER, new CompressionDecoder(connection))
+                .addLast(PACKET_DECODER, new PacketDecoder(connection, // is last, has to handle exceptions for decoding
+                        new PacketRateLimiter(movementPacketRateLimit, chatPacketRateLimit, packetRateLimit),
+                        packetRateLimitPolicy));
+        if (coalescingWrites)
+            pipeline.addLast(WRITE_COALESCER, new WriteCoalescer(flushThreshold, coalescedFlusher));
+        pipeline.addLast(COMPRESSION_ENCODER, new CompressionEncoder(connection, compressionLevel))
+                .addLast(PACKET_ENCODER, new PacketEncoder(connection))
+                .addLast(WRITABILITY_HANDLER, new WritabilityHandler(connection));
+        connections.add(connection);
+        return connection;
+    }
+
     /**
      * Initializes incoming client connections.
+     * <p>
+     * Connections over the connection rate limit of their address or over the limit
+     * of pending handshakes are closed right away. Accepted connections start with
+     * lightweight pipeline, which answers the status requests, the client connection
+     * with its full pipeline is created only once the client requests to log in,
+     * see {@link #initConnection(Channel)}.
      */
     class Initializer extends ChannelInitializer<SocketChannel> {
         @Override
         public void initChannel(final @NotNull SocketChannel ch) {
-            final ClientConnection connection = new ClientConnection(NettyServer.this, ch);
+            if (!throttle.tryAccept(ch.remoteAddress().getAddress())) {
+                ch.close();
+                return;
+            }
             ch.config().setKeepAlive(true);
-            ch.pipeline().addLast(
-                    // Decoding
-                    // Cipher -> Length -> Compression -> Packet -> SERVER
-                    new CipherDecoder(connection),
-                    new LengthDecoder(),
-                    new CompressionDecoder(connection),
-                    new PacketDecoder(connection), // is last, has to handle exceptions for decoding
-                    // Encoding
-                    // CLIENT <- Cipher <- Compression <- Packet
-                    new CipherEncoder(connection),
-                    new CompressionEncoder(connection),
-                    new PacketEncoder(connection)
-            );
-            connections.add(connection);
+            channels.add(ch);
+            ch.pipeline()
+                    .addLast(STATISTICS_HANDLER, new StatisticsHandler(statistics))
+                    .addLast(LENGTH_DECODER, new LengthDecoder())
+                    .addLast(HANDSHAKE_HANDLER, new HandshakeHandler(NettyServer.this, HANDSHAKE_TIMEOUT));
         }
     }
 
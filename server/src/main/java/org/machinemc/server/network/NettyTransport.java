@@ -0,0 +1,111 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.incubator.channel.uring.IOUring;
+import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
+import io.netty.incubator.channel.uring.IOUringServerSocketChannel;
+import io.netty.incubator.channel.uring.IOUringSocketChannel;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Transport used by the netty server for the client connections.
+ * <p>
+ * Native transports fall back to the next available transport in case
+ * they are not supported on the current system, {@link #NIO} is always available.
+ */
+public enum NettyTransport {
+
+    /**
+     * Uses the best available transport, preferring epoll over NIO.
+     */
+    AUTO,
+    IO_URING,
+    EPOLL,
+    NIO;
+
+    /**
+     * @return whether the transport is supported on the current system
+     */
+    public boolean isAvailable() {
+        return switch (this) {
+            case AUTO, NIO -> true;
+            case IO_URING -> IOUring.isAvailable();
+            case EPOLL -> Epoll.isAvailable();
+        };
+    }
+
+    /**
+     * Returns the transport that is going to be used in place of this one,
+     * that is this transport if it is available, or its closest available fallback.
+     * @return resolved transport
+     */
+    public NettyTransport resolve() {
+        return switch (this) {
+            case AUTO -> EPOLL.resolve();
+            case IO_URING -> IO_URING.isAvailable() ? IO_URING : EPOLL.resolve();
+            case EPOLL -> EPOLL.isAvailable() ? EPOLL : NIO;
+            case NIO -> NIO;
+        };
+    }
+
+    /**
+     * Creates new event loop group for this transport.
+     * @param threads number of threads, 0 for the netty default
+     * @param threadFactory thread factory used by the group
+     * @return new event loop group
+     */
+    public EventLoopGroup createEventLoopGroup(final int threads, final ThreadFactory threadFactory) {
+        return switch (resolve()) {
+            case IO_URING -> new IOUringEventLoopGroup(threads, threadFactory);
+            case EPOLL -> new EpollEventLoopGroup(threads, threadFactory);
+            default -> new NioEventLoopGroup(threads, threadFactory);
+        };
+    }
+
+    /**
+     * @return server channel class for this transport
+     */
+    public Class<? extends ServerChannel> getServerChannelClass() {
+        return switch (resolve()) {
+            case IO_URING -> IOUringServerSocketChannel.class;
+            case EPOLL -> EpollServerSocketChannel.class;
+            default -> NioServerSocketChannel.class;
+        };
+    }
+
+    /**
+     * @return client socket channel class for this transport
+     */
+    public Class<? extends SocketChannel> getSocketChannelClass() {
+        return switch (resolve()) {
+            case IO_URING -> IOUringSocketChannel.class;
+            case EPOLL -> EpollSocketChannel.class;
+            default -> NioSocketChannel.class;
+        };
+    }
+
+}
@@ -16,24 +16,47 @@ package org.machinemc.server.network;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.ByteToMessageDecoder;
-import lombok.AllArgsConstructor;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import lombok.RequiredArgsConstructor;
 import org.machinemc.api.network.PlayerConnection;
 import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.FriendlyByteBuf;
+import org.machinemc.scriptive.components.TranslationComponent;
 import org.machinemc.server.exception.ClientException;
 import org.machinemc.server.network.packets.PacketFactory;
+import org.machinemc.server.network.statistics.ServerNetworkStatisticsImpl;
 import org.machinemc.server.translation.TranslatorDispatcher;
+import org.machinemc.server.utils.SerialExecutor;
 
 import java.util.List;
 
 /**
  * Channel handler that decodes incoming bytes to packets.
+ * <p>
+ * Packets exceeding the rate limits of the connection are rejected
+ * before they are created.
+ * <p>
+ * Reading of the connection is paused once too many play packets are waiting
+ * to be translated, and resumed after the executor of the connection catches up.
  */
-@AllArgsConstructor
-public class PacketDecoder extends ByteToMessageDecoder {
+@RequiredArgsConstructor
+public class PacketDecoder extends MessageToMessageDecoder<ByteBuf> {
+
+    /**
+     * Number of queued packets after which reading of the connection is paused.
+     */
+    public static final int HIGH_WATER_MARK = 512;
+
+    /**
+     * Number of queued packets at which the paused reading of the connection is resumed.
+     */
+    public static final int LOW_WATER_MARK = 128;
 
     private final ClientConnection connection;
+    private final PacketRateLimiter rateLimiter;
+    private final PacketRateLimiter.Policy rateLimitPolicy;
+
+    private volatile boolean readPaused;
 
     @Override
     protected void decode(final ChannelHandlerContext ctx, final ByteBuf in, final List<Object> out) throws Exception {
@@ -41,23 +64,81 @@ public class PacketDecoder extends ByteToMessageDecoder {
         final Packet.PacketState packetState = connection.getState().get().getIn();
         assert packetState != null;
 
+        final ServerNetworkStatisticsImpl statistics = connection.getNettyServer().getStatistics();
+        final int size = in.readableBytes();
+        connection.getStatistics().recordUncompressedBytesIn(size);
+
         final FriendlyByteBuf buf = new FriendlyByteBuf(in);
         final Packet packet;
+        final long start = System.nanoTime();
         try {
-            packet = PacketFactory.produce(PacketFactory.getPacketByRawID(
-                    buf.readVarInt(),
-                    packetState
-            ).orElse(null), buf).orElse(null);
-            buf.finish();
+            final int id = buf.readVarInt();
+            if (!rateLimiter.tryAcquire(packetState, id)) {
+                connection.getStatistics().recordRateLimitedPacket();
+                if (rateLimitPolicy == PacketRateLimiter.Policy.KICK && connection.isOpen())
+                    connection.disconnect(TranslationComponent.of("disconnect.exceeded_packet_rate"));
+                return;
+            }
+            packet = PacketFactory.produce(packetState, id, buf).orElse(null);
             if (packet == null) return;
         } catch (Throwable throwable) {
             return;
         }
+        statistics.getDecodeTimes().record(System.nanoTime() - start);
+        connection.getStatistics().recordPacketIn(packet.getClass(), size);
 
         final TranslatorDispatcher dispatcher = connection.getServer().getTranslatorDispatcher();
 
-        if (!dispatcher.playIn(connection, packet)) return;
-        dispatcher.playInAfter(connection, packet);
+        // packets before the play state change the state of the connection,
+        // they have to be translated before the next packet is decoded
+        if (packetState != Packet.PacketState.PLAY_IN) {
+            translate(dispatcher, packet);
+            return;
+        }
+
+        final SerialExecutor executor = connection.getExecutor();
+        executor.execute(() -> {
+            try {
+                if (!connection.isOpen()) return;
+                translate(dispatcher, packet);
+            } catch (Exception exception) {
+                connection.getServer().getExceptionHandler().handle(new ClientException(connection, exception));
+            } finally {
+                if (readPaused && executor.size() <= LOW_WATER_MARK)
+                    ctx.channel().eventLoop().execute(this::resumeReading);
+            }
+        });
+
+        if (!readPaused && executor.size() >= HIGH_WATER_MARK) {
+            readPaused = true;
+            connection.setAutoRead(false);
+            // the executor could have caught up before the flag was set
+            resumeReading();
+        }
+    }
+
+    /**
+     * Resumes the paused reading of the connection in case the executor
+     * of the connection caught up, has to be called from the event loop.
+     */
+    private void resumeReading() {
+        if (!readPaused || connection.getExecutor().size() > LOW_WATER_MARK) return;
+        readPaused = false;
+        connection.setAutoRead(true);
+    }
+
+    /**
+     * Plays the translators for the packet and records the time of the translation.
+     * @param dispatcher translator dispatcher
+     * @param packet packet to translate
+     */
+    private void translate(final TranslatorDispatcher dispatcher, final Packet packet) throws Exception {
+        final long start = System.nanoTime();
+        try {
+            dispatcher.play(connection, packet);
+        } finally {
+            connection.getNettyServer().getStatistics().getInTranslateTimes().record(System.nanoTime() - start);
+        }
     }
 
     @Override
@@ -20,6 +20,8 @@ import io.netty.handler.codec.MessageToByteEncoder;
 import lombok.AllArgsConstructor;
 import org.machinemc.api.network.PlayerConnection;
 import org.machinemc.api.network.packets.Packet;
+import org.machinemc.server.network.packets.ServerPacket;
+import org.machinemc.server.network.statistics.ServerNetworkStatisticsImpl;
 import org.machinemc.server.translation.TranslatorDispatcher;
 
 /**
@@ -36,11 +38,21 @@ public class PacketEncoder extends MessageToByteEncoder<Packet> {
         final Packet.PacketState packetState = connection.getState().get().getOut();
         assert packetState != null;
 
+        final ServerNetworkStatisticsImpl statistics = connection.getNettyServer().getStatistics();
         final TranslatorDispatcher dispatcher = connection.getServer().getTranslatorDispatcher();
-        if (!dispatcher.playOut(connection, msg)) return;
-        dispatcher.playOutAfter(connection, msg);
+        long start = System.nanoTime();
+        final boolean translated = dispatcher.play(connection, msg);
+        statistics.getOutTranslateTimes().record(System.nanoTime() - start);
+        if (!translated) return;
 
-        out.writeBytes(msg.rawSerialize());
+        start = System.nanoTime();
+        final int startIndex = out.writerIndex();
+        if (msg instanceof ServerPacket serverPacket)
+            serverPacket.rawWrite(out);
+        else
+            out.writeBytes(msg.rawSerialize());
+        statistics.getEncodeTimes().record(System.nanoTime() - start);
+        connection.getStatistics().recordPacketOut(msg.getClass(), out.writerIndex() - startIndex);
     }
 
 }
@@ -0,0 +1,104 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.EncoderException;
+
+import static org.machinemc.api.utils.FriendlyByteBuf.CONTINUE_BIT;
+import static org.machinemc.api.utils.FriendlyByteBuf.SEGMENT_BITS;
+
+/**
+ * Utility class for writing packet frames in a single pass.
+ * <p>
+ * Space for the length prefix of the frame is reserved before its content is written
+ * and is filled in as a VarInt padded to {@link #LENGTH_PREFIX_SIZE} bytes once the size
+ * of the frame is known, so the content doesn't have to be written into a temporary
+ * buffer first and copied after its length.
+ */
+public final class PacketFrame {
+
+    /**
+     * Number of bytes reserved for the length prefix of a frame, it's also
+     * the maximum size of the length prefix accepted by the client.
+     */
+    public static final int LENGTH_PREFIX_SIZE = 3;
+
+    /**
+     * Maximum size of the frame content that fits into the length prefix.
+     */
+    public static final int MAX_FRAME_SIZE = (1 << 7 * LENGTH_PREFIX_SIZE) - 1;
+
+    /**
+     * Maximum size of the frame content whose length prefix can be rewritten
+     * in place for compressed connections, see {@link #markUncompressed(ByteBuf, int, int, int)}.
+     * The packet length then has to fit into two bytes, followed by the zero data length.
+     */
+    public static final int MAX_UNCOMPRESSED_IN_PLACE = (1 << 7 * (LENGTH_PREFIX_SIZE - 1)) - 1;
+
+    private PacketFrame() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Reserves space for the length prefix of a new frame.
+     * @param out buffer to write the frame into
+     * @return index of the frame start, used to fill in the length using {@link #writeLength(ByteBuf, int)}
+     */
+    public static int reserveLength(final ByteBuf out) {
+        final int start = out.writerIndex();
+        out.writeMedium(0);
+        return start;
+    }
+
+    /**
+     * Fills in the length prefix of a frame once all its content has been written.
+     * @param out buffer containing the frame
+     * @param start index of the frame start returned by {@link #reserveLength(ByteBuf)}
+     * @return size of the frame content
+     * @throws EncoderException if the frame is too big to fit into the length prefix
+     */
+    public static int writeLength(final ByteBuf out, final int start) {
+        final int length = out.writerIndex() - start - LENGTH_PREFIX_SIZE;
+        if (length > MAX_FRAME_SIZE)
+            throw new EncoderException("Packet frame is too big (" + length + " bytes)");
+        out.setMedium(start, ((length & SEGMENT_BITS) | CONTINUE_BIT) << 16
+                | (((length >>> 7) & SEGMENT_BITS) | CONTINUE_BIT) << 8
+                | length >>> 14);
+        return length;
+    }
+
+    /**
+     * Rewrites the length prefix of a frame in place to the format of compressed connections
+     * for frames below the compression threshold, the packet length followed by zero data length.
+     * <p>
+     * This is possible only for frames with the length prefix of {@link #LENGTH_PREFIX_SIZE} bytes,
+     * whose content is shorter than {@link #MAX_UNCOMPRESSED_IN_PLACE} bytes.
+     * @param frame buffer containing the frame
+     * @param start index of the frame start
+     * @param prefixSize size of the current length prefix of the frame
+     * @param length size of the frame content
+     * @return whether the frame has been rewritten
+     */
+    public static boolean markUncompressed(final ByteBuf frame, final int start, final int prefixSize, final int length) {
+        if (prefixSize != LENGTH_PREFIX_SIZE || length >= MAX_UNCOMPRESSED_IN_PLACE) return false;
+        // packet length includes the zero data length
+        final int packetLength = length + 1;
+        frame.setShort(start, ((packetLength & SEGMENT_BITS) | CONTINUE_BIT) << 8 | packetLength >>> 7);
+        frame.setByte(start + 2, 0);
+        return true;
+    }
+
+}
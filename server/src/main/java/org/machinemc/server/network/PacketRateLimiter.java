@@ -0,0 +1,160 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network;
+
+import org.machinemc.api.network.packets.Packet;
+import org.machinemc.server.network.packets.PacketFactory;
+import org.machinemc.server.network.packets.in.play.*;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Limits the rate of incoming packets of a single connection using
+ * a token bucket for each of the packet categories.
+ * <p>
+ * The limiter is checked using only the packet id, before the packet is created,
+ * and is not thread-safe, it's expected to be used only by the event loop of the connection.
+ */
+public class PacketRateLimiter {
+
+    private static final Category[] PLAY_CATEGORIES;
+
+    static {
+        final Map<Class<? extends Packet>, Category> categories = Map.of(
+                PacketPlayInPlayerPosition.class, Category.MOVEMENT,
+                PacketPlayInPlayerPositionAndRotation.class, Category.MOVEMENT,
+                PacketPlayInPlayerRotation.class, Category.MOVEMENT,
+                PacketPlayInPlayerOnGround.class, Category.MOVEMENT,
+                PacketPlayInChatMessage.class, Category.CHAT
+        );
+        Category[] playCategories = new Category[0];
+        for (final Map.Entry<Class<? extends Packet>, Category> entry : categories.entrySet()) {
+            final int id = PacketFactory.getRawIDByPacket(entry.getKey(), Packet.PacketState.PLAY_IN);
+            if (id < 0) continue;
+            if (id >= playCategories.length) {
+                final int previous = playCategories.length;
+                playCategories = Arrays.copyOf(playCategories, id + 1);
+                Arrays.fill(playCategories, previous, playCategories.length, Category.OTHER);
+            }
+            playCategories[id] = entry.getValue();
+        }
+        PLAY_CATEGORIES = playCategories;
+    }
+
+    private final TokenBucket[] buckets = new TokenBucket[Category.values().length];
+
+    /**
+     * @param movementRate maximum number of movement packets per second, 0 for no limit
+     * @param chatRate maximum number of chat packets per second, 0 for no limit
+     * @param otherRate maximum number of other packets per second, 0 for no limit
+     */
+    public PacketRateLimiter(final int movementRate, final int chatRate, final int otherRate) {
+        buckets[Category.MOVEMENT.ordinal()] = movementRate > 0 ? new TokenBucket(movementRate) : null;
+        buckets[Category.CHAT.ordinal()] = chatRate > 0 ? new TokenBucket(chatRate) : null;
+        buckets[Category.OTHER.ordinal()] = otherRate > 0 ? new TokenBucket(otherRate) : null;
+    }
+
+    /**
+     * Takes a token for the packet with given id and state.
+     * @param state state of the packet
+     * @param id id of the packet
+     * @return whether the packet is within the rate limit
+     */
+    public boolean tryAcquire(final Packet.PacketState state, final int id) {
+        return tryAcquire(state, id, System.nanoTime());
+    }
+
+    /**
+     * Takes a token for the packet with given id and state.
+     * @param state state of the packet
+     * @param id id of the packet
+     * @param now current time in nanoseconds, see {@link System#nanoTime()}
+     * @return whether the packet is within the rate limit
+     */
+    boolean tryAcquire(final Packet.PacketState state, final int id, final long now) {
+        final TokenBucket bucket = buckets[getCategory(state, id).ordinal()];
+        return bucket == null || bucket.tryAcquire(now);
+    }
+
+    /**
+     * Returns category of a packet with given id and state.
+     * @param state state of the packet
+     * @param id id of the packet
+     * @return category of the packet
+     */
+    public static Category getCategory(final Packet.PacketState state, final int id) {
+        if (state != Packet.PacketState.PLAY_IN || id < 0 || id >= PLAY_CATEGORIES.length) return Category.OTHER;
+        return PLAY_CATEGORIES[id];
+    }
+
+    /**
+     * Categories of incoming packets with separate rate limits.
+     */
+    public enum Category {
+
+        MOVEMENT,
+        CHAT,
+        OTHER
+
+    }
+
+    /**
+     * What happens with connections exceeding the rate limit.
+     */
+    public enum Policy {
+
+        /**
+         * Packets over the limit are dropped.
+         */
+        DROP,
+        /**
+         * Connection is disconnected once it exceeds the limit.
+         */
+        KICK
+
+    }
+
+    /**
+     * Token bucket refilled with given rate, holding at most tokens for a single second.
+     */
+    private static final class TokenBucket {
+
+        private static final long SECOND = 1_000_000_000L;
+
+        private final int rate;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(final int rate) {
+            this.rate = rate;
+            tokens = rate;
+            lastRefill = System.nanoTime();
+        }
+
+        boolean tryAcquire(final long now) {
+            final long elapsed = now - lastRefill;
+            if (elapsed > 0) {
+                tokens = Math.min(rate, tokens + (double) elapsed * rate / SECOND);
+                lastRefill = now;
+            }
+            if (tokens < 1) return false;
+            tokens--;
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import lombok.AllArgsConstructor;
+import org.machinemc.server.network.statistics.NetworkStatisticsImpl;
+
+/**
+ * Channel handler that counts bytes sent and received over the network.
+ */
+@AllArgsConstructor
+public class StatisticsHandler extends ChannelDuplexHandler {
+
+    private final NetworkStatisticsImpl statistics;
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+        if (msg instanceof ByteBuf buf) statistics.recordBytesIn(buf.readableBytes());
+        super.channelRead(ctx, msg);
+    }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) throws Exception {
+        if (msg instanceof ByteBuf buf) statistics.recordBytesOut(buf.readableBytes());
+        super.write(ctx, msg, promise);
+    }
+
+}
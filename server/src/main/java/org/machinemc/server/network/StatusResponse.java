@@ -0,0 +1,125 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.jetbrains.annotations.Nullable;
+import org.machinemc.api.file.ServerProperties;
+import org.machinemc.scriptive.components.Component;
+import org.machinemc.server.Machine;
+import org.machinemc.server.network.packets.out.status.PacketStatusOutResponse;
+
+import java.util.Objects;
+
+/**
+ * Cached encoded frame of the status response of the server.
+ * <p>
+ * The frame is encoded again only once the server properties, MOTD, icon or
+ * the player count change, changes of the player count are reflected at most
+ * once per {@link #PLAYER_COUNT_REFRESH} milliseconds.
+ * <p>
+ * The cache holds a single reference to the frame, the replaced frames are released.
+ * References to the frame are taken under the same lock the frame is replaced under,
+ * so a frame is never retained once it has been released and returned to the pool.
+ */
+public class StatusResponse {
+
+    public static final long PLAYER_COUNT_REFRESH = 1000;
+
+    private final Machine server;
+    private @Nullable Entry entry;
+
+    public StatusResponse(final Machine server) {
+        this.server = Objects.requireNonNull(server, "Server can not be null");
+    }
+
+    /**
+     * Returns the encoded frame of the status response packet, including its size and ID.
+     * <p>
+     * The returned buffer is a retained duplicate of the cached frame, the caller
+     * owns the reference and has to release it, writing it to the channel does that.
+     * @return frame of the status response
+     */
+    public synchronized ByteBuf frame() {
+        Entry current = entry;
+        if (current == null || !current.isValid(server, System.nanoTime())) current = update();
+        return current.frame().retainedDuplicate();
+    }
+
+    /**
+     * Invalidates the cached frame, so it is encoded again for the next status request.
+     */
+    public synchronized void invalidate() {
+        final Entry previous = entry;
+        entry = null;
+        if (previous != null) previous.frame().release();
+    }
+
+    /**
+     * Encodes the status response again, has to be called while holding the lock.
+     * @return new cache entry
+     */
+    private Entry update() {
+        final long now = System.nanoTime();
+        final ServerProperties properties = server.getProperties();
+        final ByteBuf frame = PooledByteBufAllocator.DEFAULT.directBuffer();
+        try {
+            new PacketStatusOutResponse(server.statusJSON()).rawWrite(frame);
+        } catch (RuntimeException exception) {
+            frame.release();
+            throw exception;
+        }
+        final Entry current = new Entry(properties,
+                properties.getMOTD(),
+                properties.getEncodedIcon().orElse(null),
+                server.getPlayerManager().getPlayerCount(),
+                now,
+                frame);
+        final Entry previous = entry;
+        entry = current;
+        if (previous != null) previous.frame().release();
+        return current;
+    }
+
+    /**
+     * Encoded status response with the values it has been created from.
+     * @param properties server properties
+     * @param motd MOTD of the server
+     * @param icon encoded icon of the server
+     * @param players number of players
+     * @param created time of the creation in nanoseconds
+     * @param frame encoded frame
+     */
+    private record Entry(ServerProperties properties,
+                         Component motd,
+                         @Nullable String icon,
+                         int players,
+                         long created,
+                         ByteBuf frame) {
+
+        boolean isValid(final Machine server, final long now) {
+            final ServerProperties current = server.getProperties();
+            if (current != properties
+                    || current.getMOTD() != motd
+                    || current.getEncodedIcon().orElse(null) != icon)
+                return false;
+            return now - created < PLAYER_COUNT_REFRESH * 1_000_000L
+                    || server.getPlayerManager().getPlayerCount() == players;
+        }
+
+    }
+
+}
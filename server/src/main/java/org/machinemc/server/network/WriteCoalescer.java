@@ -0,0 +1,90 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Channel handler that flushes the written data once per tick, or sooner
+ * in case the amount of the written data reaches the flush threshold.
+ * <p>
+ * This lets the connection write the packets without flushing each of them,
+ * which saves a system call per packet. The tick flushes are run by the
+ * {@link CoalescedFlusher} shared by all connections of the server.
+ */
+public class WriteCoalescer extends ChannelOutboundHandlerAdapter {
+
+    private final int flushThreshold;
+    private final CoalescedFlusher flusher;
+
+    private @Nullable ChannelHandlerContext ctx;
+    private int pendingBytes;
+    private boolean dirty;
+
+    /**
+     * @param flushThreshold number of written bytes after which the data is flushed immediately
+     * @param flusher flusher running the tick flushes
+     */
+    public WriteCoalescer(final int flushThreshold, final CoalescedFlusher flusher) {
+        this.flushThreshold = flushThreshold;
+        this.flusher = flusher;
+    }
+
+    @Override
+    public void handlerAdded(final ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void handlerRemoved(final ChannelHandlerContext ctx) {
+        flusher.remove(ctx.executor(), this);
+        dirty = false;
+        this.ctx = null;
+    }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+        // counts at least one byte, so empty messages are flushed with the next tick as well
+        pendingBytes += msg instanceof ByteBuf buf ? Math.max(buf.readableBytes(), 1) : 1;
+        ctx.write(msg, promise);
+        if (pendingBytes >= flushThreshold) {
+            flush(ctx);
+            return;
+        }
+        if (!dirty) {
+            dirty = true;
+            flusher.markDirty(ctx.executor(), this);
+        }
+    }
+
+    @Override
+    public void flush(final ChannelHandlerContext ctx) {
+        pendingBytes = 0;
+        ctx.flush();
+    }
+
+    /**
+     * Flushes the data written since the last flush, called by the flusher once per tick.
+     */
+    void flushPending() {
+        dirty = false;
+        if (ctx != null && pendingBytes > 0) flush(ctx);
+    }
+
+}
@@ -16,34 +16,83 @@ package org.machinemc.server.network.packets;
 
 import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.FriendlyByteBuf;
-import org.machinemc.server.utils.ClassUtils;
+import org.machinemc.api.utils.ServerBuffer;
 
-import java.io.IOException;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handles the creation of Packet instances.
+ * <p>
+ * Packets of the server are registered from the generated {@link PacketRegistry},
+ * additional packets can be registered at runtime, see {@link PacketIn} and {@link PacketOut}.
  */
 public final class PacketFactory {
 
-    static final Map<Class<? extends Packet>, PacketCreator<? extends Packet>> CREATORS = new HashMap<>();
+    private static final Map<Class<? extends Packet>, PacketCreator<? extends Packet>> CREATORS = new ConcurrentHashMap<>();
 
-    static final Map<Integer, Class<? extends Packet>> IN_MAPPING = new HashMap<>();
-    static final Map<Class<? extends Packet>, Integer> OUT_MAPPING = new HashMap<>();
+    /**
+     * Packet classes by their id including the mask of the packet state.
+     */
+    private static final Map<Integer, Class<? extends Packet>> CLASSES = new ConcurrentHashMap<>();
+
+    /**
+     * Ids of the packets including the mask of the packet state by their classes.
+     */
+    private static final Map<Class<? extends Packet>, Integer> IDS = new ConcurrentHashMap<>();
+
+    /**
+     * Creators of incoming packets indexed by the ordinal of their state and their raw id,
+     * used for the lookup of packets decoded from the client.
+     * <p>
+     * The arrays are never modified once published, registration of a packet
+     * publishes their copy instead.
+     */
+    private static volatile PacketCreator<?>[][] inCreators = new PacketCreator<?>[Packet.PacketState.values().length][0];
 
     static {
-        try {
-            ClassUtils.loadClasses(PacketFactory.class.getPackageName());
-        } catch (IOException ignored) { }
+        for (final Packet.PacketState state : Packet.PacketState.values()) {
+            final int ordinal = state.ordinal();
+            @SuppressWarnings("unchecked")
+            final Class<? extends Packet>[] classes = PacketRegistry.CLASSES[ordinal];
+            final int[] ids = PacketRegistry.IDS[ordinal];
+            final PacketCreator<?>[] creators = PacketRegistry.CREATORS[ordinal];
+            for (int i = 0; i < classes.length; i++)
+                register(classes[i], ids[i], state, creators[i]);
+        }
     }
 
     private PacketFactory() {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Registers mapping and creator of a packet.
+     * @param packetClass class of the packet
+     * @param id mapped id by Mojang
+     * @param state state of the packet
+     * @param creator creator of the packet
+     */
+    static synchronized void register(final Class<? extends Packet> packetClass,
+                                      final int id,
+                                      final Packet.PacketState state,
+                                      final PacketCreator<? extends Packet> creator) {
+        final int fullID = id | state.getMask();
+        CREATORS.put(packetClass, creator);
+        CLASSES.put(fullID, packetClass);
+        IDS.put(packetClass, fullID);
+        if (!Packet.PacketState.in().contains(state)) return;
+        final PacketCreator<?>[][] updated = inCreators.clone();
+        final PacketCreator<?>[] creators = Arrays.copyOf(updated[state.ordinal()],
+                Math.max(id + 1, updated[state.ordinal()].length));
+        creators[id] = creator;
+        updated[state.ordinal()] = creators;
+        inCreators = updated;
+    }
+
     /**
      * Creates new instance of a packet of provided class using the {@link FriendlyByteBuf}.
      * @param packetClass class reference of the packet
@@ -56,19 +105,30 @@ public final class PacketFactory {
         return Optional.ofNullable(creator.create(Objects.requireNonNull(buf)));
     }
 
+    /**
+     * Creates new instance of an incoming packet with given Mojang mapped id and state
+     * using the {@link ServerBuffer}.
+     * <p>
+     * Unlike {@link #produce(Class, FriendlyByteBuf)} this doesn't require the lookup
+     * of the packet class, the creator is resolved from an array indexed by the packet id.
+     * @param state state of the packet
+     * @param id id of the packet
+     * @param buf buffer containing the packet data
+     * @return instance of the packet
+     */
+    public static Optional<Packet> produce(final Packet.PacketState state, final int id, final ServerBuffer buf) {
+        final PacketCreator<?>[] creators = inCreators[state.ordinal()];
+        if (id < 0 || id >= creators.length || creators[id] == null) return Optional.empty();
+        return Optional.ofNullable(creators[id].create(Objects.requireNonNull(buf)));
+    }
+
     /**
      * Returns class of the PacketIn from mapped packet id.
      * @param id id of the packet, including the mask of packet state
      * @return class of the packet
      */
     public static Optional<Class<? extends Packet>> getPacketInByID(final int id) {
-        final Class<? extends Packet> in = IN_MAPPING.get(id);
-        if (in != null) return Optional.of(in);
-        for (final Map.Entry<Class<? extends Packet>, Integer> entry : OUT_MAPPING.entrySet()) {
-            if (entry.getValue() != id) continue;
-            return Optional.ofNullable(entry.getKey());
-        }
-        return Optional.empty();
+        return Optional.ofNullable(CLASSES.get(id));
     }
 
     /**
@@ -80,13 +140,7 @@ public final class PacketFactory {
     public static Optional<Class<? extends Packet>> getPacketByRawID(final int id,
                                                                      final ServerPacket.PacketState state) {
         Objects.requireNonNull(state);
-        final Class<? extends Packet> in = IN_MAPPING.get(id | state.getMask());
-        if (in != null) return Optional.of(in);
-        for (final Map.Entry<Class<? extends Packet>, Integer> entry : OUT_MAPPING.entrySet()) {
-            if (entry.getValue() != (id | state.getMask())) continue;
-            return Optional.ofNullable(entry.getKey());
-        }
-        return Optional.empty();
+        return Optional.ofNullable(CLASSES.get(id | state.getMask()));
     }
 
     /**
@@ -95,13 +149,7 @@ public final class PacketFactory {
      * @return id of the packet, -1 if it doesn't exist
      */
     public static int getIDByPacket(final Class<? extends Packet> packetClass) {
-        final Integer out = OUT_MAPPING.get(packetClass);
-        if (out != null) return out;
-        for (final Map.Entry<Integer, Class<? extends Packet>> entry : IN_MAPPING.entrySet()) {
-            if (entry.getValue() != packetClass) continue;
-            return entry.getKey();
-        }
-        return -1;
+        return IDS.getOrDefault(packetClass, -1);
     }
 
     /**
@@ -113,13 +161,9 @@ public final class PacketFactory {
     public static int getRawIDByPacket(final Class<? extends Packet> packetClass,
                                        final ServerPacket.PacketState state) {
         Objects.requireNonNull(state);
-        final Integer out = OUT_MAPPING.get(packetClass);
-        if (out != null) return out & ~state.getMask();
-        for (final Map.Entry<Integer, Class<? extends Packet>> entry : IN_MAPPING.entrySet()) {
-            if (entry.getValue() != packetClass) continue;
-            return entry.getKey() & ~state.getMask();
-        }
-        return -1;
+        final Integer id = IDS.get(packetClass);
+        if (id == null) return -1;
+        return id & ~state.getMask();
     }
 
     /**
@@ -128,14 +172,9 @@ public final class PacketFactory {
      * @return state of the packets of given class
      */
     public static Optional<Packet.PacketState> getRegisteredState(final Class<? extends Packet> packetClass) {
-        final Integer out = OUT_MAPPING.get(packetClass);
-        if (out != null)
-            return Packet.PacketState.fromMask(out >> Packet.PacketState.OFFSET);
-        for (final Map.Entry<Integer, Class<? extends Packet>> entry : IN_MAPPING.entrySet()) {
-            if (entry.getValue() != packetClass) continue;
-            return Packet.PacketState.fromMask(entry.getKey() & (0b111 << Packet.PacketState.OFFSET));
-        }
-        return Optional.empty();
+        final Integer id = IDS.get(packetClass);
+        if (id == null) return Optional.empty();
+        return Packet.PacketState.fromMask(id & (0b111 << Packet.PacketState.OFFSET));
     }
 
 }
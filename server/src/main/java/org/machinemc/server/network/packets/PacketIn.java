@@ -22,7 +22,8 @@ import java.util.Objects;
 public abstract class PacketIn extends ServerPacket {
 
     /**
-     * Creates mapping and creator for the packet. Each PacketIn has to call this in static block.
+     * Creates mapping and creator for the packet, used for packets registered at runtime,
+     * packets of the server are registered from the generated {@link PacketRegistry}.
      * @param packetClass class reference of the packet
      * @param id mapped id by Mojang
      * @param state state of the packet
@@ -37,9 +38,7 @@ public abstract class PacketIn extends ServerPacket {
         Objects.requireNonNull(creator, "Packet creator can not be null");
         if (!PacketState.in().contains(state))
             throw new IllegalStateException("Packet of state " + state + " can not be registered as PacketIn");
-        final int fullID = id | state.getMask();
-        PacketFactory.IN_MAPPING.put(fullID, packetClass);
-        PacketFactory.CREATORS.put(packetClass, creator);
+        PacketFactory.register(packetClass, id, state, creator);
     }
 
     /**
@@ -22,7 +22,8 @@ import java.util.Objects;
 public abstract class PacketOut extends ServerPacket {
 
     /**
-     * Creates mapping and creator for the packet. Each PacketOut has to call this in static block.
+     * Creates mapping and creator for the packet, used for packets registered at runtime,
+     * packets of the server are registered from the generated {@link PacketRegistry}.
      * @param packetClass class reference of the packet
      * @param id mapped id by Mojang
      * @param state state of the packet
@@ -37,9 +38,7 @@ public abstract class PacketOut extends ServerPacket {
         Objects.requireNonNull(creator, "Packet creator can not be null");
         if (!PacketState.out().contains(state))
             throw new IllegalStateException("Packet of state " + state + " can not be registered as PacketOut");
-        final int fullID = id | state.getMask();
-        PacketFactory.OUT_MAPPING.put(packetClass, fullID);
-        PacketFactory.CREATORS.put(packetClass, creator);
+        PacketFactory.register(packetClass, id, state, creator);
     }
 
     /**
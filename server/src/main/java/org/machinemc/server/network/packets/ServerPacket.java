@@ -14,13 +14,19 @@
  */
 package org.machinemc.server.network.packets;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.FriendlyByteBuf;
+import org.machinemc.api.utils.ServerBuffer;
+import org.machinemc.api.utils.Writable;
+import org.machinemc.server.network.PacketFrame;
 
 /**
  * Default packet implementation.
  */
-public abstract class ServerPacket implements Packet {
+public abstract class ServerPacket implements Packet, Writable {
 
     /**
      * @return mapped ID of the packet
@@ -33,6 +39,28 @@ public abstract class ServerPacket implements Packet {
      */
     public abstract byte[] serialize();
 
+    /**
+     * Writes the packet data, without packet size and ID, to the given buffer.
+     * <p>
+     * By default this falls back to the legacy {@link #serialize()}, packets
+     * sent frequently should override this method and write their data
+     * directly into the buffer instead.
+     * @param buf buffer to write into
+     */
+    @Override
+    public void write(final ServerBuffer buf) {
+        buf.writeBytes(serialize());
+    }
+
+    /**
+     * Returns priority of the packet, it decides how the packet is handled
+     * when the connection it is sent to can't keep up with the outgoing data.
+     * @return priority of the packet
+     */
+    public Priority getPriority() {
+        return Priority.CRITICAL;
+    }
+
     /**
      * @return clone of the packet
      */
@@ -43,15 +71,27 @@ public abstract class ServerPacket implements Packet {
      * @return serialized packet
      */
     public byte[] rawSerialize() {
-        final byte[] id = new FriendlyByteBuf()
-                .writeVarInt(getID())
-                .bytes();
-        final byte[] data = serialize();
-        return new FriendlyByteBuf()
-                .writeVarInt(id.length + data.length)
-                .writeBytes(id)
-                .writeBytes(data)
-                .bytes();
+        final ByteBuf buf = Unpooled.buffer();
+        try {
+            rawWrite(buf);
+            return ByteBufUtil.getBytes(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * Writes the full packet including size and ID directly into the given buffer.
+     * <p>
+     * The packet is written as a single frame in a single pass, see {@link PacketFrame}.
+     * @param out buffer to write the packet into
+     */
+    public void rawWrite(final ByteBuf out) {
+        final int start = PacketFrame.reserveLength(out);
+        final FriendlyByteBuf buf = new FriendlyByteBuf(out);
+        buf.writeVarInt(getID());
+        write(buf);
+        PacketFrame.writeLength(out, start);
     }
 
     @Override
@@ -59,4 +99,29 @@ public abstract class ServerPacket implements Packet {
         return getClass().getSimpleName();
     }
 
+    /**
+     * Priority classes of the outgoing packets.
+     */
+    public enum Priority {
+
+        /**
+         * Packets that are always sent.
+         */
+        CRITICAL,
+        /**
+         * Movement of entities, always sent as the updates are relative to each other.
+         */
+        MOVEMENT,
+        /**
+         * Chunk packets, sending is paused while the connection is saturated.
+         */
+        CHUNK,
+        /**
+         * Visual only packets such as animations, particles or head rotation,
+         * dropped while the connection is saturated.
+         */
+        COSMETIC
+
+    }
+
 }
@@ -19,6 +19,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.server.network.packets.PacketIn;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 import org.machinemc.api.utils.ServerBuffer;
 import org.jetbrains.annotations.Range;
@@ -31,19 +32,13 @@ import java.nio.charset.StandardCharsets;
 @AllArgsConstructor
 public class PacketHandshakingInHandshake extends PacketIn {
 
-    private static final int ID = 0x00;
+    private static final int ID = PacketRegistry.HANDSHAKING_IN_HANDSHAKE;
 
     private int protocolVersion;
     private String serverAddress;
     private int serverPort;
     private HandshakeType handshakeType;
 
-    static {
-        register(PacketHandshakingInHandshake.class, ID, PacketState.HANDSHAKING_IN,
-                PacketHandshakingInHandshake::new
-        );
-    }
-
     public PacketHandshakingInHandshake(final ServerBuffer buf) {
         protocolVersion = buf.readVarInt();
         serverAddress = buf.readString(StandardCharsets.UTF_8);
@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.machinemc.api.utils.FriendlyByteBuf;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketIn;
+import org.machinemc.server.network.packets.PacketRegistry;
 
 @Getter
 @Setter
@@ -28,16 +29,11 @@ import org.machinemc.server.network.packets.PacketIn;
 @AllArgsConstructor
 public class PacketLoginInEncryptionResponse extends PacketIn {
 
-    private static final int ID = 0x01;
+    private static final int ID = PacketRegistry.LOGIN_IN_ENCRYPTION_RESPONSE;
 
     private byte[] secret;
     private byte[] verifyToken;
 
-    static {
-        register(PacketLoginInEncryptionResponse.class, ID, PacketState.LOGIN_IN,
-                PacketLoginInEncryptionResponse::new);
-    }
-
     public PacketLoginInEncryptionResponse(final ServerBuffer buf) {
         secret = buf.readByteArray();
         verifyToken = buf.readByteArray();
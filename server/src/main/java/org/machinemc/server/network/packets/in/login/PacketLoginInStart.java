@@ -19,6 +19,7 @@ import org.jetbrains.annotations.Nullable;
 import org.machinemc.api.utils.FriendlyByteBuf;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketIn;
+import org.machinemc.server.network.packets.PacketRegistry;
 
 import java.nio.charset.StandardCharsets;
 import java.util.UUID;
@@ -29,18 +30,12 @@ import java.util.UUID;
 @AllArgsConstructor
 public class PacketLoginInStart extends PacketIn {
 
-    private static final int ID = 0x00;
+    private static final int ID = PacketRegistry.LOGIN_IN_START;
 
     private String username;
     @Getter(AccessLevel.NONE)
     private @Nullable UUID uuid;
 
-    static {
-        register(PacketLoginInStart.class, ID, PacketState.LOGIN_IN,
-                PacketLoginInStart::new
-        );
-    }
-
     public PacketLoginInStart(final ServerBuffer buf) {
         username = buf.readString(StandardCharsets.UTF_8);
         uuid = buf.readOptional(ServerBuffer::readUUID).orElse(null);
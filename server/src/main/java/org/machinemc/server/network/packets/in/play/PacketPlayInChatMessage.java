@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.jetbrains.annotations.Nullable;
 import org.machinemc.server.chat.MessageSignature;
 import org.machinemc.server.network.packets.PacketIn;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 import org.machinemc.api.utils.ServerBuffer;
 
@@ -34,7 +35,7 @@ import java.util.BitSet;
 @AllArgsConstructor
 public class PacketPlayInChatMessage extends PacketIn {
 
-    private static final int ID = 0x05;
+    private static final int ID = PacketRegistry.PLAY_IN_CHAT_MESSAGE;
 
     private static final int BITSET_SIZE = 20;
 
@@ -45,11 +46,6 @@ public class PacketPlayInChatMessage extends PacketIn {
     private int messageCount;
     private BitSet acknowledged;
 
-    static {
-        register(PacketPlayInChatMessage.class, ID, PacketState.PLAY_IN,
-                PacketPlayInChatMessage::new);
-    }
-
     public PacketPlayInChatMessage(final ServerBuffer buf) {
         message = buf.readString(StandardCharsets.UTF_8);
         timestamp = buf.readInstant();
@@ -22,6 +22,7 @@ import org.machinemc.api.chat.ChatMode;
 import org.machinemc.api.entities.player.Hand;
 import org.machinemc.api.entities.player.SkinPart;
 import org.machinemc.server.network.packets.PacketIn;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 import org.machinemc.api.utils.ServerBuffer;
 
@@ -34,7 +35,7 @@ import java.util.Set;
 @AllArgsConstructor
 public class PacketPlayInClientInformation extends PacketIn {
 
-    private static final int ID = 0x08;
+    private static final int ID = PacketRegistry.PLAY_IN_CLIENT_INFORMATION;
 
     private String locale;
     private byte viewDistance;
@@ -45,11 +46,6 @@ public class PacketPlayInClientInformation extends PacketIn {
     private boolean enableTextFiltering;
     private boolean allowServerListings;
 
-    static {
-        register(PacketPlayInClientInformation.class, ID, PacketState.PLAY_IN,
-                PacketPlayInClientInformation::new);
-    }
-
     public PacketPlayInClientInformation(final ServerBuffer buf) {
         locale = buf.readString(StandardCharsets.UTF_8);
         viewDistance = buf.readByte();
@@ -20,18 +20,14 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketIn;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayInConfirmTeleportation extends PacketIn {
 
-    private static final int ID = 0x00;
-
-    static {
-        register(PacketPlayInConfirmTeleportation.class, ID, PacketState.PLAY_IN,
-                PacketPlayInConfirmTeleportation::new);
-    }
+    private static final int ID = PacketRegistry.PLAY_IN_CONFIRM_TELEPORTATION;
 
     @Getter @Setter
     private int teleportID;
@@ -19,6 +19,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.server.network.packets.PacketIn;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 import org.machinemc.api.utils.ServerBuffer;
 
@@ -26,16 +27,11 @@ import org.machinemc.api.utils.ServerBuffer;
 @AllArgsConstructor
 public class PacketPlayInKeepAlive extends PacketIn {
 
-    private static final int ID = 0x12;
+    private static final int ID = PacketRegistry.PLAY_IN_KEEP_ALIVE;
 
     @Getter @Setter
     private long keepAliveID;
 
-    static {
-        register(PacketPlayInKeepAlive.class, ID, PacketState.PLAY_IN,
-                PacketPlayInKeepAlive::new);
-    }
-
     public PacketPlayInKeepAlive(final ServerBuffer buf) {
         keepAliveID = buf.readLong();
     }
@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.machinemc.api.utils.FriendlyByteBuf;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketIn;
+import org.machinemc.server.network.packets.PacketRegistry;
 
 @Getter
 @Setter
@@ -28,12 +29,7 @@ import org.machinemc.server.network.packets.PacketIn;
 @AllArgsConstructor
 public class PacketPlayInMessageAcknowledgment extends PacketIn {
 
-    private static final int ID = 0x03;
-
-    static {
-        register(PacketPlayInMessageAcknowledgment.class, ID, PacketState.PLAY_IN,
-                PacketPlayInMessageAcknowledgment::new);
-    }
+    private static final int ID = PacketRegistry.PLAY_IN_MESSAGE_ACKNOWLEDGMENT;
 
     private int offset;
 
@@ -20,6 +20,7 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketIn;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -28,12 +29,7 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayInPlayerOnGround extends PacketIn {
 
-    private static final int ID = 0x17;
-
-    static {
-        register(PacketPlayInPlayerOnGround.class, ID, PacketState.PLAY_IN,
-                PacketPlayInPlayerOnGround::new);
-    }
+    private static final int ID = PacketRegistry.PLAY_IN_PLAYER_ON_GROUND;
 
     private boolean onGround;
 
@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.api.world.EntityPosition;
 import org.machinemc.server.network.packets.PacketIn;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -29,12 +30,7 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayInPlayerPositionAndRotation extends PacketIn {
 
-    private static final int ID = 0x15;
-
-    static {
-        register(PacketPlayInPlayerPositionAndRotation.class, ID, PacketState.PLAY_IN,
-                PacketPlayInPlayerPositionAndRotation::new);
-    }
+    private static final int ID = PacketRegistry.PLAY_IN_PLAYER_POSITION_AND_ROTATION;
 
     private EntityPosition position;
     private boolean onGround;
@@ -20,6 +20,7 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketIn;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -28,12 +29,7 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayInPlayerRotation extends PacketIn {
 
-    private static final int ID = 0x16;
-
-    static {
-        register(PacketPlayInPlayerRotation.class, ID, PacketState.PLAY_IN,
-                PacketPlayInPlayerRotation::new);
-    }
+    private static final int ID = PacketRegistry.PLAY_IN_PLAYER_ROTATION;
 
     private float yaw, pitch;
     private boolean onGround;
@@ -19,6 +19,7 @@ import org.machinemc.api.auth.PublicKeyData;
 import org.machinemc.api.utils.FriendlyByteBuf;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketIn;
+import org.machinemc.server.network.packets.PacketRegistry;
 
 import java.util.UUID;
 
@@ -27,12 +28,7 @@ import java.util.UUID;
 @Getter @Setter
 public class PacketPlayInPlayerSession extends PacketIn {
 
-    private static final int ID = 0x06;
-
-    static {
-        register(PacketPlayInPlayerSession.class, ID, PacketState.PLAY_IN,
-                PacketPlayInPlayerSession::new);
-    }
+    private static final int ID = PacketRegistry.PLAY_IN_PLAYER_SESSION;
 
     @Getter(AccessLevel.NONE)
     private UUID sessionId;
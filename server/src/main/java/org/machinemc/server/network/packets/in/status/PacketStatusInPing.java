@@ -19,6 +19,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.server.network.packets.PacketIn;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 import org.machinemc.api.utils.ServerBuffer;
 
@@ -26,17 +27,11 @@ import org.machinemc.api.utils.ServerBuffer;
 @AllArgsConstructor
 public class PacketStatusInPing extends PacketIn {
 
-    private static final int ID = 0x01;
+    private static final int ID = PacketRegistry.STATUS_IN_PING;
 
     @Getter @Setter
     private long payload;
 
-    static {
-        register(PacketStatusInPing.class, ID, PacketState.STATUS_IN,
-                PacketStatusInPing::new
-        );
-    }
-
     public PacketStatusInPing(final ServerBuffer buf) {
         payload = buf.readLong();
     }
@@ -17,6 +17,7 @@ package org.machinemc.server.network.packets.in.status;
 import lombok.AllArgsConstructor;
 import lombok.ToString;
 import org.machinemc.server.network.packets.PacketIn;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 import org.machinemc.api.utils.ServerBuffer;
 
@@ -24,13 +25,7 @@ import org.machinemc.api.utils.ServerBuffer;
 @AllArgsConstructor
 public class PacketStatusInRequest extends PacketIn {
 
-    private static final int ID = 0x00;
-
-    static {
-        register(PacketStatusInRequest.class, ID, PacketState.STATUS_IN,
-                PacketStatusInRequest::new
-        );
-    }
+    private static final int ID = PacketRegistry.STATUS_IN_REQUEST;
 
     public PacketStatusInRequest(final ServerBuffer buf) {
 
@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.machinemc.scriptive.components.Component;
 import org.machinemc.scriptive.serialization.ComponentProperties;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 import org.machinemc.api.utils.ServerBuffer;
 
@@ -28,13 +29,7 @@ import org.machinemc.api.utils.ServerBuffer;
 @AllArgsConstructor
 public class PacketLoginOutDisconnect extends PacketOut {
 
-    private static final int ID = 0x00;
-
-    static {
-        register(PacketLoginOutDisconnect.class, ID, PacketState.LOGIN_OUT,
-                PacketLoginOutDisconnect::new
-        );
-    }
+    private static final int ID = PacketRegistry.LOGIN_OUT_DISCONNECT;
 
     @Getter @Setter
     private ComponentProperties message;
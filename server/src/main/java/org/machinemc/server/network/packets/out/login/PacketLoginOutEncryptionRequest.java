@@ -19,6 +19,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 import org.machinemc.api.utils.ServerBuffer;
 
@@ -30,7 +31,7 @@ import java.nio.charset.StandardCharsets;
 @AllArgsConstructor
 public class PacketLoginOutEncryptionRequest extends PacketOut {
 
-    private static final int ID = 0x01;
+    private static final int ID = PacketRegistry.LOGIN_OUT_ENCRYPTION_REQUEST;
 
     public static final String SERVER_ID = ""; // always empty
 
@@ -38,11 +39,6 @@ public class PacketLoginOutEncryptionRequest extends PacketOut {
     private byte[] publicKey;
     private byte[] verifyToken;
 
-    static {
-        register(PacketLoginOutEncryptionRequest.class, ID, PacketState.LOGIN_OUT,
-                PacketLoginOutEncryptionRequest::new);
-    }
-
     public PacketLoginOutEncryptionRequest(final ServerBuffer buf) {
         buf.readString(StandardCharsets.UTF_8); // reading serverID
         publicKey = buf.readByteArray();
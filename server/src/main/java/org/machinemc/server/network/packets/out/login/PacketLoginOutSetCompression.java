@@ -19,6 +19,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 import org.machinemc.api.utils.ServerBuffer;
 
@@ -26,17 +27,11 @@ import org.machinemc.api.utils.ServerBuffer;
 @AllArgsConstructor
 public class PacketLoginOutSetCompression extends PacketOut {
 
-    private static final int ID = 0x03;
+    private static final int ID = PacketRegistry.LOGIN_OUT_SET_COMPRESSION;
 
     @Getter @Setter
     private int threshold;
 
-    static {
-        register(PacketLoginOutSetCompression.class, ID, PacketState.LOGIN_OUT,
-                PacketLoginOutSetCompression::new
-        );
-    }
-
     public PacketLoginOutSetCompression(final ServerBuffer buf) {
         threshold = buf.readVarInt();
     }
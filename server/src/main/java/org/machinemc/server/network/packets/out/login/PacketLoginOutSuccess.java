@@ -21,6 +21,7 @@ import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.FriendlyByteBuf;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 
 import java.nio.charset.StandardCharsets;
 import java.util.UUID;
@@ -31,19 +32,13 @@ import java.util.UUID;
 @AllArgsConstructor
 public class PacketLoginOutSuccess extends PacketOut {
 
-    private static final int ID = 0x02;
+    private static final int ID = PacketRegistry.LOGIN_OUT_SUCCESS;
 
     @Getter(AccessLevel.NONE)
     private UUID uuid;
     private String userName;
     private @Nullable PlayerTextures textures;
 
-    static {
-        register(PacketLoginOutSuccess.class, ID, Packet.PacketState.LOGIN_OUT,
-                PacketLoginOutSuccess::new
-        );
-    }
-
     public PacketLoginOutSuccess(final ServerBuffer buf) {
         uuid = buf.readUUID();
         userName = buf.readString(StandardCharsets.UTF_8);
@@ -21,22 +21,18 @@ import lombok.ToString;
 import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutAcknowledgeBlockChange extends PacketOut {
 
-    private static final int ID = 0x06;
+    private static final int ID = PacketRegistry.PLAY_OUT_ACKNOWLEDGE_BLOCK_CHANGE;
 
     @Getter @Setter
     private int sequenceID;
 
-    static {
-        register(PacketPlayOutAcknowledgeBlockChange.class, ID, Packet.PacketState.PLAY_OUT,
-                PacketPlayOutAcknowledgeBlockChange::new);
-    }
-
     public PacketPlayOutAcknowledgeBlockChange(final ServerBuffer buf) {
         sequenceID = buf.readVarInt();
     }
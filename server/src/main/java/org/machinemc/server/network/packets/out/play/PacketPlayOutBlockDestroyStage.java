@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.api.world.BlockPosition;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -29,17 +30,12 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutBlockDestroyStage extends PacketOut {
 
-    private static final int ID = 0x07;
+    private static final int ID = PacketRegistry.PLAY_OUT_BLOCK_DESTROY_STAGE;
 
     private int entityID;
     private BlockPosition position;
     private byte destroyStage;
 
-    static {
-        register(PacketPlayOutBlockDestroyStage.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutBlockDestroyStage::new);
-    }
-
     public PacketPlayOutBlockDestroyStage(final ServerBuffer buf) {
         entityID = buf.readVarInt();
         position = buf.readBlockPos();
@@ -56,6 +52,11 @@ public class PacketPlayOutBlockDestroyStage extends PacketOut {
         return PacketState.PLAY_OUT;
     }
 
+    @Override
+    public Priority getPriority() {
+        return Priority.COSMETIC;
+    }
+
     @Override
     public byte[] serialize() {
         return new FriendlyByteBuf()
@@ -21,22 +21,18 @@ import lombok.ToString;
 import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutBorderCenter extends PacketOut {
 
-    private static final int ID = 0x47;
+    private static final int ID = PacketRegistry.PLAY_OUT_BORDER_CENTER;
 
     @Getter @Setter
     private double x, z;
 
-    static {
-        register(PacketPlayOutBorderCenter.class, ID, Packet.PacketState.PLAY_OUT,
-                PacketPlayOutBorderCenter::new);
-    }
-
     public PacketPlayOutBorderCenter(final ServerBuffer buf) {
         x = buf.readDouble();
         z = buf.readDouble();
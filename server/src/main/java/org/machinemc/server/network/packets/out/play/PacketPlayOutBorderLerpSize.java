@@ -20,6 +20,7 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -28,16 +29,11 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutBorderLerpSize extends PacketOut {
 
-    private static final int ID = 0x48;
+    private static final int ID = PacketRegistry.PLAY_OUT_BORDER_LERP_SIZE;
 
     private double oldDiameter, newDiameter;
     private long speed;
 
-    static {
-        register(PacketPlayOutBorderLerpSize.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutBorderLerpSize::new);
-    }
-
     public PacketPlayOutBorderLerpSize(final ServerBuffer buf) {
         oldDiameter = buf.readDouble();
         newDiameter = buf.readDouble();
@@ -20,22 +20,18 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutBorderSize extends PacketOut {
 
-    private static final int ID = 0x49;
+    private static final int ID = PacketRegistry.PLAY_OUT_BORDER_SIZE;
 
     @Getter @Setter
     private double diameter;
 
-    static {
-        register(PacketPlayOutBorderSize.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutBorderSize::new);
-    }
-
     public PacketPlayOutBorderSize(final ServerBuffer buf) {
         diameter = buf.readDouble();
     }
@@ -21,22 +21,18 @@ import lombok.ToString;
 import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutBorderWarningDelay extends PacketOut {
 
-    private static final int ID = 0x4A;
+    private static final int ID = PacketRegistry.PLAY_OUT_BORDER_WARNING_DELAY;
 
     @Getter @Setter
     private int warningTime;
 
-    static {
-        register(PacketPlayOutBorderWarningDelay.class, ID, Packet.PacketState.PLAY_OUT,
-                PacketPlayOutBorderWarningDelay::new);
-    }
-
     public PacketPlayOutBorderWarningDelay(final ServerBuffer buf) {
         warningTime = buf.readVarInt();
     }
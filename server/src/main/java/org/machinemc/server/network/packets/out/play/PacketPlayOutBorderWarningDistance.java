@@ -20,22 +20,18 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutBorderWarningDistance extends PacketOut {
 
-    private static final int ID = 0x4B;
+    private static final int ID = PacketRegistry.PLAY_OUT_BORDER_WARNING_DISTANCE;
 
     @Getter @Setter
     private int warningBlocks;
 
-    static {
-        register(PacketPlayOutBorderWarningDistance.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutBorderWarningDistance::new);
-    }
-
     public PacketPlayOutBorderWarningDistance(final ServerBuffer buf) {
         warningBlocks = buf.readVarInt();
     }
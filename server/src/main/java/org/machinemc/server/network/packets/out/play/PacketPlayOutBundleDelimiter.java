@@ -18,17 +18,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 
 @RequiredArgsConstructor
 @ToString
 public class PacketPlayOutBundleDelimiter extends PacketOut {
 
-    public static final int ID = 0x00;
-
-    static {
-        register(PacketPlayOutBundleDelimiter.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutBundleDelimiter::new);
-    }
+    public static final int ID = PacketRegistry.PLAY_OUT_BUNDLE_DELIMITER;
 
     public PacketPlayOutBundleDelimiter(final ServerBuffer buf) {
     }
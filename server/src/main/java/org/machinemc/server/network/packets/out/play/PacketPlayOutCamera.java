@@ -20,22 +20,18 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutCamera extends PacketOut {
 
-    private static final int ID = 0x4C;
+    private static final int ID = PacketRegistry.PLAY_OUT_CAMERA;
 
     @Getter @Setter
     private int cameraID;
 
-    static {
-        register(PacketPlayOutCamera.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutCamera::new);
-    }
-
     public PacketPlayOutCamera(final ServerBuffer buf) {
         cameraID = buf.readVarInt();
     }
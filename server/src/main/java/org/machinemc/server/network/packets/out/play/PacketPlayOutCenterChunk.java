@@ -20,22 +20,18 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutCenterChunk extends PacketOut {
 
-    private static final int ID = 0x4D;
+    private static final int ID = PacketRegistry.PLAY_OUT_CENTER_CHUNK;
 
     @Getter @Setter
     private int chunkX, chunkZ;
 
-    static {
-        register(PacketPlayOutCenterChunk.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutCenterChunk::new);
-    }
-
     public PacketPlayOutCenterChunk(final ServerBuffer buf) {
         chunkX = buf.readVarInt();
         chunkZ = buf.readVarInt();
@@ -51,12 +47,15 @@ public class PacketPlayOutCenterChunk extends PacketOut {
         return PacketState.PLAY_OUT;
     }
 
+    @Override
+    public void write(final ServerBuffer buf) {
+        buf.writeVarInt(chunkX)
+                .writeVarInt(chunkZ);
+    }
+
     @Override
     public byte[] serialize() {
-        return new FriendlyByteBuf()
-                .writeVarInt(chunkX)
-                .writeVarInt(chunkZ)
-                .bytes();
+        return asBytes();
     }
 
     @Override
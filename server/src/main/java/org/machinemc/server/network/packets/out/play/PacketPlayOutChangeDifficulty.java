@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.api.world.Difficulty;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -28,18 +29,13 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutChangeDifficulty extends PacketOut {
 
-    private static final int ID = 0x0C;
+    private static final int ID = PacketRegistry.PLAY_OUT_CHANGE_DIFFICULTY;
 
     @Setter
     private Difficulty difficulty;
     // Always locked in multiplayer
     private final boolean isLocked = true;
 
-    static {
-        register(PacketPlayOutChangeDifficulty.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutChangeDifficulty::new);
-    }
-
     public PacketPlayOutChangeDifficulty(final ServerBuffer buf) {
         difficulty = Difficulty.fromID(buf.readByte());
         buf.readBoolean();
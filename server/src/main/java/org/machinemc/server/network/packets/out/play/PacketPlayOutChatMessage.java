@@ -22,6 +22,7 @@ import org.machinemc.api.chat.PlayerMessage;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.chat.PlayerChatMessage;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -30,15 +31,10 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutChatMessage extends PacketOut {
 
-    private static final int ID = 0x35;
+    private static final int ID = PacketRegistry.PLAY_OUT_CHAT_MESSAGE;
 
     private PlayerMessage message;
 
-    static {
-        register(PacketPlayOutChatMessage.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutChatMessage::new);
-    }
-
     public PacketPlayOutChatMessage(final ServerBuffer buf) {
         message = new PlayerChatMessage(buf);
     }
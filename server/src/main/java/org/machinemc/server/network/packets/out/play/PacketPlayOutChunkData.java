@@ -22,6 +22,7 @@ import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.chunk.data.ChunkData;
 import org.machinemc.server.chunk.data.LightData;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -30,18 +31,13 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutChunkData extends PacketOut {
 
-    private static final int ID = 0x24;
+    private static final int ID = PacketRegistry.PLAY_OUT_CHUNK_DATA;
 
     private int chunkX;
     private int chunkZ;
     private ChunkData chunkData;
     private LightData lightData;
 
-    static {
-        register(PacketPlayOutChunkData.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutChunkData::new);
-    }
-
     public PacketPlayOutChunkData(final ServerBuffer buf) {
         chunkX = buf.readInt();
         chunkZ = buf.readInt();
@@ -60,13 +56,21 @@ public class PacketPlayOutChunkData extends PacketOut {
     }
 
     @Override
-    public byte[] serialize() {
-        return new FriendlyByteBuf()
-                .writeInt(chunkX)
+    public Priority getPriority() {
+        return Priority.CHUNK;
+    }
+
+    @Override
+    public void write(final ServerBuffer buf) {
+        buf.writeInt(chunkX)
                 .writeInt(chunkZ)
                 .write(chunkData)
-                .write(lightData)
-                .bytes();
+                .write(lightData);
+    }
+
+    @Override
+    public byte[] serialize() {
+        return asBytes();
     }
 
     @Override
@@ -20,22 +20,18 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutClearTitles extends PacketOut {
 
-    private static final int ID = 0x0E;
+    private static final int ID = PacketRegistry.PLAY_OUT_CLEAR_TITLES;
 
     @Getter @Setter
     private boolean reset;
 
-    static {
-        register(PacketPlayOutClearTitles.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutClearTitles::new);
-    }
-
     public PacketPlayOutClearTitles(final ServerBuffer buf) {
         reset = buf.readBoolean();
     }
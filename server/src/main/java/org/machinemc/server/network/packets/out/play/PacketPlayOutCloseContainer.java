@@ -21,22 +21,18 @@ import lombok.ToString;
 import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutCloseContainer extends PacketOut {
 
-    private static final int ID = 0x11;
+    private static final int ID = PacketRegistry.PLAY_OUT_CLOSE_CONTAINER;
 
     @Getter @Setter
     private byte windowID;
 
-    static {
-        register(PacketPlayOutCloseContainer.class, ID, Packet.PacketState.PLAY_OUT,
-                PacketPlayOutCloseContainer::new);
-    }
-
     public PacketPlayOutCloseContainer(final ServerBuffer buf) {
         windowID = buf.readByte();
     }
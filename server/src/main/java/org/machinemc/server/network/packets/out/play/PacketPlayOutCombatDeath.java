@@ -23,6 +23,7 @@ import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.scriptive.serialization.ComponentProperties;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -31,16 +32,11 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutCombatDeath extends PacketOut {
 
-    private static final int ID = 0x38;
+    private static final int ID = PacketRegistry.PLAY_OUT_COMBAT_DEATH;
 
     private int playerID;
     private ComponentProperties deathMessage;
 
-    static {
-        register(PacketPlayOutCombatDeath.class, ID, Packet.PacketState.PLAY_OUT,
-                PacketPlayOutCombatDeath::new);
-    }
-
     public PacketPlayOutCombatDeath(final ServerBuffer buf) {
         playerID = buf.readVarInt();
         deathMessage = buf.readComponent();
@@ -20,22 +20,18 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutDeleteMessage extends PacketOut {
 
-    private static final int ID = 0x19;
+    private static final int ID = PacketRegistry.PLAY_OUT_DELETE_MESSAGE;
 
     @Getter @Setter
     private byte[] signature;
 
-    static {
-        register(PacketPlayOutDeleteMessage.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutDeleteMessage::new);
-    }
-
     public PacketPlayOutDeleteMessage(final ServerBuffer buf) {
         signature = buf.readByteArray();
     }
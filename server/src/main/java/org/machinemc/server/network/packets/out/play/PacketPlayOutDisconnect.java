@@ -22,22 +22,18 @@ import org.machinemc.scriptive.components.Component;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.scriptive.serialization.ComponentProperties;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutDisconnect extends PacketOut {
 
-    private static final int ID = 0x1A;
+    private static final int ID = PacketRegistry.PLAY_OUT_DISCONNECT;
 
     @Getter @Setter
     private ComponentProperties reason;
 
-    static {
-        register(PacketPlayOutDisconnect.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutDisconnect::new);
-    }
-
     public PacketPlayOutDisconnect(final ServerBuffer buf) {
         reason = buf.readComponent();
     }
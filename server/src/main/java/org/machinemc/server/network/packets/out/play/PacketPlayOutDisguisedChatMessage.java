@@ -25,6 +25,7 @@ import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.scriptive.components.Component;
 import org.machinemc.scriptive.serialization.ComponentProperties;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 
 @Getter
 @Setter
@@ -32,18 +33,13 @@ import org.machinemc.server.network.packets.PacketOut;
 @AllArgsConstructor
 public class PacketPlayOutDisguisedChatMessage extends PacketOut {
 
-    private static final int ID = 0x1B;
+    private static final int ID = PacketRegistry.PLAY_OUT_DISGUISED_CHAT_MESSAGE;
 
     private ComponentProperties message;
     private MessageType messageType;
     private ComponentProperties source;
     private @Nullable ComponentProperties target;
 
-    static {
-        register(PacketPlayOutDisguisedChatMessage.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutDisguisedChatMessage::new);
-    }
-
     public PacketPlayOutDisguisedChatMessage(final ServerBuffer buf) {
         message = buf.readComponent();
         messageType = MessageType.fromID(buf.readVarInt());
@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.machinemc.api.scoreboard.ObjectivePosition;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 import java.nio.charset.StandardCharsets;
@@ -31,16 +32,11 @@ import java.nio.charset.StandardCharsets;
 @AllArgsConstructor
 public class PacketPlayOutDisplayObjective extends PacketOut {
 
-    private static final int ID = 0x51;
+    private static final int ID = PacketRegistry.PLAY_OUT_DISPLAY_OBJECTIVE;
 
     private ObjectivePosition position;
     private String objectiveName;
 
-    static {
-        register(PacketPlayOutDisplayObjective.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutDisplayObjective::new);
-    }
-
     public PacketPlayOutDisplayObjective(final ServerBuffer buf) {
         position = ObjectivePosition.fromID(buf.readByte());
         objectiveName = buf.readString(StandardCharsets.UTF_8);
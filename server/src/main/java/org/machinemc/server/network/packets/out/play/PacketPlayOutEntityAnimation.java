@@ -22,6 +22,7 @@ import lombok.ToString;
 import org.jetbrains.annotations.Range;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -30,16 +31,11 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutEntityAnimation extends PacketOut {
 
-    private static final int ID = 0x04;
+    private static final int ID = PacketRegistry.PLAY_OUT_ENTITY_ANIMATION;
 
     private int entityID;
     private Animation animation;
 
-    static {
-        register(PacketPlayOutEntityAnimation.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutEntityAnimation::new);
-    }
-
     public PacketPlayOutEntityAnimation(final ServerBuffer buf) {
         entityID = buf.readVarInt();
         animation = Animation.fromID(buf.readByte());
@@ -55,6 +51,11 @@ public class PacketPlayOutEntityAnimation extends PacketOut {
         return PacketState.PLAY_OUT;
     }
 
+    @Override
+    public Priority getPriority() {
+        return Priority.COSMETIC;
+    }
+
     @Override
     public byte[] serialize() {
         return new FriendlyByteBuf()
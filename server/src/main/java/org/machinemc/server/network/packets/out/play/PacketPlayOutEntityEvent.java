@@ -20,6 +20,7 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -28,16 +29,11 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutEntityEvent extends PacketOut {
 
-    private static final int ID = 0x1C;
+    private static final int ID = PacketRegistry.PLAY_OUT_ENTITY_EVENT;
 
     private int entityID;
     private byte event;
 
-    static {
-        register(PacketPlayOutEntityEvent.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutEntityEvent::new);
-    }
-
     public PacketPlayOutEntityEvent(final ServerBuffer buf) {
         entityID = buf.readVarInt();
         event = buf.readByte();
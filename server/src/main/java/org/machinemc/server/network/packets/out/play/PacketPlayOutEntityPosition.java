@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.api.world.EntityPosition;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -29,12 +30,7 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutEntityPosition  extends PacketOut {
 
-    private static final int ID = 0x2B;
-
-    static {
-        register(PacketPlayOutEntityPosition.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutEntityPosition::new);
-    }
+    private static final int ID = PacketRegistry.PLAY_OUT_ENTITY_POSITION;
 
     private int entityID;
     private short deltaX, deltaY, deltaZ;
@@ -70,14 +66,22 @@ public class PacketPlayOutEntityPosition  extends PacketOut {
     }
 
     @Override
-    public byte[] serialize() {
-        return new FriendlyByteBuf()
-                .writeVarInt(entityID)
+    public Priority getPriority() {
+        return Priority.MOVEMENT;
+    }
+
+    @Override
+    public void write(final ServerBuffer buf) {
+        buf.writeVarInt(entityID)
                 .writeShort(deltaX)
                 .writeShort(deltaY)
                 .writeShort(deltaZ)
-                .writeBoolean(onGround)
-                .bytes();
+                .writeBoolean(onGround);
+    }
+
+    @Override
+    public byte[] serialize() {
+        return asBytes();
     }
 
     @Override
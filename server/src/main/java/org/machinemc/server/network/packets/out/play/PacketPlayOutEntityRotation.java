@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.api.world.EntityPosition;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -29,12 +30,7 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutEntityRotation  extends PacketOut {
 
-    private static final int ID = 0x2D;
-
-    static {
-        register(PacketPlayOutEntityRotation.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutEntityRotation::new);
-    }
+    private static final int ID = PacketRegistry.PLAY_OUT_ENTITY_ROTATION;
 
     private int entityID;
     private float yaw, pitch;
@@ -65,13 +61,21 @@ public class PacketPlayOutEntityRotation  extends PacketOut {
     }
 
     @Override
-    public byte[] serialize() {
-        return new FriendlyByteBuf()
-                .writeVarInt(entityID)
+    public Priority getPriority() {
+        return Priority.MOVEMENT;
+    }
+
+    @Override
+    public void write(final ServerBuffer buf) {
+        buf.writeVarInt(entityID)
                 .writeAngle(yaw)
                 .writeAngle(pitch)
-                .writeBoolean(onGround)
-                .bytes();
+                .writeBoolean(onGround);
+    }
+
+    @Override
+    public byte[] serialize() {
+        return asBytes();
     }
 
     @Override
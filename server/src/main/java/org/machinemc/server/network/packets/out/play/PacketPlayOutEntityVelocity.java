@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -29,16 +30,11 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutEntityVelocity extends PacketOut {
 
-    private static final int ID = 0x54;
+    private static final int ID = PacketRegistry.PLAY_OUT_ENTITY_VELOCITY;
 
     private int entityID;
     private short velocityX, velocityY, velocityZ;
 
-    static {
-        register(PacketPlayOutEntityVelocity.class, ID, Packet.PacketState.PLAY_OUT,
-                PacketPlayOutEntityVelocity::new);
-    }
-
     public PacketPlayOutEntityVelocity(final ServerBuffer buf) {
         entityID = buf.readVarInt();
         velocityX = buf.readShort();
@@ -57,13 +53,21 @@ public class PacketPlayOutEntityVelocity extends PacketOut {
     }
 
     @Override
-    public byte[] serialize() {
-        return new FriendlyByteBuf()
-                .writeVarInt(entityID)
+    public Priority getPriority() {
+        return Priority.MOVEMENT;
+    }
+
+    @Override
+    public void write(final ServerBuffer buf) {
+        buf.writeVarInt(entityID)
                 .writeShort(velocityX)
                 .writeShort(velocityY)
-                .writeShort(velocityZ)
-                .bytes();
+                .writeShort(velocityZ);
+    }
+
+    @Override
+    public byte[] serialize() {
+        return asBytes();
     }
 
     @Override
@@ -22,6 +22,7 @@ import lombok.ToString;
 import org.jetbrains.annotations.Range;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -30,16 +31,11 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutGameEvent extends PacketOut {
 
-    private static final int ID = 0x1F;
+    private static final int ID = PacketRegistry.PLAY_OUT_GAME_EVENT;
 
     private Event event;
     private float value;
 
-    static {
-        register(PacketPlayOutGameEvent.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutGameEvent::new);
-    }
-
     public PacketPlayOutGameEvent(final ServerBuffer buf) {
         event = Event.fromID(buf.readByte());
         value = buf.readFloat();
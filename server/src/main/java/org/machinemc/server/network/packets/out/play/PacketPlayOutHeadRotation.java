@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -29,16 +30,11 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutHeadRotation extends PacketOut {
 
-    private static final int ID = 0x42;
+    private static final int ID = PacketRegistry.PLAY_OUT_HEAD_ROTATION;
 
     private int entityID;
     private float angle;
 
-    static {
-        register(PacketPlayOutHeadRotation.class, ID, Packet.PacketState.PLAY_OUT,
-                PacketPlayOutHeadRotation::new);
-    }
-
     public PacketPlayOutHeadRotation(final ServerBuffer buf) {
         entityID = buf.readVarInt();
         angle = buf.readAngle();
@@ -54,12 +50,20 @@ public class PacketPlayOutHeadRotation extends PacketOut {
         return Packet.PacketState.PLAY_OUT;
     }
 
+    @Override
+    public Priority getPriority() {
+        return Priority.COSMETIC;
+    }
+
+    @Override
+    public void write(final ServerBuffer buf) {
+        buf.writeVarInt(entityID)
+                .writeAngle(angle);
+    }
+
     @Override
     public byte[] serialize() {
-        return new FriendlyByteBuf()
-                .writeVarInt(entityID)
-                .writeAngle(angle)
-                .bytes();
+        return asBytes();
     }
 
     @Override
@@ -20,22 +20,18 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutHeldItem extends PacketOut {
 
-    private static final int ID = 0x4D;
+    private static final int ID = PacketRegistry.PLAY_OUT_HELD_ITEM;
 
     @Getter @Setter
     private byte slot;
 
-    static {
-        register(PacketPlayOutHeldItem.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutHeldItem::new);
-    }
-
     public PacketPlayOutHeldItem(final ServerBuffer buf) {
         slot = buf.readByte();
     }
@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -29,18 +30,13 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutInitializeWorldBorder extends PacketOut {
 
-    private static final int ID = 0x22;
+    private static final int ID = PacketRegistry.PLAY_OUT_INITIALIZE_WORLD_BORDER;
 
     private double x, z, oldDiameter, newDiameter;
     private long speed;
     private int portalTeleportBoundary; // Usually 29999984
     private int warningBlocks, warningTime;
 
-    static {
-        register(PacketPlayOutInitializeWorldBorder.class, ID, Packet.PacketState.PLAY_OUT,
-                PacketPlayOutInitializeWorldBorder::new);
-    }
-
     public PacketPlayOutInitializeWorldBorder(final ServerBuffer buf) {
         x = buf.readDouble();
         z = buf.readDouble();
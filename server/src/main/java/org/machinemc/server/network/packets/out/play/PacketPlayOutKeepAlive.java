@@ -20,22 +20,18 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutKeepAlive extends PacketOut {
 
-    private static final int ID = 0x23;
+    private static final int ID = PacketRegistry.PLAY_OUT_KEEP_ALIVE;
 
     @Getter @Setter
     private long keepAliveID;
 
-    static {
-        register(PacketPlayOutKeepAlive.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutKeepAlive::new);
-    }
-
     public PacketPlayOutKeepAlive(final ServerBuffer buf) {
         keepAliveID = buf.readLong();
     }
@@ -50,11 +46,14 @@ public class PacketPlayOutKeepAlive extends PacketOut {
         return PacketState.PLAY_OUT;
     }
 
+    @Override
+    public void write(final ServerBuffer buf) {
+        buf.writeLong(keepAliveID);
+    }
+
     @Override
     public byte[] serialize() {
-        return new FriendlyByteBuf()
-                .writeLong(keepAliveID)
-                .bytes();
+        return asBytes();
     }
 
     @Override
@@ -21,22 +21,18 @@ import lombok.ToString;
 import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutLinkEntities extends PacketOut {
 
-    private static final int ID = 0x53;
+    private static final int ID = PacketRegistry.PLAY_OUT_LINK_ENTITIES;
 
     @Getter @Setter
     private int attachedEntityID, holdingEntityID;
 
-    static {
-        register(PacketPlayOutLinkEntities.class, ID, Packet.PacketState.PLAY_OUT,
-                PacketPlayOutLinkEntities::new);
-    }
-
     public PacketPlayOutLinkEntities(final ServerBuffer buf) {
         attachedEntityID = buf.readInt();
         holdingEntityID = buf.readInt();
@@ -25,6 +25,7 @@ import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.api.world.BlockPosition;
 import org.machinemc.nbt.NBTCompound;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 import java.nio.charset.StandardCharsets;
@@ -37,7 +38,7 @@ import java.util.List;
 @AllArgsConstructor
 public class PacketPlayOutLogin extends PacketOut {
 
-    private static final int ID = 0x28;
+    private static final int ID = PacketRegistry.PLAY_OUT_LOGIN;
 
     private int entityID;
     private boolean isHardcore;
@@ -60,12 +61,6 @@ public class PacketPlayOutLogin extends PacketOut {
     private @Nullable BlockPosition deathLocation;
     private int portalCooldown;
 
-    static {
-        register(PacketPlayOutLogin.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutLogin::new
-        );
-    }
-
     public PacketPlayOutLogin(final ServerBuffer buf) {
         entityID = buf.readInt();
         isHardcore = buf.readBoolean();
@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -29,17 +30,12 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutOpenHorseInventory extends PacketOut {
 
-    private static final int ID = 0x20;
+    private static final int ID = PacketRegistry.PLAY_OUT_OPEN_HORSE_INVENTORY;
 
     private byte windowID;
     private int slotCount;
     private int entityID;
 
-    static {
-        register(PacketPlayOutOpenHorseInventory.class, ID, Packet.PacketState.PLAY_OUT,
-                PacketPlayOutOpenHorseInventory::new);
-    }
-
     public PacketPlayOutOpenHorseInventory(final ServerBuffer buf) {
         windowID = buf.readByte();
         slotCount = buf.readVarInt();
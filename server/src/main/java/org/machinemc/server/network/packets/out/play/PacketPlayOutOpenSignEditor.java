@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.api.world.BlockPosition;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -29,16 +30,11 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutOpenSignEditor extends PacketOut {
 
-    private static final int ID = 0x31;
+    private static final int ID = PacketRegistry.PLAY_OUT_OPEN_SIGN_EDITOR;
 
     private BlockPosition position;
     private boolean frontText;
 
-    static {
-        register(PacketPlayOutOpenSignEditor.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutOpenSignEditor::new);
-    }
-
     public PacketPlayOutOpenSignEditor(final ServerBuffer buf) {
         position = buf.readBlockPos();
         frontText = buf.readBoolean();
@@ -21,22 +21,18 @@ import lombok.ToString;
 import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutPickupItem extends PacketOut {
 
-    private static final int ID = 0x67;
+    private static final int ID = PacketRegistry.PLAY_OUT_PICKUP_ITEM;
 
     @Getter @Setter
     private int collectedEntityID, collectorEntityID, pickupItemCount;
 
-    static {
-        register(PacketPlayOutPickupItem.class, ID, Packet.PacketState.PLAY_OUT,
-                PacketPlayOutPickupItem::new);
-    }
-
     public PacketPlayOutPickupItem(final ServerBuffer buf) {
         collectedEntityID = buf.readVarInt();
         collectorEntityID = buf.readVarInt();
@@ -53,6 +49,11 @@ public class PacketPlayOutPickupItem extends PacketOut {
         return Packet.PacketState.PLAY_OUT;
     }
 
+    @Override
+    public Priority getPriority() {
+        return Priority.COSMETIC;
+    }
+
     @Override
     public byte[] serialize() {
         return new FriendlyByteBuf()
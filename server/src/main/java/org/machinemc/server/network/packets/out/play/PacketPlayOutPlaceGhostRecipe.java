@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.machinemc.api.utils.NamespacedKey;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -29,16 +30,11 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutPlaceGhostRecipe extends PacketOut {
 
-    private static final int ID = 0x33;
+    private static final int ID = PacketRegistry.PLAY_OUT_PLACE_GHOST_RECIPE;
 
     private byte windowID;
     private NamespacedKey recipe;
 
-    static {
-        register(PacketPlayOutPlaceGhostRecipe.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutPlaceGhostRecipe::new);
-    }
-
     public PacketPlayOutPlaceGhostRecipe(final ServerBuffer buf) {
         windowID = buf.readByte();
         recipe = buf.readNamespacedKey();
@@ -20,6 +20,7 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -28,16 +29,11 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutPlayerAbilities extends PacketOut {
 
-    private static final int ID = 0x34;
+    private static final int ID = PacketRegistry.PLAY_OUT_PLAYER_ABILITIES;
 
     private byte flags;
     private float flyingSpeed, fovModifier;
 
-    static {
-        register(PacketPlayOutPlayerAbilities.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutPlayerAbilities::new);
-    }
-
     public PacketPlayOutPlayerAbilities(final ServerBuffer buf) {
         flags = buf.readByte();
         flyingSpeed = buf.readFloat();
@@ -26,6 +26,7 @@ import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.scriptive.components.Component;
 import org.machinemc.scriptive.serialization.ComponentProperties;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 
 import java.nio.charset.StandardCharsets;
 import java.util.BitSet;
@@ -39,16 +40,11 @@ import java.util.function.BiConsumer;
 @ToString
 public class PacketPlayOutPlayerInfo extends PacketOut {
 
-    private static final int ID = 0x3A;
+    private static final int ID = PacketRegistry.PLAY_OUT_PLAYER_INFO;
 
     private EnumSet<Action> actions;
     private PlayerInfoData[] playerInfoDataArray;
 
-    static {
-        register(PacketPlayOutPlayerInfo.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutPlayerInfo::new);
-    }
-
     public PacketPlayOutPlayerInfo(final EnumSet<Action> actions, final PlayerInfoData... playerInfoDataArray) {
         this.actions = actions;
         this.playerInfoDataArray = playerInfoDataArray;
@@ -20,18 +20,14 @@ import lombok.ToString;
 import org.machinemc.api.utils.FriendlyByteBuf;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 
 import java.util.UUID;
 
 @ToString
 public class PacketPlayOutPlayerInfoRemove extends PacketOut {
 
-    private static final int ID = 0x39;
-
-    static {
-        register(PacketPlayOutPlayerInfoRemove.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutPlayerInfoRemove::new);
-    }
+    private static final int ID = PacketRegistry.PLAY_OUT_PLAYER_INFO_REMOVE;
 
     @Getter @Setter
     private UUID[] uuids;
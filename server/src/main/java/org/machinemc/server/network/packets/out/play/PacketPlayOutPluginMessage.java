@@ -22,6 +22,7 @@ import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.NamespacedKey;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 import java.nio.charset.StandardCharsets;
@@ -32,17 +33,11 @@ import java.nio.charset.StandardCharsets;
 @AllArgsConstructor
 public class PacketPlayOutPluginMessage extends PacketOut {
 
-    private static final int ID = 0x17;
+    private static final int ID = PacketRegistry.PLAY_OUT_PLUGIN_MESSAGE;
 
     private NamespacedKey channel;
     private ServerBuffer data;
 
-    static {
-        register(PacketPlayOutPluginMessage.class, ID, Packet.PacketState.PLAY_OUT,
-                PacketPlayOutPluginMessage::new
-        );
-    }
-
     public PacketPlayOutPluginMessage(final ServerBuffer buf) {
         channel = buf.readNamespacedKey();
         data = new FriendlyByteBuf(buf.finish());
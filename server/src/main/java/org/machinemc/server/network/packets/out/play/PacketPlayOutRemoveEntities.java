@@ -20,22 +20,18 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutRemoveEntities extends PacketOut {
 
-    private static final int ID = 0x3E;
+    private static final int ID = PacketRegistry.PLAY_OUT_REMOVE_ENTITIES;
 
     @Getter @Setter
     private int[] entityIDs;
 
-    static {
-        register(PacketPlayOutRemoveEntities.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutRemoveEntities::new);
-    }
-
     public PacketPlayOutRemoveEntities(final ServerBuffer buf) {
         entityIDs = buf.readVarIntArray();
     }
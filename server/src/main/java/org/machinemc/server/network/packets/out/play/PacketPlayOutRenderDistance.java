@@ -21,22 +21,18 @@ import lombok.ToString;
 import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutRenderDistance extends PacketOut {
 
-    private static final int ID = 0x4F;
+    private static final int ID = PacketRegistry.PLAY_OUT_RENDER_DISTANCE;
 
     @Getter @Setter
     private int viewDistance; // (2-32)
 
-    static {
-        register(PacketPlayOutRenderDistance.class, ID, Packet.PacketState.PLAY_OUT,
-                PacketPlayOutRenderDistance::new);
-    }
-
     public PacketPlayOutRenderDistance(final ServerBuffer buf) {
         viewDistance = buf.readVarInt();
     }
@@ -21,6 +21,7 @@ import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.scriptive.serialization.ComponentProperties;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 import java.nio.charset.StandardCharsets;
@@ -31,7 +32,7 @@ import java.nio.charset.StandardCharsets;
 @AllArgsConstructor
 public class PacketPlayOutResourcePack extends PacketOut {
 
-    private static final int ID = 0x40;
+    private static final int ID = PacketRegistry.PLAY_OUT_RESOURCE_PACK;
 
     @Getter(AccessLevel.NONE)
     private String url;
@@ -39,11 +40,6 @@ public class PacketPlayOutResourcePack extends PacketOut {
     private boolean forced;
     private @Nullable ComponentProperties promptMessage;
 
-    static {
-        register(PacketPlayOutResourcePack.class, ID, Packet.PacketState.PLAY_OUT,
-                PacketPlayOutResourcePack::new);
-    }
-
     public PacketPlayOutResourcePack(final ServerBuffer buf) {
         url = buf.readString(StandardCharsets.UTF_8);
         hash = buf.readString(StandardCharsets.UTF_8);
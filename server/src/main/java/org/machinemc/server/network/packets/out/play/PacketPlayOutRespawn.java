@@ -25,6 +25,7 @@ import org.machinemc.api.utils.NamespacedKey;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.api.world.BlockPosition;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 
 @Getter
 @Setter
@@ -32,7 +33,7 @@ import org.machinemc.server.network.packets.PacketOut;
 @AllArgsConstructor
 public class PacketPlayOutRespawn extends PacketOut {
 
-    private static final int ID = 0x41;
+    private static final int ID = PacketRegistry.PLAY_OUT_RESPAWN;
 
     /**
      * Used in normal respawns (after death), keeps no data.
@@ -61,11 +62,6 @@ public class PacketPlayOutRespawn extends PacketOut {
     private @Nullable NamespacedKey deathWorldName;
     private @Nullable BlockPosition deathLocation;
 
-    static {
-        register(PacketPlayOutRespawn.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutRespawn::new);
-    }
-
     public PacketPlayOutRespawn(final ServerBuffer buf) {
         worldType = buf.readNamespacedKey();
         worldName = buf.readNamespacedKey();
@@ -21,6 +21,7 @@ import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.scriptive.serialization.ComponentProperties;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 import java.nio.charset.StandardCharsets;
@@ -31,18 +32,13 @@ import java.nio.charset.StandardCharsets;
 @AllArgsConstructor
 public class PacketPlayOutServerData extends PacketOut {
 
-    private static final int ID = 0x45;
+    private static final int ID = PacketRegistry.PLAY_OUT_SERVER_DATA;
 
     @Getter(AccessLevel.NONE)
     private ComponentProperties motd;
     private @Nullable String icon;
     private boolean enforcedSecureChat;
 
-    static {
-        register(PacketPlayOutServerData.class, ID, Packet.PacketState.PLAY_OUT,
-                PacketPlayOutServerData::new);
-    }
-
     public PacketPlayOutServerData(final ServerBuffer buf) {
         motd = buf.readComponent();
         icon = buf.readOptional(serverBuffer -> serverBuffer.readString(StandardCharsets.UTF_8)).orElse(null);
@@ -22,22 +22,18 @@ import org.machinemc.scriptive.components.Component;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.scriptive.serialization.ComponentProperties;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutSetActionBarText extends PacketOut {
 
-    private static final int ID = 0x46;
+    private static final int ID = PacketRegistry.PLAY_OUT_SET_ACTION_BAR_TEXT;
 
     @Getter @Setter
     private ComponentProperties actionBar;
 
-    static {
-        register(PacketPlayOutSetActionBarText.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutSetActionBarText::new);
-    }
-
     public PacketPlayOutSetActionBarText(final ServerBuffer buf) {
         actionBar = buf.readComponent();
     }
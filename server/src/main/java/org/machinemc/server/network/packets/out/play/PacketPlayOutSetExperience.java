@@ -20,6 +20,7 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -28,16 +29,11 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutSetExperience extends PacketOut {
 
-    private static final int ID = 0x56;
+    private static final int ID = PacketRegistry.PLAY_OUT_SET_EXPERIENCE;
 
     private float experienceBar; // Between 0 and 1
     private int level, totalExperience;
 
-    static {
-        register(PacketPlayOutSetExperience.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutSetExperience::new);
-    }
-
     public PacketPlayOutSetExperience(final ServerBuffer buf) {
         experienceBar = buf.readFloat();
         level = buf.readVarInt();
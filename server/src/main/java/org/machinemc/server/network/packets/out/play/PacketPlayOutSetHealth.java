@@ -20,6 +20,7 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -28,17 +29,12 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutSetHealth extends PacketOut {
 
-    private static final int ID = 0x57;
+    private static final int ID = PacketRegistry.PLAY_OUT_SET_HEALTH;
 
     private float health;
     private int food;
     private float saturation;
 
-    static {
-        register(PacketPlayOutSetHealth.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutSetHealth::new);
-    }
-
     public PacketPlayOutSetHealth(final ServerBuffer buf) {
         health = buf.readFloat();
         food = buf.readVarInt();
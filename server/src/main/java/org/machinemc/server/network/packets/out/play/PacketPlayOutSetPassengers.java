@@ -20,6 +20,7 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -28,16 +29,11 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutSetPassengers extends PacketOut {
 
-    private static final int ID = 0x59;
+    private static final int ID = PacketRegistry.PLAY_OUT_SET_PASSENGERS;
 
     private int entityID;
     private int[] passengers;
 
-    static {
-        register(PacketPlayOutSetPassengers.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutSetPassengers::new);
-    }
-
     public PacketPlayOutSetPassengers(final ServerBuffer buf) {
         entityID = buf.readVarInt();
         passengers = buf.readVarIntArray();
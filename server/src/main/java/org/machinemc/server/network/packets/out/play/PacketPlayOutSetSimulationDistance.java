@@ -20,22 +20,18 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutSetSimulationDistance extends PacketOut {
 
-    private static final int ID = 0x5C;
+    private static final int ID = PacketRegistry.PLAY_OUT_SET_SIMULATION_DISTANCE;
 
     @Getter @Setter
     private int distance;
 
-    static {
-        register(PacketPlayOutSetSimulationDistance.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutSetSimulationDistance::new);
-    }
-
     public PacketPlayOutSetSimulationDistance(final ServerBuffer buf) {
         distance = buf.readVarInt();
     }
@@ -23,22 +23,18 @@ import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.scriptive.serialization.ComponentProperties;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutSetSubtitleText extends PacketOut {
 
-    private static final int ID = 0x5D;
+    private static final int ID = PacketRegistry.PLAY_OUT_SET_SUBTITLE_TEXT;
 
     @Getter @Setter
     private ComponentProperties text;
 
-    static {
-        register(PacketPlayOutSetSubtitleText.class, ID, Packet.PacketState.PLAY_OUT,
-                PacketPlayOutSetSubtitleText::new);
-    }
-
     public PacketPlayOutSetSubtitleText(final ServerBuffer buf) {
         text = buf.readComponent();
     }
@@ -22,22 +22,18 @@ import org.machinemc.scriptive.components.Component;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.scriptive.serialization.ComponentProperties;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutSetTabListHeaderAndFooter extends PacketOut {
 
-    private static final int ID = 0x65;
+    private static final int ID = PacketRegistry.PLAY_OUT_SET_TAB_LIST_HEADER_AND_FOOTER;
 
     @Getter @Setter
     private ComponentProperties header, footer;
 
-    static {
-        register(PacketPlayOutSetTabListHeaderAndFooter.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutSetTabListHeaderAndFooter::new);
-    }
-
     public PacketPlayOutSetTabListHeaderAndFooter(final ServerBuffer buf) {
         header = buf.readComponent();
         footer = buf.readComponent();
@@ -21,22 +21,18 @@ import lombok.ToString;
 import org.machinemc.api.network.packets.Packet;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutSetTitleAnimationTimes extends PacketOut {
 
-    private static final int ID = 0x60;
+    private static final int ID = PacketRegistry.PLAY_OUT_SET_TITLE_ANIMATION_TIMES;
 
     @Getter @Setter
     private int fadeIn, stay, fadeOut;
 
-    static {
-        register(PacketPlayOutSetTitleAnimationTimes.class, ID, Packet.PacketState.PLAY_OUT,
-                PacketPlayOutSetTitleAnimationTimes::new);
-    }
-
     public PacketPlayOutSetTitleAnimationTimes(final ServerBuffer buf) {
         fadeIn = buf.readInt();
         stay = buf.readInt();
@@ -22,22 +22,18 @@ import org.machinemc.scriptive.components.Component;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.scriptive.serialization.ComponentProperties;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutSetTitleText extends PacketOut {
 
-    private static final int ID = 0x5F;
+    private static final int ID = PacketRegistry.PLAY_OUT_SET_TITLE_TEXT;
 
     @Getter @Setter
     private ComponentProperties text;
 
-    static {
-        register(PacketPlayOutSetTitleText.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutSetTitleText::new);
-    }
-
     public PacketPlayOutSetTitleText(final ServerBuffer buf) {
         text = buf.readComponent();
     }
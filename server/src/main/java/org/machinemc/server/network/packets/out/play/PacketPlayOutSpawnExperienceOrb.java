@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.api.world.EntityPosition;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -29,17 +30,12 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutSpawnExperienceOrb extends PacketOut {
 
-    private static final int ID = 0x02;
+    private static final int ID = PacketRegistry.PLAY_OUT_SPAWN_EXPERIENCE_ORB;
 
     private int entityID;
     private EntityPosition position;
     private short count;
 
-    static {
-        register(PacketPlayOutSpawnExperienceOrb.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutSpawnExperienceOrb::new);
-    }
-
     public PacketPlayOutSpawnExperienceOrb(final ServerBuffer buf) {
         entityID = buf.readVarInt();
         position = EntityPosition.of(buf.readDouble(), buf.readDouble(), buf.readDouble());
@@ -18,6 +18,7 @@ import lombok.*;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.api.world.EntityPosition;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 import java.util.UUID;
@@ -28,7 +29,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class PacketPlayOutSpawnPlayer extends PacketOut {
 
-    private static final int ID = 0x03;
+    private static final int ID = PacketRegistry.PLAY_OUT_SPAWN_PLAYER;
 
     private int entityID;
     @Getter(AccessLevel.NONE)
@@ -36,11 +37,6 @@ public class PacketPlayOutSpawnPlayer extends PacketOut {
     private EntityPosition position;
 
 
-    static {
-        register(PacketPlayOutSpawnPlayer.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutSpawnPlayer::new);
-    }
-
     public PacketPlayOutSpawnPlayer(final ServerBuffer buf) {
         entityID = buf.readVarInt();
         uuid = buf.readUUID();
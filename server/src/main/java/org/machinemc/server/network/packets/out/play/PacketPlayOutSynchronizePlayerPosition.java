@@ -19,6 +19,7 @@ import org.jetbrains.annotations.Unmodifiable;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.api.world.EntityPosition;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 import java.util.Collections;
@@ -31,12 +32,7 @@ import java.util.Set;
 @AllArgsConstructor
 public class PacketPlayOutSynchronizePlayerPosition  extends PacketOut {
 
-    private static final int ID = 0x3C;
-
-    static {
-        register(PacketPlayOutSynchronizePlayerPosition.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutSynchronizePlayerPosition::new);
-    }
+    private static final int ID = PacketRegistry.PLAY_OUT_SYNCHRONIZE_PLAYER_POSITION;
 
     private double x, y, z;
     private float yaw, pitch;
@@ -71,16 +67,19 @@ public class PacketPlayOutSynchronizePlayerPosition  extends PacketOut {
     }
 
     @Override
-    public byte[] serialize() {
-        return new FriendlyByteBuf()
-                .writeDouble(x)
+    public void write(final ServerBuffer buf) {
+        buf.writeDouble(x)
                 .writeDouble(y)
                 .writeDouble(z)
                 .writeFloat(yaw)
                 .writeFloat(pitch)
                 .writeByte((byte) TeleportFlags.pack(flags))
-                .writeVarInt(teleportID)
-                .bytes();
+                .writeVarInt(teleportID);
+    }
+
+    @Override
+    public byte[] serialize() {
+        return asBytes();
     }
 
     @Override
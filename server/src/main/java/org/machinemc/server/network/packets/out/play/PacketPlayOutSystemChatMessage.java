@@ -22,6 +22,7 @@ import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.scriptive.components.Component;
 import org.machinemc.scriptive.serialization.ComponentProperties;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -30,16 +31,11 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutSystemChatMessage extends PacketOut {
 
-    private static final int ID = 0x64;
+    private static final int ID = PacketRegistry.PLAY_OUT_SYSTEM_CHAT_MESSAGE;
 
     private ComponentProperties message;
     private boolean overlay;
 
-    static {
-        register(PacketPlayOutSystemChatMessage.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutSystemChatMessage::new);
-    }
-
     public PacketPlayOutSystemChatMessage(final ServerBuffer buf) {
         message = buf.readComponent();
         overlay = buf.readBoolean();
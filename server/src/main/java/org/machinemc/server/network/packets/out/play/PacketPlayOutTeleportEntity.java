@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.api.world.EntityPosition;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -29,17 +30,12 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutTeleportEntity extends PacketOut {
 
-    private static final int ID = 0x68;
+    private static final int ID = PacketRegistry.PLAY_OUT_TELEPORT_ENTITY;
 
     private int entityID;
     private EntityPosition position;
     private boolean onGround;
 
-    static {
-        register(PacketPlayOutTeleportEntity.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutTeleportEntity::new);
-    }
-
     public PacketPlayOutTeleportEntity(final ServerBuffer buf) {
         entityID = buf.readVarInt();
         position = EntityPosition.of(
@@ -63,12 +59,20 @@ public class PacketPlayOutTeleportEntity extends PacketOut {
     }
 
     @Override
-    public byte[] serialize() {
-        return new FriendlyByteBuf()
-                .writeVarInt(entityID)
+    public Priority getPriority() {
+        return Priority.MOVEMENT;
+    }
+
+    @Override
+    public void write(final ServerBuffer buf) {
+        buf.writeVarInt(entityID)
                 .write(position)
-                .writeBoolean(onGround)
-                .bytes();
+                .writeBoolean(onGround);
+    }
+
+    @Override
+    public byte[] serialize() {
+        return asBytes();
     }
 
     @Override
@@ -20,22 +20,18 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutUnloadChunk extends PacketOut {
 
-    private static final int ID = 0x1E;
+    private static final int ID = PacketRegistry.PLAY_OUT_UNLOAD_CHUNK;
 
     @Getter @Setter
     private int chunkX, chunkZ;
 
-    static {
-        register(PacketPlayOutUnloadChunk.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutUnloadChunk::new);
-    }
-
     public PacketPlayOutUnloadChunk(final ServerBuffer buf) {
         chunkX = buf.readInt();
         chunkZ = buf.readInt();
@@ -51,12 +47,20 @@ public class PacketPlayOutUnloadChunk extends PacketOut {
         return PacketState.PLAY_OUT;
     }
 
+    @Override
+    public Priority getPriority() {
+        return Priority.CHUNK;
+    }
+
+    @Override
+    public void write(final ServerBuffer buf) {
+        buf.writeInt(chunkX)
+                .writeInt(chunkZ);
+    }
+
     @Override
     public byte[] serialize() {
-        return new FriendlyByteBuf()
-                .writeInt(chunkX)
-                .writeInt(chunkZ)
-                .bytes();
+        return asBytes();
     }
 
     @Override
@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.chunk.data.LightData;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -29,16 +30,11 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutUpdateLight extends PacketOut {
 
-    private static final int ID = 0x27;
+    private static final int ID = PacketRegistry.PLAY_OUT_UPDATE_LIGHT;
 
     private int chunkX, chunkZ;
     private LightData lightData;
 
-    static {
-        register(PacketPlayOutUpdateLight.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutUpdateLight::new);
-    }
-
     public PacketPlayOutUpdateLight(final ServerBuffer buf) {
         chunkX = buf.readVarInt();
         chunkZ = buf.readVarInt();
@@ -56,12 +52,20 @@ public class PacketPlayOutUpdateLight extends PacketOut {
     }
 
     @Override
-    public byte[] serialize() {
-        return new FriendlyByteBuf()
-                .writeVarInt(chunkX)
+    public Priority getPriority() {
+        return Priority.CHUNK;
+    }
+
+    @Override
+    public void write(final ServerBuffer buf) {
+        buf.writeVarInt(chunkX)
                 .writeVarInt(chunkZ)
-                .write(lightData)
-                .bytes();
+                .write(lightData);
+    }
+
+    @Override
+    public byte[] serialize() {
+        return asBytes();
     }
 
     @Override
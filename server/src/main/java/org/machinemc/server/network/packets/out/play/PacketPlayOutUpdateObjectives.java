@@ -25,6 +25,7 @@ import org.jetbrains.annotations.Range;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.scriptive.serialization.ComponentProperties;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 import java.nio.charset.StandardCharsets;
@@ -35,18 +36,13 @@ import java.nio.charset.StandardCharsets;
 @AllArgsConstructor
 public class PacketPlayOutUpdateObjectives extends PacketOut {
 
-    private static final int ID = 0x58;
+    private static final int ID = PacketRegistry.PLAY_OUT_UPDATE_OBJECTIVES;
 
     private String objectiveName;
     private Action action;
     private @Nullable ComponentProperties objectiveValue;
     private @Nullable DisplayType type;
 
-    static {
-        register(PacketPlayOutUpdateObjectives.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutUpdateObjectives::new);
-    }
-
     public PacketPlayOutUpdateObjectives(final ServerBuffer buf) {
         objectiveName = buf.readString(StandardCharsets.UTF_8);
         action = Action.fromID(buf.readByte());
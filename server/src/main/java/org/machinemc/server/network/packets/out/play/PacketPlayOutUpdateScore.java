@@ -23,6 +23,7 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 import java.nio.charset.StandardCharsets;
@@ -33,18 +34,13 @@ import java.nio.charset.StandardCharsets;
 @AllArgsConstructor
 public class PacketPlayOutUpdateScore extends PacketOut {
 
-    private static final int ID = 0x5B;
+    private static final int ID = PacketRegistry.PLAY_OUT_UPDATE_SCORE;
 
     private String entityName;
     private Action action;
     private String objectiveName;
     private @Nullable Integer value;
 
-    static {
-        register(PacketPlayOutUpdateScore.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutUpdateScore::new);
-    }
-
     public PacketPlayOutUpdateScore(final ServerBuffer buf) {
         entityName = buf.readString(StandardCharsets.UTF_8);
         action = Action.fromID(buf.readByte());
@@ -20,22 +20,18 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @ToString
 @AllArgsConstructor
 public class PacketPlayOutUpdateTime extends PacketOut {
 
-    private static final int ID = 0x5E;
+    private static final int ID = PacketRegistry.PLAY_OUT_UPDATE_TIME;
 
     @Getter @Setter
     private long worldAge, timeOfDay;
 
-    static {
-        register(PacketPlayOutUpdateTime.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutUpdateTime::new);
-    }
-
     public PacketPlayOutUpdateTime(final ServerBuffer buf) {
         worldAge = buf.readLong();
         timeOfDay = buf.readLong();
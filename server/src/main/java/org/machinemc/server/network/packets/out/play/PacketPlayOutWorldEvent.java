@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.machinemc.api.utils.ServerBuffer;
 import org.machinemc.api.world.BlockPosition;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -29,17 +30,12 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutWorldEvent extends PacketOut {
 
-    private static final int ID = 0x25;
+    private static final int ID = PacketRegistry.PLAY_OUT_WORLD_EVENT;
 
     private int event, data;
     private BlockPosition position;
     private boolean disableRelativeVolume;
 
-    static {
-        register(PacketPlayOutWorldEvent.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutWorldEvent::new);
-    }
-
     public PacketPlayOutWorldEvent(final ServerBuffer buf) {
         event = buf.readInt();
         position = buf.readBlockPos();
@@ -57,6 +53,11 @@ public class PacketPlayOutWorldEvent extends PacketOut {
         return PacketState.PLAY_OUT;
     }
 
+    @Override
+    public Priority getPriority() {
+        return Priority.COSMETIC;
+    }
+
     @Override
     public byte[] serialize() {
         return new FriendlyByteBuf()
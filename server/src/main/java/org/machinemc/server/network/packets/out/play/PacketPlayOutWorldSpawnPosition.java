@@ -23,6 +23,7 @@ import org.machinemc.api.world.BlockPosition;
 import org.machinemc.api.world.EntityPosition;
 import org.machinemc.api.world.Location;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 
 @Getter
@@ -31,16 +32,11 @@ import org.machinemc.api.utils.FriendlyByteBuf;
 @AllArgsConstructor
 public class PacketPlayOutWorldSpawnPosition extends PacketOut {
 
-    private static final int ID = 0x50;
+    private static final int ID = PacketRegistry.PLAY_OUT_WORLD_SPAWN_POSITION;
 
     private BlockPosition position;
     private float angle;
 
-    static {
-        register(PacketPlayOutWorldSpawnPosition.class, ID, PacketState.PLAY_OUT,
-                PacketPlayOutWorldSpawnPosition::new);
-    }
-
     public PacketPlayOutWorldSpawnPosition(final EntityPosition position) {
         this(new BlockPosition(position), position.getYaw());
     }
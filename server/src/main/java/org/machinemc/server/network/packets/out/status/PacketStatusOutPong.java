@@ -20,6 +20,7 @@ import lombok.Setter;
 import lombok.ToString;
 import org.machinemc.api.network.packets.Packet;
 import org.machinemc.server.network.packets.PacketOut;
+import org.machinemc.server.network.packets.PacketRegistry;
 import org.machinemc.api.utils.FriendlyByteBuf;
 import org.machinemc.api.utils.ServerBuffer;
 
@@ -27,17 +28,11 @@ import org.machinemc.api.utils.ServerBuffer;
 @AllArgsConstructor
 public class PacketStatusOutPong extends PacketOut {
 
-    private static final int ID = 0x01;
+    private static final int ID = PacketRegistry.STATUS_OUT_PONG;
 
     @Getter @Setter
     private long payload;
 
-    static {
-        register(PacketStatusOutPong.class, ID, Packet.PacketState.STATUS_OUT,
-                PacketStatusOutPong::new
-        );
-    }
-
     public PacketStatusOutPong(final ServerBuffer buf) {
         payload = buf.readLong();
     }
@@ -0,0 +1,153 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network.statistics;
+
+import org.jetbrains.annotations.Nullable;
+import org.machinemc.api.network.NetworkStatistics;
+import org.machinemc.api.network.packets.Packet;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default implementation of network statistics.
+ * <p>
+ * The counters are striped, so recording from multiple threads
+ * doesn't add contention, values recorded to statistics of a connection
+ * are recorded to the statistics of the server as well.
+ */
+public class NetworkStatisticsImpl implements NetworkStatistics {
+
+    private final @Nullable ServerNetworkStatisticsImpl parent;
+
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder uncompressedBytesIn = new LongAdder();
+    private final LongAdder uncompressedBytesOut = new LongAdder();
+    private final LongAdder packetsIn = new LongAdder();
+    private final LongAdder packetsOut = new LongAdder();
+    private final LongAdder rateLimitedPackets = new LongAdder();
+
+    /**
+     * @param parent statistics of the server the values are recorded to as well
+     */
+    public NetworkStatisticsImpl(final @Nullable ServerNetworkStatisticsImpl parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * @param bytes number of bytes received over the network
+     */
+    public void recordBytesIn(final int bytes) {
+        bytesIn.add(bytes);
+        if (parent != null) parent.recordBytesIn(bytes);
+    }
+
+    /**
+     * @param bytes number of bytes sent over the network
+     */
+    public void recordBytesOut(final int bytes) {
+        bytesOut.add(bytes);
+        if (parent != null) parent.recordBytesOut(bytes);
+    }
+
+    /**
+     * @param bytes number of received bytes after decompression
+     */
+    public void recordUncompressedBytesIn(final int bytes) {
+        uncompressedBytesIn.add(bytes);
+        if (parent != null) parent.recordUncompressedBytesIn(bytes);
+    }
+
+    /**
+     * @param bytes number of sent bytes before compression
+     */
+    public void recordUncompressedBytesOut(final int bytes) {
+        uncompressedBytesOut.add(bytes);
+        if (parent != null) parent.recordUncompressedBytesOut(bytes);
+    }
+
+    /**
+     * @param packetClass class of the received packet
+     * @param bytes size of the packet before compression
+     */
+    public void recordPacketIn(final Class<? extends Packet> packetClass, final int bytes) {
+        packetsIn.increment();
+        if (parent != null) parent.recordPacketIn(packetClass, bytes);
+    }
+
+    /**
+     * @param packetClass class of the sent packet
+     * @param bytes size of the packet before compression
+     */
+    public void recordPacketOut(final Class<? extends Packet> packetClass, final int bytes) {
+        packetsOut.increment();
+        if (parent != null) parent.recordPacketOut(packetClass, bytes);
+    }
+
+    /**
+     * Records received packet that exceeded the rate limit.
+     */
+    public void recordRateLimitedPacket() {
+        rateLimitedPackets.increment();
+        if (parent != null) parent.recordRateLimitedPacket();
+    }
+
+    @Override
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    @Override
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    @Override
+    public long getUncompressedBytesIn() {
+        return uncompressedBytesIn.sum();
+    }
+
+    @Override
+    public long getUncompressedBytesOut() {
+        return uncompressedBytesOut.sum();
+    }
+
+    @Override
+    public long getPacketsIn() {
+        return packetsIn.sum();
+    }
+
+    @Override
+    public long getPacketsOut() {
+        return packetsOut.sum();
+    }
+
+    @Override
+    public long getRateLimitedPackets() {
+        return rateLimitedPackets.sum();
+    }
+
+    @Override
+    public void reset() {
+        bytesIn.reset();
+        bytesOut.reset();
+        uncompressedBytesIn.reset();
+        uncompressedBytesOut.reset();
+        packetsIn.reset();
+        packetsOut.reset();
+        rateLimitedPackets.reset();
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network.statistics;
+
+import lombok.Getter;
+import org.jetbrains.annotations.Unmodifiable;
+import org.machinemc.api.network.ServerNetworkStatistics;
+import org.machinemc.api.network.packets.Packet;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default implementation of server network statistics.
+ */
+public class ServerNetworkStatisticsImpl extends NetworkStatisticsImpl implements ServerNetworkStatistics {
+
+    private final Map<Class<? extends Packet>, PacketStatisticsImpl> packetStatistics = new ConcurrentHashMap<>();
+
+    @Getter
+    private final TimeHistogramImpl decodeTimes = new TimeHistogramImpl();
+    @Getter
+    private final TimeHistogramImpl encodeTimes = new TimeHistogramImpl();
+    @Getter
+    private final TimeHistogramImpl inTranslateTimes = new TimeHistogramImpl();
+    @Getter
+    private final TimeHistogramImpl outTranslateTimes = new TimeHistogramImpl();
+
+    public ServerNetworkStatisticsImpl() {
+        super(null);
+    }
+
+    @Override
+    public void recordPacketIn(final Class<? extends Packet> packetClass, final int bytes) {
+        super.recordPacketIn(packetClass, bytes);
+        final PacketStatisticsImpl statistics = getStatistics(packetClass);
+        statistics.packetsIn.increment();
+        statistics.bytesIn.add(bytes);
+    }
+
+    @Override
+    public void recordPacketOut(final Class<? extends Packet> packetClass, final int bytes) {
+        super.recordPacketOut(packetClass, bytes);
+        final PacketStatisticsImpl statistics = getStatistics(packetClass);
+        statistics.packetsOut.increment();
+        statistics.bytesOut.add(bytes);
+    }
+
+    private PacketStatisticsImpl getStatistics(final Class<? extends Packet> packetClass) {
+        final PacketStatisticsImpl statistics = packetStatistics.get(packetClass);
+        if (statistics != null) return statistics;
+        return packetStatistics.computeIfAbsent(packetClass, key -> new PacketStatisticsImpl());
+    }
+
+    @Override
+    public @Unmodifiable Map<Class<? extends Packet>, PacketStatistics> getPacketStatistics() {
+        return Collections.unmodifiableMap(packetStatistics);
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        packetStatistics.clear();
+        decodeTimes.reset();
+        encodeTimes.reset();
+        inTranslateTimes.reset();
+        outTranslateTimes.reset();
+    }
+
+    /**
+     * Statistics of a single packet class.
+     */
+    static class PacketStatisticsImpl implements PacketStatistics {
+
+        private final LongAdder packetsIn = new LongAdder();
+        private final LongAdder packetsOut = new LongAdder();
+        private final LongAdder bytesIn = new LongAdder();
+        private final LongAdder bytesOut = new LongAdder();
+
+        @Override
+        public long getPacketsIn() {
+            return packetsIn.sum();
+        }
+
+        @Override
+        public long getPacketsOut() {
+            return packetsOut.sum();
+        }
+
+        @Override
+        public long getBytesIn() {
+            return bytesIn.sum();
+        }
+
+        @Override
+        public long getBytesOut() {
+            return bytesOut.sum();
+        }
+
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network.statistics;
+
+import org.machinemc.api.network.ServerNetworkStatistics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default implementation of time histogram, the measured times are grouped
+ * into buckets by the highest bit of their value in nanoseconds.
+ */
+public class TimeHistogramImpl implements ServerNetworkStatistics.TimeHistogram {
+
+    private static final int BUCKETS = Long.SIZE;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public TimeHistogramImpl() {
+        for (int i = 0; i < BUCKETS; i++)
+            buckets[i] = new LongAdder();
+    }
+
+    /**
+     * Records new measured time.
+     * @param nanos measured time in nanoseconds
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(nanos, 0);
+        buckets[BUCKETS - 1 - Long.numberOfLeadingZeros(value | 1)].increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    @Override
+    public long getCount() {
+        long count = 0;
+        for (final LongAdder bucket : buckets)
+            count += bucket.sum();
+        return count;
+    }
+
+    @Override
+    public long getTotalNanos() {
+        return total.sum();
+    }
+
+    @Override
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    @Override
+    public long getPercentileNanos(final double percentile) {
+        if (percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException("Percentile has to be between 0 and 100");
+        final long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        if (count == 0) return 0;
+        final long target = (long) Math.ceil(count * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target && counts[i] != 0)
+                return i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * Resets the histogram.
+     */
+    public void reset() {
+        for (final LongAdder bucket : buckets)
+            bucket.reset();
+        total.reset();
+        max.reset();
+    }
+
+}
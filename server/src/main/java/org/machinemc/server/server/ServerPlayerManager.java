@@ -72,6 +72,11 @@ public class ServerPlayerManager implements PlayerManager {
         return Set.of(playerMap.values().toArray(new Player[0]));
     }
 
+    @Override
+    public int getPlayerCount() {
+        return playerMap.size();
+    }
+
     @Override
     public Set<Player> getPlayers(final Predicate<Player> predicate) {
         Objects.requireNonNull(predicate, "Predicate can not be null");
@@ -19,6 +19,10 @@ import org.machinemc.server.network.ClientConnection;
 
 /**
  * Translates packet into server actions and events.
+ * <p>
+ * Single translator instance is used for all connections and can be called
+ * from multiple threads at once, translators should be stateless and keep
+ * the data of the translation in the {@link TranslationContext}.
  * @param <T>
  */
 public abstract class PacketTranslator<T extends Packet> {
@@ -27,16 +31,18 @@ public abstract class PacketTranslator<T extends Packet> {
      * Called before the packet is sent or received from the client.
      * @param connection ClientConnection the packet is sent or received from
      * @param packet Packet that is sent or received
+     * @param context context of the translation shared with {@link #translateAfter}
      * @return false if packet should be cancelled
      */
-    public abstract boolean translate(ClientConnection connection, T packet) throws Exception;
+    public abstract boolean translate(ClientConnection connection, T packet, TranslationContext context) throws Exception;
 
     /**
      * Called after the packet is sent or received from the client.
      * @param connection ClientConnection the packet has been sent or received from
      * @param packet Packet that has been sent or received
+     * @param context context of the translation shared with {@link #translate}
      */
-    public abstract void translateAfter(ClientConnection connection, T packet) throws Exception;
+    public abstract void translateAfter(ClientConnection connection, T packet, TranslationContext context) throws Exception;
 
     /**
      * @return Class of the packet the translator should listen to.
@@ -0,0 +1,52 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.translation;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Context of a single packet translation, carries the data computed
+ * by {@link PacketTranslator#translate(org.machinemc.server.network.ClientConnection,
+ * org.machinemc.api.network.packets.Packet, TranslationContext)} over to
+ * {@link PacketTranslator#translateAfter(org.machinemc.server.network.ClientConnection,
+ * org.machinemc.api.network.packets.Packet, TranslationContext)}.
+ * <p>
+ * Translators are shared between all connections, so they
+ * should keep the per-packet state in the context instead of their fields.
+ */
+public final class TranslationContext {
+
+    private @Nullable Object data;
+
+    TranslationContext() {
+    }
+
+    /**
+     * @param data data of the translation
+     */
+    public void set(final @Nullable Object data) {
+        this.data = data;
+    }
+
+    /**
+     * @return data of the translation set by the translator
+     * @param <T> type of the data
+     */
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T get() {
+        return (T) data;
+    }
+
+}
@@ -14,36 +14,53 @@
  */
 package org.machinemc.server.translation;
 
-import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.Multimap;
 import lombok.Getter;
 import org.machinemc.api.network.packets.Packet;
 import org.machinemc.server.Machine;
 import org.machinemc.server.network.ClientConnection;
 import org.machinemc.server.network.packets.PacketFactory;
+import org.machinemc.server.translation.translators.in.status.TranslatorStatusInPing;
+import org.machinemc.server.translation.translators.in.status.TranslatorStatusInRequest;
 import org.machinemc.server.utils.ClassUtils;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 
 /**
  * Translator dispatcher, calls registered translators from received packets.
+ * <p>
+ * Registered translators are published as an immutable snapshot of translator arrays
+ * indexed by the packet state and packet id, dispatching from the network threads
+ * doesn't require any locking; registration replaces the whole snapshot.
  */
 @SuppressWarnings("unchecked")
 public class TranslatorDispatcher {
 
+    private static final PacketTranslator<?>[] EMPTY = new PacketTranslator<?>[0];
+
+    /**
+     * Translators of the status exchange the server answers directly, see {@link #isDefaultStatus()}.
+     */
+    private static final Set<Class<?>> DEFAULT_STATUS_TRANSLATORS = Set.of(
+            TranslatorStatusInRequest.class,
+            TranslatorStatusInPing.class
+    );
+
     @Getter
     private final Machine server;
 
-    private final Multimap<
+    private final Map<
             Class<? extends Packet>,
-            PacketTranslator<? extends Packet>
-            > inTranslators = ArrayListMultimap.create();
-    private final Multimap<
+            List<PacketTranslator<? extends Packet>>
+            > inTranslators = new LinkedHashMap<>();
+    private final Map<
             Class<? extends Packet>,
-            PacketTranslator<? extends Packet>
-            > outTranslators = ArrayListMultimap.create();
+            List<PacketTranslator<? extends Packet>>
+            > outTranslators = new LinkedHashMap<>();
+
+    private volatile PacketTranslator<?>[][][] translators = new PacketTranslator<?>[Packet.PacketState.values().length][0][];
+    private volatile Set<Class<? extends Packet>> translatedOut = Set.of();
+    private volatile boolean statusTranslated = true;
 
     /**
      * Creates the default dispatcher with all translators from 'translators' package
@@ -86,132 +103,186 @@ public class TranslatorDispatcher {
      * Registers the new packet translator for the dispatcher.
      * @param translator translator to register
      */
-    public void registerInTranslator(final PacketTranslator<? extends Packet> translator) {
-        inTranslators.put(translator.packetClass(), translator);
+    public synchronized void registerInTranslator(final PacketTranslator<? extends Packet> translator) {
+        inTranslators.computeIfAbsent(translator.packetClass(), packetClass -> new ArrayList<>()).add(translator);
+        update();
     }
 
     /**
      * Unregisters the new packet translator for the dispatcher.
      * @param translator translator to register
      */
-    public void unregisterInTranslator(final PacketTranslator<? extends Packet> translator) {
-        inTranslators.remove(translator.packetClass(), translator);
+    public synchronized void unregisterInTranslator(final PacketTranslator<? extends Packet> translator) {
+        remove(inTranslators, translator);
+        update();
     }
 
     /**
      * Unregisters all the packet translators listening to packet of provided class.
      * @param packetClass packet class of packet translators to unregister
      */
-    public void unregisterInTranslator(final Class<? extends Packet> packetClass) {
-        inTranslators.removeAll(packetClass);
+    public synchronized void unregisterInTranslator(final Class<? extends Packet> packetClass) {
+        inTranslators.remove(packetClass);
+        update();
     }
 
     /**
      * Registers the new packet translator for the dispatcher.
      * @param translator translator to register
      */
-    public void registerOutTranslator(final PacketTranslator<? extends Packet> translator) {
-        outTranslators.put(translator.packetClass(), translator);
+    public synchronized void registerOutTranslator(final PacketTranslator<? extends Packet> translator) {
+        outTranslators.computeIfAbsent(translator.packetClass(), packetClass -> new ArrayList<>()).add(translator);
+        update();
     }
 
     /**
      * Unregisters the new packet translator for the dispatcher.
      * @param translator translator to register
      */
-    public void unregisterOutTranslator(final PacketTranslator<? extends Packet> translator) {
-        outTranslators.remove(translator.packetClass(), translator);
+    public synchronized void unregisterOutTranslator(final PacketTranslator<? extends Packet> translator) {
+        remove(outTranslators, translator);
+        update();
     }
 
     /**
      * Unregisters all the packet translators listening to packet of provided class.
      * @param packetClass packet class of packet translators to unregister
      */
-    public void unregisterOutTranslator(final Class<? extends Packet> packetClass) {
-        outTranslators.removeAll(packetClass);
+    public synchronized void unregisterOutTranslator(final Class<? extends Packet> packetClass) {
+        outTranslators.remove(packetClass);
+        update();
     }
 
     /**
-     * Unregisters all packet translators of this dispatcher.
+     * Checks whether there are any translators listening to the outgoing packets of provided class.
+     * @param packetClass packet class
+     * @return whether there are translators for the packet class
      */
-    public void clear() {
-        inTranslators.clear();
-        outTranslators.clear();
+    public boolean hasOutTranslators(final Class<? extends Packet> packetClass) {
+        return translatedOut.contains(packetClass);
     }
 
     /**
-     * Plays all translators for given packet using given connection.
-     * @param connection connection that sent the packet
-     * @param packet packet
-     * @return true if the packet wasn't cancelled
+     * Checks whether the status exchange is translated only by the default status translators,
+     * in which case the server can answer it directly without dispatching the status packets.
+     * <p>
+     * In case any other translator listens to the status packets, or the default ones
+     * were unregistered, the status packets have to be dispatched to the translators.
+     * @return whether the status exchange can be answered without the translators
      */
-    public boolean play(final ClientConnection connection, final Packet packet) throws Exception {
-        if (Packet.PacketState.in().contains(packet.getPacketState()))
-            return playIn(connection, packet);
-        else if (Packet.PacketState.out().contains(packet.getPacketState()))
-            return playOut(connection, packet);
-        return false;
+    public boolean isDefaultStatus() {
+        return !statusTranslated;
     }
 
     /**
-     * Plays all translators for given packet using given connection.
-     * @param connection connection that sent the packet
-     * @param packet packet
-     * @return true if the packet wasn't cancelled
+     * Unregisters all packet translators of this dispatcher.
      */
-    public boolean playIn(final ClientConnection connection, final Packet packet) throws Exception {
-        Objects.requireNonNull(connection, "Connection can not be null");
-        boolean result = true;
-        for (final PacketTranslator<? extends Packet> translator : inTranslators.get(packet.getClass()))
-            result = ((PacketTranslator<Packet>) translator).translate(connection, packet);
-        return result;
+    public synchronized void clear() {
+        inTranslators.clear();
+        outTranslators.clear();
+        update();
     }
 
     /**
-     * Plays all translators for given packet using given connection.
-     * @param connection connection that will receive the packet
+     * Plays all translators for given packet using given connection, if the packet
+     * is not cancelled by any of them, plays all the translators after the packet.
+     * @param connection connection that sent or will receive the packet
      * @param packet packet
      * @return true if the packet wasn't cancelled
      */
-    public boolean playOut(final ClientConnection connection, final Packet packet) throws Exception {
+    public boolean play(final ClientConnection connection, final Packet packet) throws Exception {
         Objects.requireNonNull(connection, "Connection can not be null");
+        final PacketTranslator<?>[] translators = getTranslators(packet);
+        if (translators.length == 0) return true;
+
+        final TranslationContext[] contexts = new TranslationContext[translators.length];
         boolean result = true;
-        for (final PacketTranslator<? extends Packet> translator : outTranslators.get(packet.getClass()))
-            result = ((PacketTranslator<Packet>) translator).translate(connection, packet);
-        return result;
+        for (int i = 0; i < translators.length; i++) {
+            // different packet classes can share the same id, translators listen to exact packet classes
+            if (translators[i].packetClass() != packet.getClass()) continue;
+            contexts[i] = new TranslationContext();
+            result = ((PacketTranslator<Packet>) translators[i]).translate(connection, packet, contexts[i]);
+        }
+        if (!result) return false;
+
+        for (int i = 0; i < translators.length; i++) {
+            if (contexts[i] == null) continue;
+            ((PacketTranslator<Packet>) translators[i]).translateAfter(connection, packet, contexts[i]);
+        }
+        return true;
     }
 
     /**
-     * Plays all the translators after the packet was received by server.
-     * @param connection connection that sent the packet
+     * Returns translators registered for the id and state of the packet.
      * @param packet packet
+     * @return translators for the packet
      */
-    public void playAfter(final ClientConnection connection, final Packet packet) throws Exception {
-        if (Packet.PacketState.in().contains(packet.getPacketState()))
-            playInAfter(connection, packet);
-        else if (Packet.PacketState.out().contains(packet.getPacketState()))
-            playOutAfter(connection, packet);
+    private PacketTranslator<?>[] getTranslators(final Packet packet) {
+        final PacketTranslator<?>[][] stateTranslators = translators[packet.getPacketState().ordinal()];
+        final int id = packet.getID();
+        if (id < 0 || id >= stateTranslators.length || stateTranslators[id] == null) return EMPTY;
+        return stateTranslators[id];
     }
 
     /**
-     * Plays all the translators after the packet was received by server.
-     * @param connection connection that sent the packet
-     * @param packet packet
+     * Creates new snapshot of the registered translators and publishes it.
      */
-    public void playInAfter(final ClientConnection connection, final Packet packet) throws Exception {
-        Objects.requireNonNull(connection, "Connection can not be null");
-        for (final PacketTranslator<? extends Packet> translator : inTranslators.get(packet.getClass()))
-            ((PacketTranslator<Packet>) translator).translateAfter(connection, packet);
+    private void update() {
+        final PacketTranslator<?>[][][] snapshot = new PacketTranslator<?>[Packet.PacketState.values().length][0][];
+        final List<Map.Entry<Class<? extends Packet>, List<PacketTranslator<? extends Packet>>>> entries = new ArrayList<>();
+        entries.addAll(inTranslators.entrySet());
+        entries.addAll(outTranslators.entrySet());
+        for (final Map.Entry<Class<? extends Packet>, List<PacketTranslator<? extends Packet>>> entry : entries) {
+            if (entry.getValue().isEmpty()) continue;
+            final Packet.PacketState state = PacketFactory.getRegisteredState(entry.getKey()).orElse(null);
+            if (state == null) continue;
+            final int id = PacketFactory.getRawIDByPacket(entry.getKey(), state);
+            if (id < 0) continue;
+            PacketTranslator<?>[][] stateTranslators = snapshot[state.ordinal()];
+            if (id >= stateTranslators.length) {
+                stateTranslators = Arrays.copyOf(stateTranslators, id + 1);
+                snapshot[state.ordinal()] = stateTranslators;
+            }
+            final PacketTranslator<?>[] previous = stateTranslators[id] != null ? stateTranslators[id] : EMPTY;
+            final PacketTranslator<?>[] merged = Arrays.copyOf(previous, previous.length + entry.getValue().size());
+            for (int i = 0; i < entry.getValue().size(); i++)
+                merged[previous.length + i] = entry.getValue().get(i);
+            stateTranslators[id] = merged;
+        }
+        final Set<Class<? extends Packet>> out = new HashSet<>();
+        for (final Map.Entry<Class<? extends Packet>, List<PacketTranslator<? extends Packet>>> entry : outTranslators.entrySet()) {
+            if (!entry.getValue().isEmpty()) out.add(entry.getKey());
+        }
+        translatedOut = Set.copyOf(out);
+        statusTranslated = !isDefaultStatus(entries);
+        translators = snapshot;
     }
 
     /**
-     * Plays all the translators after the packet was sent by server.
-     * @param connection connection that received the packet
-     * @param packet packet
+     * Checks whether the status packets are translated only by the default status translators.
+     * @param entries registered translators
+     * @return whether only the default status translators are registered for the status packets
      */
-    public void playOutAfter(final ClientConnection connection, final Packet packet) throws Exception {
-        Objects.requireNonNull(connection, "Connection can not be null");
-        for (final PacketTranslator<? extends Packet> translator : outTranslators.get(packet.getClass()))
-            ((PacketTranslator<Packet>) translator).translateAfter(connection, packet);
+    private static boolean isDefaultStatus(
+            final List<Map.Entry<Class<? extends Packet>, List<PacketTranslator<? extends Packet>>>> entries) {
+        final Set<Class<?>> defaults = new HashSet<>();
+        for (final Map.Entry<Class<? extends Packet>, List<PacketTranslator<? extends Packet>>> entry : entries) {
+            final Packet.PacketState state = PacketFactory.getRegisteredState(entry.getKey()).orElse(null);
+            if (state != Packet.PacketState.STATUS_IN && state != Packet.PacketState.STATUS_OUT) continue;
+            for (final PacketTranslator<? extends Packet> translator : entry.getValue()) {
+                if (!DEFAULT_STATUS_TRANSLATORS.contains(translator.getClass())) return false;
+                defaults.add(translator.getClass());
+            }
+        }
+        return defaults.size() == DEFAULT_STATUS_TRANSLATORS.size();
+    }
+
+    private static void remove(final Map<Class<? extends Packet>, List<PacketTranslator<? extends Packet>>> map,
+                               final PacketTranslator<? extends Packet> translator) {
+        final List<PacketTranslator<? extends Packet>> translators = map.get(translator.packetClass());
+        if (translators == null) return;
+        translators.remove(translator);
+        if (translators.isEmpty()) map.remove(translator.packetClass());
     }
 
 }
@@ -16,18 +16,21 @@ package org.machinemc.server.translation.translators.in.handshaking;
 
 import org.machinemc.api.network.PlayerConnection;
 import org.machinemc.server.translation.PacketTranslator;
+import org.machinemc.server.translation.TranslationContext;
 import org.machinemc.server.network.ClientConnection;
 import org.machinemc.server.network.packets.in.handshaking.PacketHandshakingInHandshake;
 
 public class TranslatorHandshakingInHandshake extends PacketTranslator<PacketHandshakingInHandshake> {
 
     @Override
-    public boolean translate(final ClientConnection connection, final PacketHandshakingInHandshake packet) {
+    public boolean translate(final ClientConnection connection, final PacketHandshakingInHandshake packet,
+                             final TranslationContext context) {
         return true;
     }
 
     @Override
-    public void translateAfter(final ClientConnection connection, final PacketHandshakingInHandshake packet) {
+    public void translateAfter(final ClientConnection connection, final PacketHandshakingInHandshake packet,
+                               final TranslationContext context) {
         if (packet.getHandshakeType() == PacketHandshakingInHandshake.HandshakeType.STATUS) {
             connection.setState(PlayerConnection.ClientState.STATUS);
         } else if (packet.getHandshakeType() == PacketHandshakingInHandshake.HandshakeType.LOGIN) {
@@ -19,13 +19,12 @@ import org.machinemc.api.entities.player.PlayerProfile;
 import org.machinemc.api.entities.player.PlayerTextures;
 import org.machinemc.scriptive.components.TranslationComponent;
 import org.machinemc.server.auth.MojangAuth;
-import org.machinemc.server.entities.ServerPlayer;
 import org.machinemc.server.entities.player.ServerPlayerProfile;
 import org.machinemc.server.exception.ClientException;
 import org.machinemc.server.network.ClientConnection;
 import org.machinemc.server.network.packets.in.login.PacketLoginInEncryptionResponse;
-import org.machinemc.server.network.packets.out.login.PacketLoginOutSuccess;
 import org.machinemc.server.translation.PacketTranslator;
+import org.machinemc.server.translation.TranslationContext;
 import org.machinemc.server.utils.UUIDUtils;
 
 import javax.crypto.SecretKey;
@@ -33,18 +32,29 @@ import java.math.BigInteger;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.machinemc.server.network.packets.out.login.PacketLoginOutEncryptionRequest.SERVER_ID;
 
+/**
+ * Finishes the login of a player in online mode.
+ * <p>
+ * Nothing blocks during the login: the shared secret is decrypted and the server id is digested
+ * by the crypto executor of the server, the encryption is enabled on the event loop of the connection,
+ * the session is verified asynchronously and the rest of the login continues using the executor
+ * of the connection. Reading of the connection is paused until the encryption is enabled.
+ */
 public class TranslatorLoginInEncryptionResponse extends PacketTranslator<PacketLoginInEncryptionResponse> {
 
     @Override
-    public boolean translate(final ClientConnection connection, final PacketLoginInEncryptionResponse packet) {
+    public boolean translate(final ClientConnection connection, final PacketLoginInEncryptionResponse packet,
+                             final TranslationContext context) {
         return true;
     }
 
     @Override
-    public void translateAfter(final ClientConnection connection, final PacketLoginInEncryptionResponse packet) {
+    public void translateAfter(final ClientConnection connection, final PacketLoginInEncryptionResponse packet,
+                               final TranslationContext context) {
         final OnlineServer onlineServer = connection.getServer().getOnlineServer().orElse(null);
         if (onlineServer == null) {
             connection.disconnect();
@@ -54,24 +64,25 @@ public class TranslatorLoginInEncryptionResponse extends PacketTranslator<Packet
             connection.disconnect();
             return;
         }
+        final String username = URLEncoder.encode(connection.getLoginUsername().get(), StandardCharsets.UTF_8);
 
-        final SecretKey secretkey = onlineServer.getSecretKey(onlineServer.getKey().getPrivate(), packet.getSecret());
-        connection.setSecretKey(secretkey);
-
-        final String serverID = new BigInteger(onlineServer.digestData(
-                SERVER_ID,
-                onlineServer.getKey().getPublic(),
-                secretkey)
-        ).toString(16);
-        final String username = URLEncoder.encode(connection.getLoginUsername().orElse(null), StandardCharsets.UTF_8);
-
-        MojangAuth.getAuthData(serverID, username).thenAccept(json -> {
+        connection.setAutoRead(false);
+        CompletableFuture.supplyAsync(() -> {
+            final SecretKey secretKey = onlineServer.getSecretKey(onlineServer.getKey().getPrivate(), packet.getSecret());
+            final String serverID = new BigInteger(onlineServer.digestData(
+                    SERVER_ID,
+                    onlineServer.getKey().getPublic(),
+                    secretKey)
+            ).toString(16);
+            return new Secret(secretKey, serverID);
+        }, connection.getNettyServer().getCryptoExecutor()).thenApplyAsync(secret -> {
+            connection.setSecretKey(secret.key());
+            connection.setAutoRead(true);
+            return secret.serverID();
+        }, connection.eventLoop()).thenCompose(serverID -> MojangAuth.getAuthData(serverID, username)).thenAcceptAsync(json -> {
+            if (!connection.isOpen()) return;
             if (json == null) {
-                try {
-                    connection.disconnect(TranslationComponent.of("disconnect.loginFailedInfo.invalidSession"));
-                } catch (Exception exception) {
-                    throw new RuntimeException(exception);
-                }
+                connection.disconnect(TranslationComponent.of("disconnect.loginFailedInfo.invalidSession"));
                 return;
             }
             final UUID authUUID = UUIDUtils.parseUUID(json.get("id").getAsString()).orElse(null);
@@ -84,14 +95,10 @@ public class TranslatorLoginInEncryptionResponse extends PacketTranslator<Packet
                     json.getAsJsonArray("properties").get(0)
             ).orElse(null);
             final PlayerProfile profile = ServerPlayerProfile.online(authUsername, authUUID, playerTextures);
-            connection.setCompression(256); // TODO should be in properties
-            connection.send(new PacketLoginOutSuccess(authUUID, authUsername, profile.getTextures().orElse(null)));
-            if (connection.getState().orElse(null) == ClientConnection.ClientState.DISCONNECTED)
-                return;
-            connection.setState(ClientConnection.ClientState.PLAY);
-            ServerPlayer.spawn(connection.getServer(), profile, connection);
-        }).exceptionally(exception -> {
+            connection.completeLogin(profile);
+        }, connection.getExecutor()).exceptionally(exception -> {
             connection.getServer().getExceptionHandler().handle(new ClientException(connection, exception.getCause()));
+            if (connection.isOpen()) connection.disconnect(TranslationComponent.of("disconnect.loginFailed"));
             return null;
         });
     }
@@ -101,4 +108,12 @@ public class TranslatorLoginInEncryptionResponse extends PacketTranslator<Packet
         return PacketLoginInEncryptionResponse.class;
     }
 
+    /**
+     * Shared secret of the connection and the server id digested from it.
+     * @param key shared secret
+     * @param serverID server id
+     */
+    private record Secret(SecretKey key, String serverID) {
+    }
+
 }
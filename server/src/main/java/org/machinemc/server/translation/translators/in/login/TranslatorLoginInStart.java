@@ -15,37 +15,27 @@
 package org.machinemc.server.translation.translators.in.login;
 
 import org.machinemc.api.auth.OnlineServer;
-import org.machinemc.api.entities.player.PlayerProfile;
-import org.machinemc.api.network.PlayerConnection;
-import org.machinemc.server.entities.ServerPlayer;
 import org.machinemc.server.entities.player.ServerPlayerProfile;
 import org.machinemc.server.network.ClientConnection;
 import org.machinemc.server.network.packets.in.login.PacketLoginInStart;
 import org.machinemc.server.network.packets.out.login.PacketLoginOutEncryptionRequest;
-import org.machinemc.server.network.packets.out.login.PacketLoginOutSuccess;
 import org.machinemc.server.translation.PacketTranslator;
+import org.machinemc.server.translation.TranslationContext;
 
 public class TranslatorLoginInStart extends PacketTranslator<PacketLoginInStart> {
 
     @Override
-    public boolean translate(final ClientConnection connection, final PacketLoginInStart packet) {
+    public boolean translate(final ClientConnection connection, final PacketLoginInStart packet,
+                             final TranslationContext context) {
         return true;
     }
 
     @Override
-    public void translateAfter(final ClientConnection connection, final PacketLoginInStart packet) {
+    public void translateAfter(final ClientConnection connection, final PacketLoginInStart packet,
+                               final TranslationContext context) {
         connection.setLoginUsername(packet.getUsername());
         if (!connection.getServer().isOnline()) {
-            final PlayerProfile profile = ServerPlayerProfile.offline(packet.getUsername());
-            connection.send(new PacketLoginOutSuccess(
-                    profile.getUUID(),
-                    profile.getUsername(),
-                    profile.getTextures().orElse(null)
-            ));
-            if (connection.getState().orElse(null) == PlayerConnection.ClientState.DISCONNECTED)
-                return;
-            connection.setState(PlayerConnection.ClientState.PLAY);
-            ServerPlayer.spawn(connection.getServer(), profile, connection);
+            connection.completeLogin(ServerPlayerProfile.offline(packet.getUsername()));
             return;
         }
         final OnlineServer onlineServer = connection.getServer().getOnlineServer().orElseThrow(() -> {
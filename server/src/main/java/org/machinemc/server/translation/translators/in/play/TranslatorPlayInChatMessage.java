@@ -24,13 +24,15 @@ import org.machinemc.server.entities.ServerPlayer;
 import org.machinemc.server.network.ClientConnection;
 import org.machinemc.server.network.packets.in.play.PacketPlayInChatMessage;
 import org.machinemc.server.translation.PacketTranslator;
+import org.machinemc.server.translation.TranslationContext;
 
 import java.util.Optional;
 
 public class TranslatorPlayInChatMessage extends PacketTranslator<PacketPlayInChatMessage> {
 
     @Override
-    public boolean translate(final ClientConnection connection, final PacketPlayInChatMessage packet) {
+    public boolean translate(final ClientConnection connection, final PacketPlayInChatMessage packet,
+                             final TranslationContext context) {
         if (connection.getOwner().isEmpty())
             return false;
         final ServerPlayer player = connection.getOwner().get();
@@ -42,7 +44,8 @@ public class TranslatorPlayInChatMessage extends PacketTranslator<PacketPlayInCh
     }
 
     @Override
-    public void translateAfter(final ClientConnection connection, final PacketPlayInChatMessage packet) {
+    public void translateAfter(final ClientConnection connection, final PacketPlayInChatMessage packet,
+                               final TranslationContext context) {
         if (connection.getOwner().isEmpty())
             return;
         final ServerPlayer player = connection.getOwner().get();
@@ -52,7 +55,7 @@ public class TranslatorPlayInChatMessage extends PacketTranslator<PacketPlayInCh
                 .orElseThrow(() -> new NullPointerException("Missing chat type 'minecraft:chat'"));
 
         final PlayerMessage message;
-        final ChatBound chatBound = new ServerChatBound(
+        final ServerChatBound chatBound = new ServerChatBound(
                 connection.getServer().getMessenger(),
                 chatType,
                 player.getDisplayName().getProperties(),
@@ -80,6 +83,8 @@ public class TranslatorPlayInChatMessage extends PacketTranslator<PacketPlayInCh
             message = PlayerChatMessage.unsigned(player.getUUID(), packet.getMessage(), chatBound);
         }
 
+        // the message is shared by all recipients, its components are serialized only once for the broadcast
+        chatBound.serialize(connection.getServer().getComponentSerializer());
         for (final Player serverPlayer : connection.getServer().getPlayers())
             serverPlayer.sendMessage(message);
 
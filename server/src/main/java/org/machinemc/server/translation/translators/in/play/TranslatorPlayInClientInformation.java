@@ -18,16 +18,19 @@ import org.machinemc.server.entities.ServerPlayer;
 import org.machinemc.server.network.ClientConnection;
 import org.machinemc.server.network.packets.in.play.PacketPlayInClientInformation;
 import org.machinemc.server.translation.PacketTranslator;
+import org.machinemc.server.translation.TranslationContext;
 
 public class TranslatorPlayInClientInformation extends PacketTranslator<PacketPlayInClientInformation> {
 
     @Override
-    public boolean translate(final ClientConnection connection, final PacketPlayInClientInformation packet) {
+    public boolean translate(final ClientConnection connection, final PacketPlayInClientInformation packet,
+                             final TranslationContext context) {
         return true;
     }
 
     @Override
-    public void translateAfter(final ClientConnection connection, final PacketPlayInClientInformation packet) {
+    public void translateAfter(final ClientConnection connection, final PacketPlayInClientInformation packet,
+                               final TranslationContext context) {
         final ServerPlayer player = connection.getOwner().orElse(null);
         if (player == null)
             return;
@@ -18,11 +18,13 @@ import org.machinemc.server.entities.ServerPlayer;
 import org.machinemc.server.network.ClientConnection;
 import org.machinemc.server.network.packets.in.play.PacketPlayInConfirmTeleportation;
 import org.machinemc.server.translation.PacketTranslator;
+import org.machinemc.server.translation.TranslationContext;
 
 public class TranslatorPlayInConfirmTeleportation extends PacketTranslator<PacketPlayInConfirmTeleportation> {
 
     @Override
-    public boolean translate(final ClientConnection connection, final PacketPlayInConfirmTeleportation packet) {
+    public boolean translate(final ClientConnection connection, final PacketPlayInConfirmTeleportation packet,
+                             final TranslationContext context) {
         final ServerPlayer player = connection.getOwner().orElse(null);
         if (player == null)
             return false;
@@ -30,7 +32,8 @@ public class TranslatorPlayInConfirmTeleportation extends PacketTranslator<Packe
     }
 
     @Override
-    public void translateAfter(final ClientConnection connection, final PacketPlayInConfirmTeleportation packet) {
+    public void translateAfter(final ClientConnection connection, final PacketPlayInConfirmTeleportation packet,
+                               final TranslationContext context) {
 
     }
 
@@ -16,19 +16,22 @@ package org.machinemc.server.translation.translators.in.play;
 
 import org.machinemc.server.network.ClientConnection;
 import org.machinemc.server.translation.PacketTranslator;
+import org.machinemc.server.translation.TranslationContext;
 import org.machinemc.server.network.packets.in.play.PacketPlayInKeepAlive;
 
 public class TranslatorPlayInKeepAlive extends PacketTranslator<PacketPlayInKeepAlive> {
 
     @Override
-    public boolean translate(final ClientConnection connection, final PacketPlayInKeepAlive packet) {
+    public boolean translate(final ClientConnection connection, final PacketPlayInKeepAlive packet,
+                             final TranslationContext context) {
         if (packet.getKeepAliveID() != connection.getKeepAliveKey()) return false;
         connection.keepAlive();
         return true;
     }
 
     @Override
-    public void translateAfter(final ClientConnection connection, final PacketPlayInKeepAlive packet) {
+    public void translateAfter(final ClientConnection connection, final PacketPlayInKeepAlive packet,
+                               final TranslationContext context) {
 
     }
 
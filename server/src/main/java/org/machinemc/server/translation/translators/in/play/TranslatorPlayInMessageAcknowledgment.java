@@ -19,16 +19,19 @@ import org.machinemc.server.entities.ServerPlayer;
 import org.machinemc.server.network.ClientConnection;
 import org.machinemc.server.network.packets.in.play.PacketPlayInMessageAcknowledgment;
 import org.machinemc.server.translation.PacketTranslator;
+import org.machinemc.server.translation.TranslationContext;
 
 public class TranslatorPlayInMessageAcknowledgment extends PacketTranslator<PacketPlayInMessageAcknowledgment> {
 
     @Override
-    public boolean translate(final ClientConnection connection, final PacketPlayInMessageAcknowledgment packet) throws Exception {
+    public boolean translate(final ClientConnection connection, final PacketPlayInMessageAcknowledgment packet,
+                             final TranslationContext context) throws Exception {
         return true;
     }
 
     @Override
-    public void translateAfter(final ClientConnection connection, final PacketPlayInMessageAcknowledgment packet) throws Exception {
+    public void translateAfter(final ClientConnection connection, final PacketPlayInMessageAcknowledgment packet,
+                               final TranslationContext context) throws Exception {
         if (connection.getOwner().isEmpty())
             return;
         final ServerPlayer player = connection.getOwner().get();
@@ -18,19 +18,22 @@ import org.machinemc.server.entities.ServerPlayer;
 import org.machinemc.server.network.ClientConnection;
 import org.machinemc.server.network.packets.in.play.PacketPlayInPlayerOnGround;
 import org.machinemc.server.translation.PacketTranslator;
+import org.machinemc.server.translation.TranslationContext;
 
 public class TranslatorPlayInPlayerOnGround extends PacketTranslator<PacketPlayInPlayerOnGround> {
 
-    private ServerPlayer player;
-
     @Override
-    public boolean translate(final ClientConnection connection, final PacketPlayInPlayerOnGround packet) {
-        player = connection.getOwner().orElse(null);
-        return player != null;
+    public boolean translate(final ClientConnection connection, final PacketPlayInPlayerOnGround packet,
+                             final TranslationContext context) {
+        return connection.getOwner().isPresent();
     }
 
     @Override
-    public void translateAfter(final ClientConnection connection, final PacketPlayInPlayerOnGround packet) {
+    public void translateAfter(final ClientConnection connection, final PacketPlayInPlayerOnGround packet,
+                               final TranslationContext context) {
+        final ServerPlayer player = connection.getOwner().orElse(null);
+        if (player == null)
+            return;
         player.handleOnGround(packet.isOnGround());
     }
 
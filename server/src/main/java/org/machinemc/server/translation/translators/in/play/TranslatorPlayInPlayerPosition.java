@@ -21,30 +21,34 @@ import org.machinemc.server.entities.ServerPlayer;
 import org.machinemc.server.network.ClientConnection;
 import org.machinemc.server.network.packets.in.play.PacketPlayInPlayerPosition;
 import org.machinemc.server.translation.PacketTranslator;
+import org.machinemc.server.translation.TranslationContext;
 
 public class TranslatorPlayInPlayerPosition extends PacketTranslator<PacketPlayInPlayerPosition> {
 
-    private ServerPlayer player;
-    private EntityPosition position;
-
     @Override
-    public boolean translate(final ClientConnection connection, final PacketPlayInPlayerPosition packet) {
-        player = connection.getOwner().orElse(null);
+    public boolean translate(final ClientConnection connection, final PacketPlayInPlayerPosition packet,
+                             final TranslationContext context) {
+        final ServerPlayer player = connection.getOwner().orElse(null);
         if (player == null)
             return false;
-        position = packet.getPosition()
+        final EntityPosition position = packet.getPosition()
                 .withYaw(player.getLocation().getYaw())
                 .withPitch(player.getLocation().getPitch());
         if (Location.isInvalid(position)) {
             connection.disconnect(TranslationComponent.of("multiplayer.disconnect.invalid_player_movement"));
             return false;
         }
+        context.set(position);
         return true;
     }
 
     @Override
-    public void translateAfter(final ClientConnection connection, final PacketPlayInPlayerPosition packet) {
-        player.handleMovement(position, packet.isOnGround());
+    public void translateAfter(final ClientConnection connection, final PacketPlayInPlayerPosition packet,
+                               final TranslationContext context) {
+        final ServerPlayer player = connection.getOwner().orElse(null);
+        if (player == null)
+            return;
+        player.handleMovement(context.get(), packet.isOnGround());
     }
 
     @Override
@@ -20,30 +20,34 @@ import org.machinemc.server.entities.ServerPlayer;
 import org.machinemc.server.network.ClientConnection;
 import org.machinemc.server.network.packets.in.play.PacketPlayInPlayerRotation;
 import org.machinemc.server.translation.PacketTranslator;
+import org.machinemc.server.translation.TranslationContext;
 
 public class TranslatorPlayInPlayerRotation extends PacketTranslator<PacketPlayInPlayerRotation> {
 
-    private ServerPlayer player;
-    private EntityPosition position;
-
     @Override
-    public boolean translate(final ClientConnection connection, final PacketPlayInPlayerRotation packet) {
-        player = connection.getOwner().orElse(null);
+    public boolean translate(final ClientConnection connection, final PacketPlayInPlayerRotation packet,
+                             final TranslationContext context) {
+        final ServerPlayer player = connection.getOwner().orElse(null);
         if (player == null)
             return false;
-        position = player.getLocation();
+        final EntityPosition position = player.getLocation();
         position.setYaw(packet.getYaw());
         position.setPitch(packet.getPitch());
         if (EntityPosition.isInvalid(position)) {
             connection.disconnect(TranslationComponent.of("multiplayer.disconnect.invalid_player_movement"));
             return false;
         }
+        context.set(position);
         return true;
     }
 
     @Override
-    public void translateAfter(final ClientConnection connection, final PacketPlayInPlayerRotation packet) {
-        player.handleMovement(position, packet.isOnGround());
+    public void translateAfter(final ClientConnection connection, final PacketPlayInPlayerRotation packet,
+                               final TranslationContext context) {
+        final ServerPlayer player = connection.getOwner().orElse(null);
+        if (player == null)
+            return;
+        player.handleMovement(context.get(), packet.isOnGround());
     }
 
     @Override
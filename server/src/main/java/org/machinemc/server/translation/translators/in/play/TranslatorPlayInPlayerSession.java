@@ -19,16 +19,19 @@ import org.machinemc.server.entities.ServerPlayer;
 import org.machinemc.server.network.ClientConnection;
 import org.machinemc.server.network.packets.in.play.PacketPlayInPlayerSession;
 import org.machinemc.server.translation.PacketTranslator;
+import org.machinemc.server.translation.TranslationContext;
 
 public class TranslatorPlayInPlayerSession extends PacketTranslator<PacketPlayInPlayerSession> {
 
     @Override
-    public boolean translate(final ClientConnection connection, final PacketPlayInPlayerSession packet) {
+    public boolean translate(final ClientConnection connection, final PacketPlayInPlayerSession packet,
+                             final TranslationContext context) {
         return connection.getServer().isOnline();
     }
 
     @Override
-    public void translateAfter(final ClientConnection connection, final PacketPlayInPlayerSession packet) {
+    public void translateAfter(final ClientConnection connection, final PacketPlayInPlayerSession packet,
+                               final TranslationContext context) {
         if (connection.getOwner().isEmpty()) return;
         final ServerPlayer player = connection.getOwner().get();
         player.newSession(new ServerChatSession(packet.getSessionID(), packet.getPublicKey()));
@@ -16,18 +16,21 @@ package org.machinemc.server.translation.translators.in.status;
 
 import org.machinemc.server.network.ClientConnection;
 import org.machinemc.server.translation.PacketTranslator;
+import org.machinemc.server.translation.TranslationContext;
 import org.machinemc.server.network.packets.in.status.PacketStatusInPing;
 import org.machinemc.server.network.packets.out.status.PacketStatusOutPong;
 
 public class TranslatorStatusInPing extends PacketTranslator<PacketStatusInPing> {
 
     @Override
-    public boolean translate(final ClientConnection connection, final PacketStatusInPing packet) {
+    public boolean translate(final ClientConnection connection, final PacketStatusInPing packet,
+                             final TranslationContext context) {
         return true;
     }
 
     @Override
-    public void translateAfter(final ClientConnection connection, final PacketStatusInPing packet) {
+    public void translateAfter(final ClientConnection connection, final PacketStatusInPing packet,
+                               final TranslationContext context) {
         connection.send(new PacketStatusOutPong(packet.getPayload()));
         connection.disconnect();
     }
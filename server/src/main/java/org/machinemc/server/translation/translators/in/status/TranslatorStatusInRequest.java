@@ -15,6 +15,7 @@
 package org.machinemc.server.translation.translators.in.status;
 
 import org.machinemc.server.translation.PacketTranslator;
+import org.machinemc.server.translation.TranslationContext;
 import org.machinemc.server.network.ClientConnection;
 import org.machinemc.server.network.packets.in.status.PacketStatusInRequest;
 import org.machinemc.server.network.packets.out.status.PacketStatusOutResponse;
@@ -22,12 +23,14 @@ import org.machinemc.server.network.packets.out.status.PacketStatusOutResponse;
 public class TranslatorStatusInRequest extends PacketTranslator<PacketStatusInRequest> {
 
     @Override
-    public boolean translate(final ClientConnection connection, final PacketStatusInRequest packet) {
+    public boolean translate(final ClientConnection connection, final PacketStatusInRequest packet,
+                             final TranslationContext context) {
         return true;
     }
 
     @Override
-    public void translateAfter(final ClientConnection connection, final PacketStatusInRequest packet) {
+    public void translateAfter(final ClientConnection connection, final PacketStatusInRequest packet,
+                               final TranslationContext context) {
         connection.send(new PacketStatusOutResponse(connection.getServer().statusJSON()));
     }
 
@@ -0,0 +1,101 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.utils;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Executor that runs the submitted tasks one at a time in the order they were
+ * submitted in, using another executor to run them.
+ * <p>
+ * Multiple serial executors can share the same delegating executor, tasks of
+ * different serial executors then run concurrently.
+ */
+public class SerialExecutor implements Executor {
+
+    private final Executor delegating;
+    private final Consumer<Throwable> exceptionHandler;
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * @param delegating executor used to run the tasks
+     * @param exceptionHandler handler for exceptions thrown by the tasks
+     */
+    public SerialExecutor(final Executor delegating, final Consumer<Throwable> exceptionHandler) {
+        this.delegating = Objects.requireNonNull(delegating, "Delegating executor can not be null");
+        this.exceptionHandler = Objects.requireNonNull(exceptionHandler, "Exception handler can not be null");
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        tasks.add(Objects.requireNonNull(task, "Task can not be null"));
+        size.incrementAndGet();
+        schedule();
+    }
+
+    /**
+     * Returns number of the tasks waiting to be run, the task that is currently
+     * running is not included.
+     * @return number of the queued tasks
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Schedules draining of the queued tasks in case it's not running already.
+     */
+    private void schedule() {
+        if (!running.compareAndSet(false, true)) return;
+        try {
+            delegating.execute(this::drain);
+        } catch (RejectedExecutionException exception) {
+            running.set(false);
+            throw exception;
+        }
+    }
+
+    /**
+     * Runs all queued tasks.
+     */
+    private void drain() {
+        try {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                size.decrementAndGet();
+                try {
+                    task.run();
+                } catch (Throwable throwable) {
+                    exceptionHandler.accept(throwable);
+                }
+            }
+        } finally {
+            running.set(false);
+            // task could have been added after the queue was drained, but before the flag was cleared
+            if (!tasks.isEmpty()) schedule();
+        }
+    }
+
+}
@@ -16,9 +16,9 @@ package org.machinemc.server.utils;
 
 import com.google.common.cache.*;
 import com.google.common.collect.ImmutableMap;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.machinemc.api.server.schedule.Scheduler;
 
 import java.util.Map;
 import java.util.Objects;
@@ -37,7 +37,13 @@ public class WeaklyTimedCache<K, V> implements Cache<K, V> {
 
     private final Cache<K, V> delegating;
 
-    private final ScheduledExecutorService executor = new Scheduler(2).getThreadPoolExecutor();
+    /**
+     * Executor holding the references of loaded values, shared by all caches,
+     * the tasks only keep the values referenced until they run.
+     */
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+            new DefaultThreadFactory("Weakly Timed Cache", true)
+    );
 
     /**
      * For how long the value will stay referenced internally after loading.
@@ -73,14 +79,14 @@ public class WeaklyTimedCache<K, V> implements Cache<K, V> {
     public @Nullable V getIfPresent(final @NotNull Object key) {
         final V value = delegating.getIfPresent(key);
         if (value == null) return null;
-        executor.schedule(() -> eat(value), delay, referenceTime);
+        EXECUTOR.schedule(() -> eat(value), delay, referenceTime);
         return value;
     }
 
     @Override
     public @NotNull V get(final @NotNull K key, final @NotNull Callable<? extends V> valueLoader) throws ExecutionException {
         final V value = delegating.get(key, valueLoader);
-        executor.schedule(() -> eat(value), delay, referenceTime);
+        EXECUTOR.schedule(() -> eat(value), delay, referenceTime);
         return value;
     }
 
@@ -94,7 +100,7 @@ public class WeaklyTimedCache<K, V> implements Cache<K, V> {
     @Override
     public void put(final @NotNull K key, final @NotNull V value) {
         delegating.put(key, value);
-        executor.schedule(() -> eat(value), delay, referenceTime);
+        EXECUTOR.schedule(() -> eat(value), delay, referenceTime);
     }
 
     @Override
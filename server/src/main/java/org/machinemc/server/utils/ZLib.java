@@ -14,46 +14,76 @@
  */
 package org.machinemc.server.utils;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.util.zip.DeflaterOutputStream;
-import java.util.zip.InflaterOutputStream;
+import io.netty.buffer.ByteBuf;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /**
  * Utility class used for ZLib compression.
+ * <p>
+ * The deflater and inflater instances are expected to be reused
+ * by the callers, they are reset after each operation.
  */
 public final class ZLib {
 
+    private static final int CHUNK_SIZE = 8192;
+
     private ZLib() {
         throw new UnsupportedOperationException();
     }
 
     /**
-     * Compresses an array of bytes using ZLib.
-     * @param data The array of bytes to compress
-     * @return The compressed bytes
-     * @throws IOException if an I/O error occurs
+     * Compresses all readable bytes of the input buffer using ZLib.
+     * @param deflater deflater used for the compression
+     * @param in buffer with the data to compress
+     * @param out buffer to write the compressed data into
      */
-    public static byte[] compress(final byte[] data) throws IOException {
-        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-        final DeflaterOutputStream outputStream = new DeflaterOutputStream(bytes);
-        outputStream.write(data);
-        outputStream.finish();
-        return bytes.toByteArray();
+    public static void compress(final Deflater deflater, final ByteBuf in, final ByteBuf out) {
+        try {
+            deflater.setInput(in.nioBuffer());
+            deflater.finish();
+            out.ensureWritable(in.readableBytes() / 2 + 16);
+            while (!deflater.finished()) {
+                out.ensureWritable(CHUNK_SIZE);
+                final ByteBuffer target = out.nioBuffer(out.writerIndex(), out.writableBytes());
+                out.writerIndex(out.writerIndex() + deflater.deflate(target));
+            }
+            in.skipBytes(in.readableBytes());
+        } finally {
+            deflater.reset();
+        }
     }
 
     /**
-     * Decompresses a compressed array of bytes.
-     * @param data The compressed bytes
-     * @return The decompressed bytes
-     * @throws IOException if an I/O error occurs
+     * Decompresses all readable bytes of the input buffer.
+     * @param inflater inflater used for the decompression
+     * @param in buffer with the compressed data
+     * @param out buffer to write the decompressed data into
+     * @param length expected length of the decompressed data
+     * @throws DataFormatException if the data are not valid or their length doesn't match the expected length
      */
-    public static byte[] decompress(final byte[] data) throws IOException {
-        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-        final InflaterOutputStream outputStream = new InflaterOutputStream(bytes);
-        outputStream.write(data);
-        outputStream.finish();
-        return bytes.toByteArray();
+    public static void decompress(final Inflater inflater,
+                                  final ByteBuf in,
+                                  final ByteBuf out,
+                                  final int length) throws DataFormatException {
+        try {
+            inflater.setInput(in.nioBuffer());
+            out.ensureWritable(length);
+            final ByteBuffer target = out.nioBuffer(out.writerIndex(), length);
+            while (!inflater.finished() && target.hasRemaining()) {
+                if (inflater.inflate(target) == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    break;
+            }
+            if (!inflater.finished() || target.hasRemaining())
+                throw new DataFormatException("Decompressed data do not match the expected length of " + length);
+            out.writerIndex(out.writerIndex() + length);
+            in.skipBytes(in.readableBytes());
+        } finally {
+            inflater.reset();
+        }
     }
 
 }
@@ -0,0 +1,86 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionThrottleTest {
+
+    private static final InetAddress FIRST = InetAddress.getLoopbackAddress();
+    private static final InetAddress SECOND = address(10, 0, 0, 1);
+
+    @Test
+    void connectionRateIsLimitedPerAddress() {
+        final ConnectionThrottle throttle = new ConnectionThrottle(2, 0);
+        final long now = System.nanoTime();
+        assertTrue(throttle.tryAccept(FIRST, now));
+        assertTrue(throttle.tryAccept(FIRST, now));
+        assertFalse(throttle.tryAccept(FIRST, now));
+        assertTrue(throttle.tryAccept(SECOND, now));
+
+        // single connection is allowed again after half a second
+        final long later = now + TimeUnit.MILLISECONDS.toNanos(500);
+        assertTrue(throttle.tryAccept(FIRST, later));
+        assertFalse(throttle.tryAccept(FIRST, later));
+    }
+
+    @Test
+    void pendingHandshakesAreLimited() {
+        final ConnectionThrottle throttle = new ConnectionThrottle(0, 2);
+        final long now = System.nanoTime();
+        assertTrue(throttle.tryAccept(FIRST, now));
+        assertTrue(throttle.tryAccept(SECOND, now));
+        assertFalse(throttle.tryAccept(FIRST, now));
+        assertEquals(2, throttle.getPendingHandshakes());
+
+        throttle.releaseHandshake();
+        assertEquals(1, throttle.getPendingHandshakes());
+        assertTrue(throttle.tryAccept(FIRST, now));
+    }
+
+    @Test
+    void idleAddressesAreCleanedUp() {
+        final ConnectionThrottle throttle = new ConnectionThrottle(1, 0);
+        final long now = System.nanoTime();
+        assertTrue(throttle.tryAccept(FIRST, now));
+        assertTrue(throttle.tryAccept(SECOND, now + TimeUnit.MILLISECONDS.toNanos(500)));
+        assertEquals(2, throttle.getTrackedAddresses());
+
+        throttle.cleanUp(now + TimeUnit.MILLISECONDS.toNanos(1200));
+        assertEquals(1, throttle.getTrackedAddresses());
+        throttle.cleanUp(now + TimeUnit.SECONDS.toNanos(2));
+        assertEquals(0, throttle.getTrackedAddresses());
+
+        // address that was cleaned up starts with a full bucket
+        assertTrue(throttle.tryAccept(FIRST, now + TimeUnit.SECONDS.toNanos(2)));
+    }
+
+    private static InetAddress address(final int... bytes) {
+        final byte[] address = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++)
+            address[i] = (byte) bytes[i];
+        try {
+            return InetAddress.getByAddress(address);
+        } catch (Exception exception) {
+            throw new IllegalArgumentException(exception);
+        }
+    }
+
+}
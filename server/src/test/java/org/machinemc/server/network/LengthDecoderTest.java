@@ -0,0 +1,69 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.CorruptedFrameException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LengthDecoderTest {
+
+    @Test
+    void framesAreSplit() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new LengthDecoder());
+        final ByteBuf in = Unpooled.buffer();
+        in.writeByte(2).writeByte(1).writeByte(2);
+        final int start = PacketFrame.reserveLength(in);
+        in.writeZero(300);
+        PacketFrame.writeLength(in, start);
+        assertTrue(channel.writeInbound(in));
+
+        final ByteBuf first = channel.readInbound();
+        assertEquals(Unpooled.wrappedBuffer(new byte[] {1, 2}), first);
+        first.release();
+        final ByteBuf second = channel.readInbound();
+        assertEquals(300, second.readableBytes());
+        second.release();
+        assertNull(channel.readInbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    void incompleteFrameWaitsForData() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new LengthDecoder());
+        // length prefix of 200 split between two reads
+        assertFalse(channel.writeInbound(Unpooled.wrappedBuffer(new byte[] {(byte) 0xC8})));
+        assertFalse(channel.writeInbound(Unpooled.wrappedBuffer(new byte[] {0x01, 0})));
+        assertTrue(channel.writeInbound(Unpooled.buffer().writeZero(199)));
+
+        final ByteBuf frame = channel.readInbound();
+        assertEquals(200, frame.readableBytes());
+        frame.release();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    void tooLongLengthPrefixIsRejected() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new LengthDecoder());
+        final ByteBuf in = Unpooled.wrappedBuffer(new byte[] {(byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01});
+        assertThrows(CorruptedFrameException.class, () -> channel.writeInbound(in));
+        channel.finishAndReleaseAll();
+    }
+
+}
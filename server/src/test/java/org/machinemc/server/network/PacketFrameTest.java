@@ -0,0 +1,98 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.EncoderException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.machinemc.api.utils.FriendlyByteBuf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PacketFrameTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 127, 128, 16383, 16384, PacketFrame.MAX_FRAME_SIZE})
+    void lengthPrefixIsPaddedVarInt(final int length) {
+        final ByteBuf buf = Unpooled.buffer();
+        try {
+            final int start = PacketFrame.reserveLength(buf);
+            buf.writeZero(length);
+            assertEquals(length, PacketFrame.writeLength(buf, start));
+            assertEquals(length, new FriendlyByteBuf(buf).readVarInt());
+            assertEquals(PacketFrame.LENGTH_PREFIX_SIZE, buf.readerIndex());
+            assertEquals(length, buf.readableBytes());
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void tooBigFrameIsRejected() {
+        final ByteBuf buf = Unpooled.buffer();
+        try {
+            final int start = PacketFrame.reserveLength(buf);
+            buf.writeZero(PacketFrame.MAX_FRAME_SIZE + 1);
+            assertThrows(EncoderException.class, () -> PacketFrame.writeLength(buf, start));
+        } finally {
+            buf.release();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 127, 128, PacketFrame.MAX_UNCOMPRESSED_IN_PLACE - 1})
+    void uncompressedFrameIsMarkedInPlace(final int length) {
+        final ByteBuf buf = Unpooled.buffer();
+        try {
+            final int start = PacketFrame.reserveLength(buf);
+            buf.writeZero(length - 1).writeByte(1);
+            PacketFrame.writeLength(buf, start);
+            assertTrue(PacketFrame.markUncompressed(buf, start, PacketFrame.LENGTH_PREFIX_SIZE, length));
+
+            final FriendlyByteBuf frame = new FriendlyByteBuf(buf);
+            assertEquals(length + 1, frame.readVarInt());
+            assertEquals(0, frame.readVarInt());
+            assertEquals(length, buf.readableBytes());
+            assertEquals(1, buf.getByte(buf.writerIndex() - 1));
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void frameIsNotMarkedInPlaceWhenItDoesNotFit() {
+        final ByteBuf buf = Unpooled.buffer();
+        try {
+            final int start = PacketFrame.reserveLength(buf);
+            buf.writeZero(PacketFrame.MAX_UNCOMPRESSED_IN_PLACE);
+            PacketFrame.writeLength(buf, start);
+            final ByteBuf copy = buf.copy();
+            try {
+                assertFalse(PacketFrame.markUncompressed(buf, start, PacketFrame.LENGTH_PREFIX_SIZE,
+                        PacketFrame.MAX_UNCOMPRESSED_IN_PLACE));
+                assertFalse(PacketFrame.markUncompressed(buf, start, 1, 1));
+                assertEquals(copy, buf);
+            } finally {
+                copy.release();
+            }
+        } finally {
+            buf.release();
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network;
+
+import org.junit.jupiter.api.Test;
+import org.machinemc.api.network.packets.Packet;
+import org.machinemc.server.network.packets.PacketFactory;
+import org.machinemc.server.network.packets.in.play.PacketPlayInChatMessage;
+import org.machinemc.server.network.packets.in.play.PacketPlayInPlayerPosition;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PacketRateLimiterTest {
+
+    private static final int MOVEMENT_ID = PacketFactory.getRawIDByPacket(PacketPlayInPlayerPosition.class,
+            Packet.PacketState.PLAY_IN);
+    private static final int CHAT_ID = PacketFactory.getRawIDByPacket(PacketPlayInChatMessage.class,
+            Packet.PacketState.PLAY_IN);
+
+    @Test
+    void packetsAreCategorized() {
+        assertEquals(PacketRateLimiter.Category.MOVEMENT, PacketRateLimiter.getCategory(Packet.PacketState.PLAY_IN, MOVEMENT_ID));
+        assertEquals(PacketRateLimiter.Category.CHAT, PacketRateLimiter.getCategory(Packet.PacketState.PLAY_IN, CHAT_ID));
+        assertEquals(PacketRateLimiter.Category.OTHER, PacketRateLimiter.getCategory(Packet.PacketState.LOGIN_IN, CHAT_ID));
+        assertEquals(PacketRateLimiter.Category.OTHER, PacketRateLimiter.getCategory(Packet.PacketState.PLAY_IN, -1));
+        assertEquals(PacketRateLimiter.Category.OTHER, PacketRateLimiter.getCategory(Packet.PacketState.PLAY_IN, 1000));
+    }
+
+    @Test
+    void burstIsLimitedToRate() {
+        final PacketRateLimiter limiter = new PacketRateLimiter(0, 5, 0);
+        final long now = System.nanoTime();
+        for (int i = 0; i < 5; i++)
+            assertTrue(limiter.tryAcquire(Packet.PacketState.PLAY_IN, CHAT_ID, now));
+        assertFalse(limiter.tryAcquire(Packet.PacketState.PLAY_IN, CHAT_ID, now));
+        // categories without a limit and other categories are not affected
+        assertTrue(limiter.tryAcquire(Packet.PacketState.PLAY_IN, MOVEMENT_ID, now));
+        assertTrue(limiter.tryAcquire(Packet.PacketState.LOGIN_IN, 0, now));
+    }
+
+    @Test
+    void tokensAreRefilledOverTime() {
+        final PacketRateLimiter limiter = new PacketRateLimiter(10, 0, 0);
+        final long now = System.nanoTime();
+        for (int i = 0; i < 10; i++)
+            assertTrue(limiter.tryAcquire(Packet.PacketState.PLAY_IN, MOVEMENT_ID, now));
+        assertFalse(limiter.tryAcquire(Packet.PacketState.PLAY_IN, MOVEMENT_ID, now));
+
+        // single token is refilled after a tenth of a second
+        final long later = now + TimeUnit.MILLISECONDS.toNanos(100);
+        assertTrue(limiter.tryAcquire(Packet.PacketState.PLAY_IN, MOVEMENT_ID, later));
+        assertFalse(limiter.tryAcquire(Packet.PacketState.PLAY_IN, MOVEMENT_ID, later));
+    }
+
+    @Test
+    void idleBucketHoldsAtMostOneSecond() {
+        final PacketRateLimiter limiter = new PacketRateLimiter(0, 0, 10);
+        final long later = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        for (int i = 0; i < 10; i++)
+            assertTrue(limiter.tryAcquire(Packet.PacketState.PLAY_IN, 0, later));
+        assertFalse(limiter.tryAcquire(Packet.PacketState.PLAY_IN, 0, later));
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteCoalescerTest {
+
+    private static final int FLUSH_THRESHOLD = 1 << 20;
+
+    @Test
+    void writesAreFlushedWithTick() {
+        final CoalescedFlusher flusher = new CoalescedFlusher();
+        final EmbeddedChannel channel = new EmbeddedChannel(new WriteCoalescer(FLUSH_THRESHOLD, flusher));
+
+        channel.write(Unpooled.wrappedBuffer(new byte[] {1}));
+        channel.write(Unpooled.wrappedBuffer(new byte[] {2}));
+        assertNull(channel.readOutbound());
+
+        flusher.tick();
+        channel.runPendingTasks();
+        assertFrame(1, channel.readOutbound());
+        assertFrame(2, channel.readOutbound());
+        assertFalse(channel.finishAndReleaseAll());
+    }
+
+    @Test
+    void writesAreFlushedOnceOverThreshold() {
+        final CoalescedFlusher flusher = new CoalescedFlusher();
+        final EmbeddedChannel channel = new EmbeddedChannel(new WriteCoalescer(2, flusher));
+
+        channel.write(Unpooled.wrappedBuffer(new byte[] {1}));
+        assertNull(channel.readOutbound());
+        channel.write(Unpooled.wrappedBuffer(new byte[] {2}));
+        assertFrame(1, channel.readOutbound());
+        assertFrame(2, channel.readOutbound());
+        assertFalse(channel.finishAndReleaseAll());
+    }
+
+    @Test
+    void writeDuringFlushIsFlushedWithNextTick() {
+        final CoalescedFlusher flusher = new CoalescedFlusher();
+        // writes another message right after the tick flush, like resuming paused packets
+        // once the flush makes the channel writable again
+        final ChannelOutboundHandlerAdapter rewriting = new ChannelOutboundHandlerAdapter() {
+            private boolean written;
+
+            @Override
+            public void flush(final ChannelHandlerContext ctx) {
+                ctx.flush();
+                if (written) return;
+                written = true;
+                ctx.channel().write(Unpooled.wrappedBuffer(new byte[] {2}));
+            }
+        };
+        final EmbeddedChannel channel = new EmbeddedChannel(rewriting, new WriteCoalescer(FLUSH_THRESHOLD, flusher));
+
+        channel.write(Unpooled.wrappedBuffer(new byte[] {1}));
+        flusher.tick();
+        channel.runPendingTasks();
+        assertFrame(1, channel.readOutbound());
+        assertNull(channel.readOutbound());
+
+        flusher.tick();
+        channel.runPendingTasks();
+        assertFrame(2, channel.readOutbound());
+        assertFalse(channel.finishAndReleaseAll());
+    }
+
+    private static void assertFrame(final int expected, final ByteBuf frame) {
+        assertNotNull(frame);
+        try {
+            assertEquals(1, frame.readableBytes());
+            assertEquals(expected, frame.getByte(frame.readerIndex()));
+        } finally {
+            frame.release();
+        }
+    }
+
+}
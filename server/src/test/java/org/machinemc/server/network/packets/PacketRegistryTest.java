@@ -0,0 +1,106 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network.packets;
+
+import org.junit.jupiter.api.Test;
+import org.machinemc.api.network.packets.Packet;
+import org.machinemc.server.utils.ClassUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the packet registry generated from packets.json contains all
+ * packet classes with their states, and that the packet factory resolves them.
+ */
+class PacketRegistryTest {
+
+    private static final Pattern PACKET_NAME = Pattern.compile("Packet(Handshaking|Status|Login|Play)(In|Out)\\w+");
+
+    @Test
+    void registryMatchesPacketClasses() throws Exception {
+        final Map<Class<?>, String> registered = new HashMap<>();
+        for (final Packet.PacketState state : Packet.PacketState.values()) {
+            final Class<?>[] classes = PacketRegistry.CLASSES[state.ordinal()];
+            final int[] ids = PacketRegistry.IDS[state.ordinal()];
+            for (int i = 0; i < classes.length; i++)
+                assertNull(registered.put(classes[i], describe(state, ids[i])), classes[i] + " is registered twice");
+        }
+
+        final List<Class<?>> packetClasses = getPacketClasses();
+        assertFalse(packetClasses.isEmpty(), "No packet classes found");
+        for (final Class<?> packetClass : packetClasses) {
+            assertEquals(describe(getState(packetClass), getID(packetClass)), registered.remove(packetClass),
+                    "Entry of " + packetClass.getName() + " in packets.json doesn't match the class");
+        }
+        assertTrue(registered.isEmpty(), "packets.json contains unknown packets " + registered.keySet());
+    }
+
+    @Test
+    void factoryResolvesRegisteredPackets() {
+        for (final Packet.PacketState state : Packet.PacketState.values()) {
+            @SuppressWarnings("unchecked")
+            final Class<? extends Packet>[] classes = PacketRegistry.CLASSES[state.ordinal()];
+            final int[] ids = PacketRegistry.IDS[state.ordinal()];
+            for (int i = 0; i < classes.length; i++) {
+                assertEquals(ids[i] | state.getMask(), PacketFactory.getIDByPacket(classes[i]));
+                assertEquals(ids[i], PacketFactory.getRawIDByPacket(classes[i], state));
+                assertEquals(state, PacketFactory.getRegisteredState(classes[i]).orElse(null));
+                assertEquals(classes[i], PacketFactory.getPacketInByID(ids[i] | state.getMask()).orElse(null));
+                assertEquals(classes[i], PacketFactory.getPacketByRawID(ids[i], state).orElse(null));
+            }
+        }
+    }
+
+    private static List<Class<?>> getPacketClasses() throws Exception {
+        final List<Class<?>> packetClasses = new ArrayList<>();
+        for (final String className : ClassUtils.getClasses(PacketFactory.class.getPackageName())) {
+            final Class<?> packetClass = Class.forName(className, false, PacketRegistryTest.class.getClassLoader());
+            if (!Packet.class.isAssignableFrom(packetClass)
+                    || Modifier.isAbstract(packetClass.getModifiers())
+                    || packetClass.isMemberClass()
+                    || !PACKET_NAME.matcher(packetClass.getSimpleName()).matches())
+                continue;
+            packetClasses.add(packetClass);
+        }
+        return packetClasses;
+    }
+
+    private static Packet.PacketState getState(final Class<?> packetClass) {
+        final Matcher matcher = PACKET_NAME.matcher(packetClass.getSimpleName());
+        assertTrue(matcher.matches());
+        return Packet.PacketState.valueOf((matcher.group(1) + "_" + matcher.group(2)).toUpperCase(Locale.ROOT));
+    }
+
+    private static int getID(final Class<?> packetClass) throws ReflectiveOperationException {
+        final Field field = packetClass.getDeclaredField("ID");
+        field.setAccessible(true);
+        return field.getInt(null);
+    }
+
+    private static String describe(final Packet.PacketState state, final int id) {
+        return state + " 0x" + Integer.toHexString(id);
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.network.statistics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeHistogramImplTest {
+
+    @Test
+    void emptyHistogram() {
+        final TimeHistogramImpl histogram = new TimeHistogramImpl();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxNanos());
+        assertEquals(0, histogram.getMeanNanos());
+        assertEquals(0, histogram.getPercentileNanos(99));
+    }
+
+    @Test
+    void percentileIsUpperBoundOfBucket() {
+        final TimeHistogramImpl histogram = new TimeHistogramImpl();
+        histogram.record(1023);
+        assertEquals(1023, histogram.getPercentileNanos(100));
+        histogram.reset();
+        histogram.record(1024);
+        assertEquals(2047, histogram.getPercentileNanos(100));
+        histogram.reset();
+        histogram.record(0);
+        histogram.record(-5);
+        assertEquals(1, histogram.getPercentileNanos(100));
+        assertEquals(0, histogram.getTotalNanos());
+        histogram.reset();
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getPercentileNanos(100));
+    }
+
+    @Test
+    void percentilesOfMeasuredTimes() {
+        final TimeHistogramImpl histogram = new TimeHistogramImpl();
+        for (int i = 0; i < 99; i++)
+            histogram.record(100);
+        histogram.record(10_000);
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(99 * 100 + 10_000, histogram.getTotalNanos());
+        assertEquals(10_000, histogram.getMaxNanos());
+        assertEquals(199, histogram.getMeanNanos());
+        assertEquals(127, histogram.getPercentileNanos(0));
+        assertEquals(127, histogram.getPercentileNanos(50));
+        assertEquals(127, histogram.getPercentileNanos(99));
+        assertEquals(16_383, histogram.getPercentileNanos(99.5));
+        assertEquals(16_383, histogram.getPercentileNanos(100));
+    }
+
+    @Test
+    void invalidPercentileIsRejected() {
+        final TimeHistogramImpl histogram = new TimeHistogramImpl();
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentileNanos(-1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentileNanos(100.5));
+    }
+
+    @Test
+    void resetClearsHistogram() {
+        final TimeHistogramImpl histogram = new TimeHistogramImpl();
+        histogram.record(500);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getTotalNanos());
+        assertEquals(0, histogram.getMaxNanos());
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SerialExecutorTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int TASKS = 10_000;
+
+    @Test
+    void tasksRunOneAtATimeInSubmissionOrder() throws InterruptedException {
+        final ExecutorService delegating = Executors.newFixedThreadPool(PRODUCERS);
+        final ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+        try {
+            final SerialExecutor executor = new SerialExecutor(delegating, Assertions::fail);
+            final AtomicBoolean running = new AtomicBoolean();
+            final AtomicInteger overlaps = new AtomicInteger();
+            final List<List<Integer>> results = new ArrayList<>();
+            final CountDownLatch done = new CountDownLatch(PRODUCERS * TASKS);
+
+            for (int producer = 0; producer < PRODUCERS; producer++) {
+                final List<Integer> result = new ArrayList<>();
+                results.add(result);
+                producers.execute(() -> {
+                    for (int i = 0; i < TASKS; i++) {
+                        final int value = i;
+                        executor.execute(() -> {
+                            if (!running.compareAndSet(false, true)) overlaps.incrementAndGet();
+                            result.add(value);
+                            running.set(false);
+                            done.countDown();
+                        });
+                    }
+                });
+            }
+
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+            assertEquals(0, overlaps.get());
+            for (final List<Integer> result : results) {
+                assertEquals(TASKS, result.size());
+                for (int i = 0; i < TASKS; i++)
+                    assertEquals(i, result.get(i));
+            }
+            assertEquals(0, executor.size());
+        } finally {
+            producers.shutdownNow();
+            delegating.shutdownNow();
+        }
+    }
+
+    @Test
+    void exceptionsDoNotStopFollowingTasks() {
+        final Queue<Runnable> scheduled = new ConcurrentLinkedQueue<>();
+        final List<Throwable> exceptions = new ArrayList<>();
+        final SerialExecutor executor = new SerialExecutor(scheduled::add, exceptions::add);
+        final AtomicInteger completed = new AtomicInteger();
+
+        executor.execute(() -> {
+            throw new IllegalStateException();
+        });
+        executor.execute(completed::incrementAndGet);
+        assertEquals(1, scheduled.size());
+        scheduled.remove().run();
+
+        assertEquals(1, completed.get());
+        assertEquals(1, exceptions.size());
+        assertInstanceOf(IllegalStateException.class, exceptions.get(0));
+    }
+
+    @Test
+    void sizeCountsQueuedTasks() {
+        final Queue<Runnable> scheduled = new ConcurrentLinkedQueue<>();
+        final SerialExecutor executor = new SerialExecutor(scheduled::add, Assertions::fail);
+        final List<Integer> sizes = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++)
+            executor.execute(() -> sizes.add(executor.size()));
+        assertEquals(3, executor.size());
+        scheduled.remove().run();
+
+        // the running task is not counted
+        assertEquals(List.of(2, 1, 0), sizes);
+        assertEquals(0, executor.size());
+        assertTrue(scheduled.isEmpty());
+    }
+
+    @Test
+    void rejectedDrainIsScheduledAgain() {
+        final Queue<Runnable> scheduled = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean reject = new AtomicBoolean(true);
+        final SerialExecutor executor = new SerialExecutor(task -> {
+            if (reject.get()) throw new RejectedExecutionException();
+            scheduled.add(task);
+        }, Assertions::fail);
+        final AtomicInteger completed = new AtomicInteger();
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(completed::incrementAndGet));
+        reject.set(false);
+        executor.execute(completed::incrementAndGet);
+        assertEquals(1, scheduled.size());
+        scheduled.remove().run();
+        assertEquals(2, completed.get());
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * This file is part of Machine.
+ *
+ * Machine is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Machine is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Machine.
+ * If not, see https://www.gnu.org/licenses/.
+ */
+package org.machinemc.server.utils;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZLibTest {
+
+    @Test
+    void compressedDataAreDecompressed() throws DataFormatException {
+        final Deflater deflater = new Deflater();
+        final Inflater inflater = new Inflater();
+        try {
+            final byte[] random = new byte[100_000];
+            new Random(0).nextBytes(random);
+            // the deflater and inflater are reused, so they have to be reset after each use
+            assertRoundTrip(deflater, inflater, new byte[1000]);
+            assertRoundTrip(deflater, inflater, random);
+            assertRoundTrip(deflater, inflater, new byte[] {1});
+        } finally {
+            deflater.end();
+            inflater.end();
+        }
+    }
+
+    @Test
+    void unexpectedLengthIsRejected() throws DataFormatException {
+        final Deflater deflater = new Deflater();
+        final Inflater inflater = new Inflater();
+        final ByteBuf compressed = Unpooled.buffer();
+        final ByteBuf out = Unpooled.buffer();
+        try {
+            ZLib.compress(deflater, Unpooled.wrappedBuffer(new byte[100]), compressed);
+            assertThrows(DataFormatException.class, () -> ZLib.decompress(inflater, compressed.duplicate(), out, 99));
+            assertThrows(DataFormatException.class, () -> ZLib.decompress(inflater, compressed.duplicate(), out, 101));
+            ZLib.decompress(inflater, compressed, out.clear(), 100);
+            assertEquals(100, out.readableBytes());
+        } finally {
+            compressed.release();
+            out.release();
+            deflater.end();
+            inflater.end();
+        }
+    }
+
+    private static void assertRoundTrip(final Deflater deflater, final Inflater inflater, final byte[] data)
+            throws DataFormatException {
+        final ByteBuf in = Unpooled.wrappedBuffer(data);
+        final ByteBuf compressed = Unpooled.buffer();
+        final ByteBuf out = Unpooled.buffer();
+        try {
+            ZLib.compress(deflater, in, compressed);
+            assertEquals(0, in.readableBytes());
+            ZLib.decompress(inflater, compressed, out, data.length);
+            assertEquals(0, compressed.readableBytes());
+            assertEquals(Unpooled.wrappedBuffer(data), out);
+        } finally {
+            compressed.release();
+            out.release();
+        }
+    }
+
+}
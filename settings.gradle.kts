@@ -8,3 +8,4 @@ pluginManagement {
 include("api")
 include("server")
 include("application")
+include("load-test")